@@ -0,0 +1,69 @@
+package com.project.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.entity.Event;
+import com.project.entity.User;
+import com.project.enums.UserRole;
+import com.project.service.BenchmarkFixtures;
+import com.project.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int events;
+
+    // Participants per event in the serialized list
+    @Param({"10", "200"})
+    private int participants;
+
+    private User user;
+    private List<EventDto> eventDtos;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user(7, UserRole.STUDENT);
+        EventService eventService = BenchmarkFixtures.eventService();
+        // Configured the way Spring Boot configures the application's ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Event template = BenchmarkFixtures.event(0, participants);
+        eventDtos = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            template.setId((long) i);
+            eventDtos.add(BenchmarkFixtures.toDto(eventService, template));
+        }
+    }
+
+    @Benchmark
+    public UserDto userDtoFromUser() {
+        return UserDto.fromUser(user);
+    }
+
+    @Benchmark
+    public byte[] serializeEventList() throws Exception {
+        return objectMapper.writeValueAsBytes(eventDtos);
+    }
+}
@@ -0,0 +1,97 @@
+package com.project.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.project.entity.Event;
+import com.project.service.BenchmarkFixtures;
+import com.project.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// GET /api/events for 1000 events in each negotiated format: serialization time alone and with gzip, as
+// ResponseCompressionFilter would add it. Bytes on the wire, plain and gzipped, are printed once per trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventListFormatBenchmark {
+
+    private static final int EVENTS = 1000;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    // Participants per event; every event has the same students, as a popular department's list would
+    @Param({"10", "200"})
+    private int participants;
+
+    private List<EventDto> eventDtos;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Built the way BinaryFormatsConfig builds the application's converters
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile()
+                    .factory(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build())
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+
+        EventService eventService = BenchmarkFixtures.eventService();
+        Event template = BenchmarkFixtures.event(0, participants);
+        eventDtos = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            template.setId((long) i);
+            eventDtos.add(BenchmarkFixtures.toDto(eventService, template));
+        }
+
+        byte[] plain = serialize();
+        System.out.printf("%n%s, %d events x %d participants: %d bytes, %d gzipped%n",
+                format, EVENTS, participants, plain.length, gzip(plain).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(eventDtos);
+    }
+
+    @Benchmark
+    public byte[] serializeGzipped() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes, 8192)) {
+            objectMapper.writeValue(gzip, eventDtos);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] plain) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes, 8192)) {
+            gzip.write(plain);
+        }
+        return bytes.toByteArray();
+    }
+}
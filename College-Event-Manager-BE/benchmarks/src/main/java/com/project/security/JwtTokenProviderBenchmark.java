@@ -0,0 +1,58 @@
+package com.project.security;
+
+import com.project.entity.User;
+import com.project.enums.UserRole;
+import com.project.service.BenchmarkFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider tokenProvider;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        tokenProvider = new JwtTokenProvider(null, new SimpleMeterRegistry());
+        // Same shape as jwt.secret in application.properties
+        set("jwtSecret", "2d1ee222fe2df7d6ef61d77d0ed1132cd9812ae3513873b17cb19cff5ad261e2");
+        set("jwtExpirationMs", 86400000L);
+        user = BenchmarkFixtures.user(42, UserRole.STUDENT);
+        token = tokenProvider.generateTokenFromUser(user);
+    }
+
+    private void set(String name, Object value) throws ReflectiveOperationException {
+        Field field = JwtTokenProvider.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(tokenProvider, value);
+    }
+
+    @Benchmark
+    public String generateTokenFromUser() {
+        return tokenProvider.generateTokenFromUser(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+}
@@ -0,0 +1,88 @@
+package com.project.service;
+
+import com.project.dto.EventDto;
+import com.project.entity.Event;
+import com.project.entity.Student;
+import com.project.entity.User;
+import com.project.enums.UserRole;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+
+import java.lang.reflect.Constructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+// Detached entities and a repository-free EventService for benchmarking pure CPU paths
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    // Real image services and meter registry, since convertToDto uses them; every other collaborator is a
+    // Mockito mock, matched by constructor parameter type so new EventService dependencies need no change here
+    public static EventService eventService() {
+        ImageStorageService images = new ImageStorageService(System.getProperty("java.io.tmpdir") + "/bench-images", 1 << 20);
+        ImageVariantService variants = new ImageVariantService(images, new SimpleMeterRegistry(), new int[] {320, 640}, 640, 25_000_000, 1, 1);
+        Map<Class<?>, Object> real = Map.of(
+                ImageStorageService.class, images,
+                ImageVariantService.class, variants,
+                MeterRegistry.class, new SimpleMeterRegistry());
+
+        Constructor<?> constructor = EventService.class.getConstructors()[0];
+        Object[] arguments = Arrays.stream(constructor.getParameterTypes())
+                .map(type -> real.containsKey(type) ? real.get(type) : Mockito.mock(type))
+                .toArray();
+        try {
+            return (EventService) constructor.newInstance(arguments);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot build EventService for benchmarks", e);
+        }
+    }
+
+    // EventService.convertToDto is package-private; this exposes it to benchmarks in other packages
+    public static EventDto toDto(EventService eventService, Event event) {
+        return eventService.convertToDto(event);
+    }
+
+    public static User user(long id, UserRole role) {
+        User user = User.builder()
+                .id(id)
+                .email("user" + id + "@example.com")
+                .password("$2a$10$abcdefghijklmnopqrstuuJ0mJ8Qv4r1i2a0b9tq3bVvC8nJc1yS")
+                .name("User " + id)
+                .role(role)
+                .build();
+        if (role == UserRole.STUDENT) {
+            user.setStudent(Student.builder().id(id).user(user).department("Computer Science").build());
+        }
+        return user;
+    }
+
+    public static Event event(long id, int participants) {
+        Set<User> users = new HashSet<>(participants * 2);
+        for (int i = 0; i < participants; i++) {
+            users.add(user(1000 + i, UserRole.STUDENT));
+        }
+        return Event.builder()
+                .id(id)
+                .title("Event " + id)
+                .description("A reasonably sized description for event " + id + " that mimics real organiser text.")
+                .date(LocalDate.now().plusDays(30))
+                .time(LocalTime.of(10, 0))
+                .department("Computer Science")
+                .location("Main Auditorium")
+                .maxParticipants(Math.max(participants, 1) * 2)
+                .currentParticipants(participants)
+                .createdBy(user(1, UserRole.EVENT_MANAGER))
+                .participants(users)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.project.service;
+
+import com.project.dto.EventDto;
+import com.project.entity.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventServiceBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int participants;
+
+    private EventService eventService;
+    private Event event;
+
+    @Setup
+    public void setUp() {
+        eventService = BenchmarkFixtures.eventService();
+        event = BenchmarkFixtures.event(1, participants);
+    }
+
+    @Benchmark
+    public EventDto convertToDto() {
+        return eventService.convertToDto(event);
+    }
+
+    @Benchmark
+    public boolean hasEventStarted() {
+        return eventService.hasEventStarted(event);
+    }
+}
@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+# Platform threads vs virtual threads (with the connection-pool limiter) for a read-heavy and a
+# register-heavy mix. Virtual threads need JDK 21+; on older JDKs both runs use platform threads.
+#
+#   (cd .. && mvn install -DskipTests) && ./compare-threading.sh [extra key=value settings]
+#
+# Example: ./compare-threading.sh rate=1500 duration=60 students=5000
+
+set -euo pipefail
+cd "$(dirname "$0")"
+
+READ_HEAVY="login:2,list:55,get:38,register:4,unregister:1"
+REGISTER_HEAVY="login:5,list:10,get:10,register:65,unregister:10"
+
+java_major=$(java -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')
+if (( java_major < 21 )); then
+    echo "WARNING: JDK $java_major has no virtual threads; the 'virtual' runs only add the limiter" >&2
+fi
+
+mvn -B -q compile
+
+run() {
+    local name=$1 mix=$2
+    shift 2
+    echo "=== $name ==="
+    mvn -B -q exec:java -Dexec.args="mix=$mix out=target/loadtest/$name $* ${EXTRA_ARGS:-}" \
+        | grep -E '^(Latency in ms|(operation|login|list|get|register|unregister) )'
+    echo
+}
+
+EXTRA_ARGS="$*"
+run read-platform "$READ_HEAVY"
+run read-virtual "$READ_HEAVY" --spring.profiles.active=virtual
+run register-platform "$REGISTER_HEAVY"
+run register-virtual "$REGISTER_HEAVY" --spring.profiles.active=virtual
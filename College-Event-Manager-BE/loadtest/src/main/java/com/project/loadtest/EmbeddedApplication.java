@@ -0,0 +1,54 @@
+package com.project.loadtest;
+
+import com.project.CollegeEventManagerApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Boots the application in this JVM on an in-memory H2 database, which the JDBC pool and the
+// reactive read API's R2DBC pool share by name
+final class EmbeddedApplication {
+
+    private EmbeddedApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String database, int poolSize, List<String> extraArgs) throws IOException {
+        Path dataDir = Files.createTempDirectory(database + "-data");
+        String h2Options = "MODE=MySQL;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1";
+        // Passed as command line arguments so they take precedence over the packaged application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";" + h2Options,
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--server.port=0",
+                "--management.server.port=-1",
+                "--reactive-api.port=0",
+                "--reactive-api.r2dbc-url=r2dbc:h2:mem:///" + database + "?options=" + h2Options,
+                "--reactive-api.pool.max-size=" + poolSize,
+                "--logging.level.root=WARN",
+                "--logging.level.com.project=WARN",
+                // Per-request SQL warnings would drown the report; the statement counts are in the metrics
+                "--logging.level.com.project.metrics=ERROR",
+                "--logging.level.org.springframework.security=WARN",
+                "--events.reconciler.enabled=false",
+                "--journal.directory=" + dataDir.resolve("journal"),
+                "--images.directory=" + dataDir.resolve("images")));
+        args.addAll(extraArgs);
+        long start = System.nanoTime();
+        ConfigurableApplicationContext context = SpringApplication.run(CollegeEventManagerApplication.class, args.toArray(String[]::new));
+        System.out.printf("Application started in %d ms%n", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return context;
+    }
+}
@@ -0,0 +1,76 @@
+package com.project.loadtest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// key=value command line settings with defaults sized for a laptop-scale registration rush;
+// --name=value arguments are handed to the application unchanged (e.g. --spring.profiles.active=virtual)
+class LoadTestConfig {
+
+    final int students;
+    final int managers;
+    final int events;
+    final int hotEvents;
+    final double hotShare;
+    final int hotCapacity;
+    final int rate;
+    final int warmupSeconds;
+    final int durationSeconds;
+    final int poolSize;
+    final long seed;
+    final String outputDir;
+    final Map<Operation, Integer> mix;
+    final List<String> applicationArgs = new ArrayList<>();
+
+    LoadTestConfig(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                applicationArgs.add(arg);
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            values.put(arg.substring(0, eq).trim(), arg.substring(eq + 1).trim());
+        }
+
+        students = Integer.parseInt(values.getOrDefault("students", "2000"));
+        managers = Integer.parseInt(values.getOrDefault("managers", "20"));
+        events = Integer.parseInt(values.getOrDefault("events", "100"));
+        // A few headline events that most of the register traffic goes to
+        hotEvents = Integer.parseInt(values.getOrDefault("hotEvents", "3"));
+        hotShare = Double.parseDouble(values.getOrDefault("hotShare", "0.8"));
+        hotCapacity = Integer.parseInt(values.getOrDefault("hotCapacity", "500"));
+        // Requests per second, scheduled open-loop regardless of how fast responses come back
+        rate = Integer.parseInt(values.getOrDefault("rate", "500"));
+        warmupSeconds = Integer.parseInt(values.getOrDefault("warmup", "10"));
+        durationSeconds = Integer.parseInt(values.getOrDefault("duration", "60"));
+        poolSize = Integer.parseInt(values.getOrDefault("pool", "10"));
+        seed = Long.parseLong(values.getOrDefault("seed", "42"));
+        outputDir = values.getOrDefault("out", "target/loadtest");
+        mix = parseMix(values.getOrDefault("mix", "login:5,list:35,get:25,register:30,unregister:5"));
+    }
+
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.split(":");
+            mix.put(Operation.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+        }
+        return mix;
+    }
+
+    @Override
+    public String toString() {
+        return "students=" + students + " managers=" + managers + " events=" + events
+                + " hotEvents=" + hotEvents + " hotShare=" + hotShare + " hotCapacity=" + hotCapacity
+                + " rate=" + rate + "/s warmup=" + warmupSeconds + "s duration=" + durationSeconds + "s"
+                + " pool=" + poolSize + " seed=" + seed + " mix=" + mix
+                + (applicationArgs.isEmpty() ? "" : " app=" + applicationArgs);
+    }
+}
@@ -0,0 +1,9 @@
+package com.project.loadtest;
+
+enum Operation {
+    LOGIN,
+    LIST,
+    GET,
+    REGISTER,
+    UNREGISTER
+}
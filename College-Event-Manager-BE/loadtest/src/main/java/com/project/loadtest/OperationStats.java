@@ -0,0 +1,68 @@
+package com.project.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpResponse;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies are recorded in microseconds, twice: from the moment the request was scheduled to be sent
+// (corrected for coordinated omission) and from the moment it was actually sent (service time)
+class OperationStats {
+
+    private static final long MAX_LATENCY_MICROS = 60_000_000L;
+
+    final Operation operation;
+    final Recorder corrected = new Recorder(MAX_LATENCY_MICROS, 3);
+    final Recorder service = new Recorder(MAX_LATENCY_MICROS, 3);
+    final LongAdder success = new LongAdder();
+    final LongAdder clientErrors = new LongAdder();
+    final LongAdder serverErrors = new LongAdder();
+    final LongAdder failures = new LongAdder();
+
+    private Histogram correctedTotal;
+    private Histogram serviceTotal;
+
+    OperationStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    void record(long intendedNanos, long sentNanos, long completedNanos, HttpResponse<?> response, Throwable error) {
+        corrected.recordValue(Math.min(MAX_LATENCY_MICROS, (completedNanos - intendedNanos) / 1000));
+        service.recordValue(Math.min(MAX_LATENCY_MICROS, (completedNanos - sentNanos) / 1000));
+
+        if (error != null) {
+            failures.increment();
+        } else if (response.statusCode() >= 500) {
+            serverErrors.increment();
+        } else if (response.statusCode() >= 400) {
+            // Expected for part of the mix: full events, duplicate registrations, unregistering when not registered
+            clientErrors.increment();
+        } else {
+            success.increment();
+        }
+    }
+
+    // Drops everything recorded so far (end of warmup)
+    void reset() {
+        corrected.getIntervalHistogram();
+        service.getIntervalHistogram();
+        success.reset();
+        clientErrors.reset();
+        serverErrors.reset();
+        failures.reset();
+    }
+
+    void finish() {
+        correctedTotal = corrected.getIntervalHistogram();
+        serviceTotal = service.getIntervalHistogram();
+    }
+
+    Histogram correctedHistogram() {
+        return correctedTotal;
+    }
+
+    Histogram serviceHistogram() {
+        return serviceTotal;
+    }
+}
@@ -0,0 +1,273 @@
+package com.project.loadtest;
+
+import com.project.dto.CreateEventRequest;
+import com.project.dto.EventDto;
+import com.project.entity.User;
+import com.project.enums.UserRole;
+import com.project.security.JwtTokenProvider;
+import com.project.service.EventManagerService;
+import com.project.service.EventService;
+import com.project.service.StudentService;
+import com.project.service.UserService;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Simulates "registration opens at 9:00": boots the application on an in-memory H2 database, seeds
+// students, event managers and events through the application's own services, then fires a fixed-rate
+// (open-loop) stream of login/list/get/register/unregister requests and reports per-operation latency.
+public class RegistrationRushLoadTest {
+
+    private static final String PASSWORD = "password";
+    private static final String[] DEPARTMENTS = {"Computer Science", "Engineering", "Business", "Science"};
+
+    private final LoadTestConfig config;
+    private final SplittableRandom random;
+    private final List<User> students = new ArrayList<>();
+    private final List<String> studentTokens = new ArrayList<>();
+    private final List<Long> eventIds = new ArrayList<>();
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final AtomicLong inFlight = new AtomicLong();
+    private HttpClient client;
+    private String baseUrl;
+
+    RegistrationRushLoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.random = new SplittableRandom(config.seed);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats(operation));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig(args);
+        System.out.println("Load test: " + config);
+        new RegistrationRushLoadTest(config).run();
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+        ConfigurableApplicationContext context = EmbeddedApplication.start("loadtest", config.poolSize, config.applicationArgs);
+        try {
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            seed(context);
+
+            client = HttpClient.newBuilder()
+                    .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            System.out.printf("Warming up for %ds at %d req/s%n", config.warmupSeconds, config.rate);
+            drive(config.warmupSeconds);
+            stats.values().forEach(OperationStats::reset);
+
+            System.out.printf("Measuring for %ds at %d req/s%n", config.durationSeconds, config.rate);
+            drive(config.durationSeconds);
+            stats.values().forEach(OperationStats::finish);
+
+            report();
+        } finally {
+            context.close();
+        }
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        UserService userService = context.getBean(UserService.class);
+        StudentService studentService = context.getBean(StudentService.class);
+        EventManagerService eventManagerService = context.getBean(EventManagerService.class);
+        EventService eventService = context.getBean(EventService.class);
+        JwtTokenProvider tokenProvider = context.getBean(JwtTokenProvider.class);
+
+        // One BCrypt hash shared by every seeded account; logins during the run still pay the real cost
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        long start = System.nanoTime();
+
+        for (int i = 0; i < config.students; i++) {
+            User student = userService.save(User.builder()
+                    .email("student" + i + "@loadtest.local")
+                    .password(passwordHash)
+                    .name("Student " + i)
+                    .role(UserRole.STUDENT)
+                    .build());
+            studentService.createStudent(student, DEPARTMENTS[i % DEPARTMENTS.length]);
+            students.add(student);
+            studentTokens.add(tokenProvider.generateTokenFromUser(student));
+        }
+
+        List<User> managers = new ArrayList<>();
+        for (int i = 0; i < config.managers; i++) {
+            User manager = userService.save(User.builder()
+                    .email("manager" + i + "@loadtest.local")
+                    .password(passwordHash)
+                    .name("Manager " + i)
+                    .role(UserRole.EVENT_MANAGER)
+                    .build());
+            eventManagerService.createEventManager(manager, "Coordinator", "+10000000" + i);
+            managers.add(manager);
+        }
+
+        for (int i = 0; i < config.events; i++) {
+            boolean hot = i < config.hotEvents;
+            EventDto event = eventService.createEvent(CreateEventRequest.builder()
+                    .title((hot ? "Headline Fest " : "Event ") + i)
+                    .description("Seeded by the registration rush load test")
+                    .date(LocalDate.now().plusDays(7 + random.nextInt(60)))
+                    .time(LocalTime.of(9 + random.nextInt(9), 0))
+                    .department(DEPARTMENTS[i % DEPARTMENTS.length])
+                    .location("Hall " + (i % 12))
+                    .maxParticipants(hot ? config.hotCapacity : 50 + random.nextInt(150))
+                    .build(), managers.get(i % managers.size()));
+            eventIds.add(event.getId());
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Seeded %d students, %d managers, %d events in %.1fs%n",
+                config.students, config.managers, config.events, seconds);
+    }
+
+    // Schedules requests at fixed intervals; a slow response never delays the next send
+    private void drive(int seconds) throws InterruptedException {
+        int totalWeight = config.mix.values().stream().mapToInt(Integer::intValue).sum();
+        long intervalNanos = 1_000_000_000L / config.rate;
+        long next = System.nanoTime();
+        long end = next + TimeUnit.SECONDS.toNanos(seconds);
+
+        while (next < end) {
+            long now = System.nanoTime();
+            if (now < next) {
+                LockSupport.parkNanos(next - now);
+            }
+            Operation operation = pick(totalWeight);
+            send(operation, request(operation), next);
+            next += intervalNanos;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void send(Operation operation, HttpRequest request, long intendedNanos) {
+        OperationStats operationStats = stats.get(operation);
+        long sent = System.nanoTime();
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    operationStats.record(intendedNanos, sent, System.nanoTime(), response, error);
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private Operation pick(int totalWeight) {
+        int roll = random.nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : config.mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return Operation.LIST;
+    }
+
+    private HttpRequest request(Operation operation) {
+        int studentIndex = random.nextInt(students.size());
+        String token = studentTokens.get(studentIndex);
+
+        return switch (operation) {
+            case LOGIN -> json("/api/auth/login")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"" + students.get(studentIndex).getEmail()
+                            + "\",\"password\":\"" + PASSWORD + "\"}"))
+                    .build();
+            case LIST -> authorized("/api/events", token).GET().build();
+            case GET -> authorized("/api/events/" + eventIds.get(random.nextInt(eventIds.size())), token).GET().build();
+            case REGISTER -> authorized("/api/events/" + rushTarget() + "/register", token)
+                    .POST(HttpRequest.BodyPublishers.noBody()).build();
+            case UNREGISTER -> authorized("/api/events/" + rushTarget() + "/unregister", token)
+                    .POST(HttpRequest.BodyPublishers.noBody()).build();
+        };
+    }
+
+    // Most register traffic lands on the few headline events, the rest spreads over the long tail
+    private long rushTarget() {
+        int hot = Math.min(config.hotEvents, eventIds.size());
+        if (hot > 0 && random.nextDouble() < config.hotShare) {
+            return eventIds.get(random.nextInt(hot));
+        }
+        return eventIds.get(random.nextInt(eventIds.size()));
+    }
+
+    private HttpRequest.Builder json(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.Builder authorized(String path, String token) {
+        return json(path).header("Authorization", "Bearer " + token);
+    }
+
+    private void report() throws IOException {
+        Path outputDir = Path.of(config.outputDir);
+        Files.createDirectories(outputDir);
+
+        System.out.println();
+        System.out.println("Latency in ms, corrected for coordinated omission (service time in parentheses)");
+        System.out.printf("%-11s %8s %9s %7s %7s %7s %17s %17s %17s %17s %10s%n",
+                "operation", "count", "req/s", "2xx", "4xx", "5xx/err",
+                "p50", "p90", "p99", "p99.9", "max");
+
+        for (OperationStats operationStats : stats.values()) {
+            Histogram corrected = operationStats.correctedHistogram();
+            Histogram service = operationStats.serviceHistogram();
+            if (corrected.getTotalCount() == 0) {
+                continue;
+            }
+            System.out.printf("%-11s %8d %9.1f %7d %7d %7d %17s %17s %17s %17s %10.1f%n",
+                    operationStats.operation.name().toLowerCase(),
+                    corrected.getTotalCount(),
+                    corrected.getTotalCount() / (double) config.durationSeconds,
+                    operationStats.success.sum(),
+                    operationStats.clientErrors.sum(),
+                    operationStats.serverErrors.sum() + operationStats.failures.sum(),
+                    percentile(corrected, service, 50),
+                    percentile(corrected, service, 90),
+                    percentile(corrected, service, 99),
+                    percentile(corrected, service, 99.9),
+                    corrected.getMaxValue() / 1000.0);
+
+            try (PrintStream out = new PrintStream(Files.newOutputStream(
+                    outputDir.resolve(operationStats.operation.name().toLowerCase() + ".hgrm")))) {
+                corrected.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        System.out.println("Full percentile distributions (.hgrm, ms) written to " + outputDir.toAbsolutePath());
+    }
+
+    private static String percentile(Histogram corrected, Histogram service, double percentile) {
+        return String.format("%.1f (%.1f)",
+                corrected.getValueAtPercentile(percentile) / 1000.0,
+                service.getValueAtPercentile(percentile) / 1000.0);
+    }
+}
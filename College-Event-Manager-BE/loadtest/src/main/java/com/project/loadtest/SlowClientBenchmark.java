@@ -0,0 +1,389 @@
+package com.project.loadtest;
+
+import com.project.dto.CreateEventRequest;
+import com.project.dto.EventDto;
+import com.project.entity.User;
+import com.project.enums.UserRole;
+import com.project.reactive.ReactiveApiServer;
+import com.project.security.JwtTokenProvider;
+import com.project.service.EventManagerService;
+import com.project.service.EventService;
+import com.project.service.StudentService;
+import com.project.service.UserService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// How many server threads and database connections N slow clients pin on the servlet API (Tomcat + JDBC)
+// versus the reactive read API (Netty + R2DBC). Every client is a non-blocking socket with a small receive
+// buffer that requests the event list, drains the response at read-bytes per read-interval-ms and then
+// asks again, so about N requests are in flight for the whole run. A single client thread drives all of
+// them; the server-side numbers are sampled in-process from the JVM and the application's meters.
+//
+// Both servers run in this JVM, so 10k clients need about 20k file descriptors (ulimit -n) and a few GB
+// of heap (MAVEN_OPTS=-Xmx4g with exec:java):
+//   mvn compile exec:java -Dloadtest.main=com.project.loadtest.SlowClientBenchmark -Dexec.args="clients=10000"
+public class SlowClientBenchmark {
+
+    private final Map<String, String> settings = new HashMap<>();
+    private final List<String> applicationArgs = new ArrayList<>();
+    private final int clients;
+    private final int events;
+    private final int rampSeconds;
+    private final int durationSeconds;
+    private final int readBytes;
+    private final long readIntervalNanos;
+    private final int receiveBuffer;
+    private final int poolSize;
+    private final String path;
+    private final List<String> targets;
+
+    private MeterRegistry meterRegistry;
+    private String token;
+
+    SlowClientBenchmark(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                applicationArgs.add(arg);
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            settings.put(arg.substring(0, eq).trim(), arg.substring(eq + 1).trim());
+        }
+        clients = intSetting("clients", 10000);
+        // 200 events make a list response of roughly 80 KB, far more than the socket buffers hold
+        events = intSetting("events", 200);
+        rampSeconds = intSetting("ramp", 10);
+        durationSeconds = intSetting("duration", 60);
+        readBytes = intSetting("readBytes", 2048);
+        readIntervalNanos = TimeUnit.MILLISECONDS.toNanos(intSetting("readIntervalMs", 250));
+        receiveBuffer = intSetting("receiveBuffer", 4096);
+        poolSize = intSetting("pool", 10);
+        path = settings.getOrDefault("path", "/api/events");
+        // Reactive first, so the idle Tomcat threads left behind by the servlet run do not inflate its count
+        targets = List.of(settings.getOrDefault("targets", "reactive,servlet").split(","));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new SlowClientBenchmark(args).run();
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+        System.out.printf("Slow clients: clients=%d events=%d ramp=%ds duration=%ds read=%dB/%dms rcvbuf=%d pool=%d path=%s%n",
+                clients, events, rampSeconds, durationSeconds, readBytes,
+                TimeUnit.NANOSECONDS.toMillis(readIntervalNanos), receiveBuffer, poolSize, path);
+
+        List<String> args = new ArrayList<>(List.of(
+                // Measure the stacks themselves, not the admission control placed in front of them
+                "--bulkhead.enabled=false",
+                "--concurrency.limiter.enabled=false",
+                "--reactive-api.enabled=true",
+                "--server.tomcat.mbeanregistry.enabled=true",
+                "--server.tomcat.max-connections=" + (clients + 100)));
+        args.addAll(applicationArgs);
+        ConfigurableApplicationContext context = EmbeddedApplication.start("slowclients", poolSize, args);
+        try {
+            meterRegistry = context.getBean(MeterRegistry.class);
+            seed(context);
+            Map<String, Integer> ports = Map.of(
+                    "servlet", Integer.parseInt(context.getEnvironment().getProperty("local.server.port")),
+                    "reactive", context.getBean(ReactiveApiServer.class).getPort());
+
+            Map<String, Result> results = new LinkedHashMap<>();
+            for (String target : targets) {
+                results.put(target, drive(target.trim(), ports.get(target.trim())));
+                Thread.sleep(5000);
+            }
+            report(results);
+        } finally {
+            context.close();
+        }
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        UserService userService = context.getBean(UserService.class);
+        StudentService studentService = context.getBean(StudentService.class);
+        EventManagerService eventManagerService = context.getBean(EventManagerService.class);
+        EventService eventService = context.getBean(EventService.class);
+        String passwordHash = context.getBean(PasswordEncoder.class).encode("password");
+
+        User manager = userService.save(User.builder().email("manager@slowclients.local").password(passwordHash)
+                .name("Manager").role(UserRole.EVENT_MANAGER).build());
+        eventManagerService.createEventManager(manager, "Coordinator", "+100000000");
+
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            User student = userService.save(User.builder().email("student" + i + "@slowclients.local")
+                    .password(passwordHash).name("Student " + i).role(UserRole.STUDENT).build());
+            studentService.createStudent(student, "Computer Science");
+            students.add(student);
+        }
+        token = context.getBean(JwtTokenProvider.class).generateTokenFromUser(students.get(0));
+
+        for (int i = 0; i < events; i++) {
+            EventDto event = eventService.createEvent(CreateEventRequest.builder()
+                    .title("Slow Client Event " + i)
+                    .description("Seeded by the slow client benchmark so that the list response is a realistic size")
+                    .date(LocalDate.now().plusDays(7 + i % 60))
+                    .time(LocalTime.of(9 + i % 9, 0))
+                    .department("Computer Science")
+                    .location("Hall " + (i % 12))
+                    .maxParticipants(100)
+                    .build(), manager);
+            for (int s = 0; s < i % 6; s++) {
+                eventService.registerForEvent(event.getId(), students.get(s).getId());
+            }
+        }
+    }
+
+    private Result drive(String target, int port) throws IOException {
+        System.out.printf("%n=== %s (port %d) ===%n", target, port);
+        System.out.printf("%6s %8s %10s %8s %8s %8s %10s %10s %10s %10s %8s%n", "t(s)", "open", "connecting",
+                "done", "errors", "threads", "tomcatBusy", "jdbcActive", "jdbcWait", "r2dbcActive", "heapMB");
+
+        Result result = new Result();
+        result.baselineThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+        byte[] request = ("GET " + path + " HTTP/1.1\r\nHost: localhost\r\nAuthorization: Bearer " + token
+                + "\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        InetSocketAddress address = new InetSocketAddress("127.0.0.1", port);
+        ByteBuffer readBuffer = ByteBuffer.allocate(readBytes);
+        List<Client> connected = new ArrayList<>();
+        int opened = 0;
+
+        try (Selector selector = Selector.open()) {
+            long start = System.nanoTime();
+            long end = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+            long nextSample = start;
+
+            while (true) {
+                long now = System.nanoTime();
+                if (now >= end) {
+                    break;
+                }
+
+                // Ramp up linearly; a client that finishes reconnects, so the count stays at the target
+                long wanted = rampSeconds == 0 ? clients
+                        : Math.min(clients, clients * (now - start) / TimeUnit.SECONDS.toNanos(rampSeconds) + 1);
+                while (opened < wanted) {
+                    open(selector, address);
+                    opened++;
+                }
+
+                selector.select(5);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Client client = (Client) key.attachment();
+                    try {
+                        client.channel.finishConnect();
+                        ByteBuffer out = ByteBuffer.wrap(request);
+                        while (out.hasRemaining()) {
+                            client.channel.write(out);
+                        }
+                        key.interestOps(0);
+                        client.nextReadNanos = System.nanoTime();
+                        connected.add(client);
+                    } catch (IOException e) {
+                        result.errors++;
+                        client.close();
+                        open(selector, address);
+                    }
+                }
+
+                now = System.nanoTime();
+                for (int i = 0; i < connected.size(); i++) {
+                    Client client = connected.get(i);
+                    if (now < client.nextReadNanos) {
+                        continue;
+                    }
+                    readBuffer.clear();
+                    int read;
+                    try {
+                        read = client.channel.read(readBuffer);
+                    } catch (IOException e) {
+                        read = -2;
+                    }
+                    if (read > 0) {
+                        client.parseStatus(readBuffer);
+                        client.nextReadNanos = now + readIntervalNanos;
+                        continue;
+                    }
+                    if (read == 0) {
+                        client.nextReadNanos = now + readIntervalNanos;
+                        continue;
+                    }
+                    // End of response (the server closes after it) or a broken connection
+                    result.record(client, now);
+                    client.close();
+                    connected.set(i, connected.get(connected.size() - 1));
+                    connected.remove(connected.size() - 1);
+                    i--;
+                    open(selector, address);
+                }
+
+                if (now >= nextSample) {
+                    sample(result, TimeUnit.NANOSECONDS.toSeconds(now - start), connected.size(),
+                            selector.keys().size() - connected.size());
+                    nextSample += TimeUnit.SECONDS.toNanos(5);
+                }
+            }
+
+            for (SelectionKey key : selector.keys()) {
+                ((Client) key.attachment()).close();
+            }
+        }
+        return result;
+    }
+
+    private void open(Selector selector, InetSocketAddress address) throws IOException {
+        SocketChannel channel = SocketChannel.open();
+        channel.configureBlocking(false);
+        // A small window makes the server's writes back up once its own send buffer is full
+        channel.setOption(StandardSocketOptions.SO_RCVBUF, receiveBuffer);
+        Client client = new Client(channel, System.nanoTime());
+        channel.register(selector, SelectionKey.OP_CONNECT, client);
+        channel.connect(address);
+    }
+
+    private void sample(Result result, long seconds, int open, int connecting) {
+        int threads = ManagementFactory.getThreadMXBean().getThreadCount();
+        double tomcatBusy = gauge("tomcat.threads.busy");
+        double jdbcActive = gauge("hikaricp.connections.active");
+        double jdbcPending = gauge("hikaricp.connections.pending");
+        double r2dbcActive = gauge("r2dbc.pool.acquired");
+        long heapMb = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() >> 20;
+
+        result.peakThreads = Math.max(result.peakThreads, threads);
+        result.peakTomcatBusy = Math.max(result.peakTomcatBusy, tomcatBusy);
+        result.peakJdbcActive = Math.max(result.peakJdbcActive, jdbcActive);
+        result.peakJdbcPending = Math.max(result.peakJdbcPending, jdbcPending);
+        result.peakR2dbcActive = Math.max(result.peakR2dbcActive, r2dbcActive);
+        result.peakOpen = Math.max(result.peakOpen, open);
+        result.peakHeapMb = Math.max(result.peakHeapMb, heapMb);
+
+        System.out.printf("%6d %8d %10d %8d %8d %8d %10.0f %10.0f %10.0f %10.0f %8d%n", seconds, open, connecting,
+                result.completed, result.errors, threads, tomcatBusy, jdbcActive, jdbcPending, r2dbcActive, heapMb);
+    }
+
+    private double gauge(String name) {
+        double total = 0;
+        for (Gauge gauge : meterRegistry.find(name).gauges()) {
+            total += gauge.value();
+        }
+        return total;
+    }
+
+    private void report(Map<String, Result> results) {
+        System.out.println();
+        System.out.printf("%-9s %9s %9s %8s %9s %9s %11s %11s %10s %11s %9s %9s %8s%n", "target", "peakOpen",
+                "responses", "non-2xx", "errors", "threads", "tomcatBusy", "jdbcActive", "jdbcWait", "r2dbcActive",
+                "p50(ms)", "p99(ms)", "heapMB");
+        for (Map.Entry<String, Result> entry : results.entrySet()) {
+            Result r = entry.getValue();
+            System.out.printf("%-9s %9d %9d %8d %9d %4d (+%d) %11.0f %11.0f %10.0f %11.0f %9d %9d %8d%n", entry.getKey(),
+                    r.peakOpen, r.completed, r.nonSuccess, r.errors, r.peakThreads, r.peakThreads - r.baselineThreads,
+                    r.peakTomcatBusy, r.peakJdbcActive, r.peakJdbcPending, r.peakR2dbcActive,
+                    r.latency.getValueAtPercentile(50), r.latency.getValueAtPercentile(99), r.peakHeapMb);
+        }
+        System.out.println("threads: peak live JVM threads (increase over the idle baseline); tomcatBusy, jdbc* and "
+                + "r2dbcActive: peak busy request threads and pooled connections in use or waited for");
+    }
+
+    private int intSetting(String key, int defaultValue) {
+        return Integer.parseInt(settings.getOrDefault(key, String.valueOf(defaultValue)));
+    }
+
+    private static final class Client {
+
+        private final SocketChannel channel;
+        private final long startedNanos;
+        private final byte[] statusLine = new byte[12];
+        private int statusBytes;
+
+        private Client(SocketChannel channel, long startedNanos) {
+            this.channel = channel;
+            this.startedNanos = startedNanos;
+        }
+
+        private long nextReadNanos;
+
+        // Keeps the first bytes of "HTTP/1.1 200 OK" to read the status code
+        private void parseStatus(ByteBuffer buffer) {
+            buffer.flip();
+            while (statusBytes < statusLine.length && buffer.hasRemaining()) {
+                statusLine[statusBytes++] = buffer.get();
+            }
+        }
+
+        private int status() {
+            if (statusBytes < statusLine.length) {
+                return -1;
+            }
+            return Integer.parseInt(new String(statusLine, 9, 3, StandardCharsets.US_ASCII));
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Nothing left to release
+            }
+        }
+    }
+
+    private static final class Result {
+
+        private final Histogram latency = new Histogram(TimeUnit.MINUTES.toMillis(10), 3);
+        private int baselineThreads;
+        private int peakThreads;
+        private int peakOpen;
+        private long peakHeapMb;
+        private double peakTomcatBusy;
+        private double peakJdbcActive;
+        private double peakJdbcPending;
+        private double peakR2dbcActive;
+        private long completed;
+        private long nonSuccess;
+        private long errors;
+
+        private void record(Client client, long now) {
+            int status = client.status();
+            if (status < 0) {
+                errors++;
+                return;
+            }
+            completed++;
+            if (status < 200 || status >= 300) {
+                nonSuccess++;
+            }
+            latency.recordValue(Math.min(latency.getHighestTrackableValue(),
+                    TimeUnit.NANOSECONDS.toMillis(now - client.startedNanos)));
+        }
+    }
+}
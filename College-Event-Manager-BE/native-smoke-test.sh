@@ -0,0 +1,92 @@
+#!/usr/bin/env bash
+# Smoke test for the native executable: starts it, runs login -> create event -> register against it and
+# reports startup time and resident memory.
+#
+#   mvn -Pnative package -DskipTests
+#   ./native-smoke-test.sh
+#
+# Environment overrides:
+#   APP_CMD          command to start the backend (default: target/college-event-manager); point it at
+#                    "java -jar target/College-Event-Manager-0.0.1-SNAPSHOT.jar" to get JVM numbers to compare
+#   APP_ARGS         extra application arguments (e.g. datasource settings)
+#   PORT, MANAGEMENT_PORT
+
+set -euo pipefail
+
+BASE_DIR="$(cd "$(dirname "$0")" && pwd)"
+APP_CMD=${APP_CMD:-$BASE_DIR/target/college-event-manager}
+PORT=${PORT:-18080}
+MANAGEMENT_PORT=${MANAGEMENT_PORT:-18081}
+API="http://localhost:$PORT/api"
+WORK_DIR=$(mktemp -d)
+LOG="$WORK_DIR/app.log"
+APP_PID=
+
+cleanup() {
+    if [[ -n "$APP_PID" ]]; then
+        kill "$APP_PID" 2>/dev/null || true
+        wait "$APP_PID" 2>/dev/null || true
+    fi
+    rm -rf "$WORK_DIR"
+}
+trap cleanup EXIT
+
+fail() {
+    echo "FAILED: $1" >&2
+    echo "--- application log ---" >&2
+    tail -50 "$LOG" >&2
+    exit 1
+}
+
+rss_mb() {
+    awk '/VmRSS/ {printf "%.1f", $2 / 1024}' "/proc/$APP_PID/status"
+}
+
+# Prints the value of a top-level string or number field from a JSON body
+json_field() {
+    grep -o "\"$1\":\"\{0,1\}[^\",}]*" | head -1 | sed "s/\"$1\":\"\{0,1\}//"
+}
+
+login() {
+    curl -sf -X POST "$API/auth/login" -H 'Content-Type: application/json' \
+        -d "{\"email\":\"$1\",\"password\":\"password\"}" | json_field token
+}
+
+start=$(date +%s%3N)
+# shellcheck disable=SC2086
+$APP_CMD --server.port="$PORT" --management.server.port="$MANAGEMENT_PORT" \
+    --journal.directory="$WORK_DIR/journal" --images.directory="$WORK_DIR/images" ${APP_ARGS:-} >"$LOG" 2>&1 &
+APP_PID=$!
+
+until curl -sf "http://localhost:$MANAGEMENT_PORT/actuator/health" >/dev/null 2>&1; do
+    kill -0 "$APP_PID" 2>/dev/null || fail "application exited during startup"
+    sleep 0.02
+done
+ready_ms=$(($(date +%s%3N) - start))
+ready_rss=$(rss_mb)
+
+# Demo accounts are created by DataInitializer right after startup
+for _ in $(seq 50); do
+    manager_token=$(login eventmanager@example.com || true)
+    [[ -n "$manager_token" ]] && break
+    sleep 0.1
+done
+[[ -n "$manager_token" ]] || fail "event manager login"
+
+event=$(curl -sf -X POST "$API/events" -H "Authorization: Bearer $manager_token" -H 'Content-Type: application/json' \
+    -d "{\"title\":\"Native smoke test\",\"description\":\"Created by native-smoke-test.sh\",\"date\":\"$(date -d '+30 days' +%F)\",\"time\":\"10:00:00\",\"department\":\"Computer Science\",\"location\":\"Main Hall\",\"maxParticipants\":10}") \
+    || fail "create event"
+event_id=$(echo "$event" | json_field id)
+[[ -n "$event_id" ]] || fail "create event returned no id: $event"
+
+student_token=$(login student@example.com) || fail "student login"
+curl -sf -X POST "$API/events/$event_id/register" -H "Authorization: Bearer $student_token" >/dev/null \
+    || fail "register for event $event_id"
+
+registered=$(curl -sf "$API/events/$event_id" -H "Authorization: Bearer $student_token" | json_field currentParticipants)
+[[ "$registered" == "1" ]] || fail "expected 1 participant on event $event_id, got '$registered'"
+
+echo "Smoke test passed: login -> create event $event_id -> register"
+echo "Startup until healthy: ${ready_ms} ms"
+echo "RSS when ready:        ${ready_rss} MB"
+echo "RSS after flow:        $(rss_mb) MB"
@@ -2,13 +2,18 @@ package com.project;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-@SpringBootApplication
+// R2DBC is only used by the reactive read API, which builds its own pool; Boot's R2DBC auto-configuration
+// would otherwise create a ConnectionFactory bean and make the JDBC DataSource back off
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 @ComponentScan(basePackages = {"com.project"})
+@EnableScheduling
 public class CollegeEventManagerApplication {
 
 	public static void main(String[] args) {
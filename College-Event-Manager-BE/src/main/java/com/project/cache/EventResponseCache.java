@@ -0,0 +1,251 @@
+package com.project.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.compression.ResponseCompressionFilter;
+import com.project.dto.EventDto;
+import com.project.metrics.RequestTiming;
+import com.project.repository.EventChangeRepository;
+import com.project.service.EventService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+// Serialized GET /api/events/{id} bodies, as JSON and gzipped JSON, returned as raw bytes so a hit skips the
+// entity load, convertToDto and Jackson. Each entry carries the version it was built at: the
+// event's newest change-log row, so a change by another instance or by the reconciler is seen too, at the
+// cost of one index lookup per request. EventChangeLog also evicts an entry when the change commits here.
+// An entry is rebuilt once the event starts (registrationClosed flips without a write) and after max-age,
+// which bounds staleness from changes outside the event row, such as a participant's email. The cache is
+// bounded by the bytes it holds and evicts the least recently used entries.
+@Component
+public class EventResponseCache {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private final EventChangeRepository eventChangeRepository;
+    private final ObjectMapper objectMapper;
+    private final Counter hits;
+    private final Counter misses;
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long bytes;
+
+    @Value("${events.response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${events.response-cache.max-bytes:33554432}")
+    private long maxBytes;
+
+    @Value("${events.response-cache.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    // Below this the gzip copy is not kept, as ResponseCompressionFilter would not compress either
+    @Value("${compression.json.min-size:1024}")
+    private int gzipMinSize;
+
+    public EventResponseCache(EventChangeRepository eventChangeRepository, ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.eventChangeRepository = eventChangeRepository;
+        this.objectMapper = objectMapper;
+        this.hits = Counter.builder("event.response.cache.requests")
+                .tag("result", "hit")
+                .description("Event detail responses served from serialized bytes")
+                .register(meterRegistry);
+        this.misses = Counter.builder("event.response.cache.requests")
+                .tag("result", "miss")
+                .description("Event detail responses that had to be built")
+                .register(meterRegistry);
+        Gauge.builder("event.response.cache.bytes", this, EventResponseCache::bytes)
+                .description("Serialized bytes held by the event response cache")
+                .register(meterRegistry);
+        Gauge.builder("event.response.cache.entries", this, EventResponseCache::entryCount)
+                .description("Events held by the event response cache")
+                .register(meterRegistry);
+    }
+
+    // The event as a JSON response, or empty for the caller to answer normally: the client wants another
+    // format, or the event has no change-log row yet. Exceptions from the loader, such as "Event not found",
+    // propagate unchanged.
+    public Optional<ResponseEntity<byte[]>> lookup(Long eventId, Supplier<EventDto> loader,
+                                                   HttpServletRequest request) throws IOException {
+        if (!enabled || !wantsJson(request)) {
+            return Optional.empty();
+        }
+        // Read before the event, so an entry can be older than its version but never newer
+        Long version = eventChangeRepository.findLatestIdByEventId(eventId);
+        if (version == null) {
+            return Optional.empty();
+        }
+
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(eventId);
+        }
+        if (entry != null && entry.isCurrent(version, maxAgeSeconds)) {
+            hits.increment();
+        } else {
+            misses.increment();
+            entry = build(version, loader.get());
+            put(eventId, entry);
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        byte[] body = entry.json;
+        if (entry.gzip != null) {
+            response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (ResponseCompressionFilter.acceptsGzip(request)) {
+                // ResponseCompressionFilter leaves a body that already has an encoding alone
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+                body = entry.gzip;
+            }
+        }
+        return Optional.of(response.contentLength(body.length).body(body));
+    }
+
+    public void evictAfterCommit(Long eventId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(eventId);
+                }
+            });
+        } else {
+            evict(eventId);
+        }
+    }
+
+    private void evict(Long eventId) {
+        synchronized (entries) {
+            Entry removed = entries.remove(eventId);
+            if (removed != null) {
+                bytes -= removed.size();
+            }
+        }
+    }
+
+    private Entry build(long version, EventDto event) throws IOException {
+        byte[] json;
+        byte[] gzip = null;
+        RequestTiming.enter(RequestTiming.Phase.SERIALIZE);
+        try {
+            json = objectMapper.writeValueAsBytes(event);
+            if (json.length >= gzipMinSize) {
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+                try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                    out.write(json);
+                }
+                gzip = compressed.toByteArray();
+            }
+        } finally {
+            RequestTiming.exit();
+        }
+        return new Entry(version, event.getDate(), event.getTime(), json, gzip,
+                // The list thumbnail is still the original while its variant is generated; not worth keeping
+                event.getImage() == null || !event.getImage().equals(event.getThumbnail()));
+    }
+
+    private void put(Long eventId, Entry entry) {
+        // One large event must not be able to push out everything else
+        if (!entry.cacheable || entry.size() > maxBytes / 16) {
+            evict(eventId);
+            return;
+        }
+        synchronized (entries) {
+            Entry previous = entries.put(eventId, entry);
+            bytes += entry.size() - (previous != null ? previous.size() : 0);
+            Iterator<Entry> oldest = entries.values().iterator();
+            while (bytes > maxBytes && oldest.hasNext()) {
+                bytes -= oldest.next().size();
+                oldest.remove();
+            }
+        }
+    }
+
+    private long bytes() {
+        synchronized (entries) {
+            return bytes;
+        }
+    }
+
+    private int entryCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // JSON unless the client names CBOR or Smile, which the message converters produce instead
+    private static boolean wantsJson(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            List<MediaType> types = MediaType.parseMediaTypes(accept);
+            boolean json = false;
+            for (MediaType type : types) {
+                if (type.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR) || type.equalsTypeAndSubtype(SMILE)) {
+                    return false;
+                }
+                json |= type.isCompatibleWith(MediaType.APPLICATION_JSON);
+            }
+            return json;
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private static final class Entry {
+
+        private final long version;
+        private final LocalDate date;
+        private final LocalTime time;
+        private final boolean started;
+        private final long createdNanos;
+        private final byte[] json;
+        private final byte[] gzip;
+        private final boolean cacheable;
+
+        private Entry(long version, LocalDate date, LocalTime time, byte[] json, byte[] gzip, boolean cacheable) {
+            this.version = version;
+            this.date = date;
+            this.time = time;
+            this.started = EventService.hasStarted(date, time);
+            this.createdNanos = System.nanoTime();
+            this.json = json;
+            this.gzip = gzip;
+            this.cacheable = cacheable;
+        }
+
+        private boolean isCurrent(long currentVersion, long maxAgeSeconds) {
+            return version == currentVersion
+                    && started == EventService.hasStarted(date, time)
+                    && System.nanoTime() - createdNanos < TimeUnit.SECONDS.toNanos(maxAgeSeconds);
+        }
+
+        private long size() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+}
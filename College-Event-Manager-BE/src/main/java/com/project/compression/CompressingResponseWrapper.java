@@ -0,0 +1,311 @@
+package com.project.compression;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.function.ToIntFunction;
+import java.util.zip.GZIPOutputStream;
+
+// Holds the body until it reaches the minimum size for its media type, then switches to gzip; a body that
+// finishes below it goes out as is with a Content-Length. A Content-Length set by the application is held
+// back for the same reason. Flushes are ignored while undecided, since they would commit the headers. A
+// write listener makes the decision at once: the body is sent uncompressed through the container's stream.
+class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+    // -1 when the media type is never compressed
+    private final ToIntFunction<String> minSizeFor;
+    private CompressingOutputStream stream;
+    private PrintWriter writer;
+    private long contentLength = -1;
+    private String mediaType;
+    private long bytesIn;
+    private long bytesOut;
+    private boolean compressed;
+
+    CompressingResponseWrapper(HttpServletResponse response, ToIntFunction<String> minSizeFor) {
+        super(response);
+        this.minSizeFor = minSizeFor;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        return stream();
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null) {
+            if (stream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(stream(), Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (stream != null && stream.passingThrough()) {
+            super.setContentLengthLong(len);
+        } else if (!compressed) {
+            contentLength = len;
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        setHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        addHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (stream == null || stream.decided()) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (stream != null) {
+            stream.resetBuffer();
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        contentLength = -1;
+        if (stream != null) {
+            stream.resetBuffer();
+        }
+    }
+
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (stream != null) {
+            stream.finish();
+        } else if (contentLength >= 0) {
+            super.setContentLengthLong(contentLength);
+        }
+    }
+
+    boolean isCompressed() {
+        return compressed;
+    }
+
+    String getMediaType() {
+        return mediaType;
+    }
+
+    long getBytesIn() {
+        return bytesIn;
+    }
+
+    long getBytesOut() {
+        return bytesOut;
+    }
+
+    private CompressingOutputStream stream() {
+        if (stream == null) {
+            stream = new CompressingOutputStream();
+        }
+        return stream;
+    }
+
+    private int minSize() {
+        String contentType = getContentType();
+        if (contentType == null || getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            return -1;
+        }
+        try {
+            MediaType type = MediaType.parseMediaType(contentType);
+            mediaType = type.getType() + "/" + type.getSubtype();
+        } catch (InvalidMediaTypeException e) {
+            return -1;
+        }
+        return minSizeFor.applyAsInt(mediaType);
+    }
+
+    private final class CompressingOutputStream extends ServletOutputStream {
+
+        private ByteArrayOutputStream buffer;
+        private OutputStream target;
+        private int minSize;
+        private boolean finished;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (target != null) {
+                target.write(b, off, len);
+                if (compressed) {
+                    bytesIn += len;
+                }
+                return;
+            }
+            if (buffer == null) {
+                minSize = minSize();
+                if (minSize < 0) {
+                    passThrough();
+                    target.write(b, off, len);
+                    return;
+                }
+                // Caches must keep the gzip and identity variants apart, whichever this one turns out to be
+                CompressingResponseWrapper.super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                buffer = new ByteArrayOutputStream(Math.min(Math.max(minSize, 256), 8192));
+            }
+            buffer.write(b, off, len);
+            if (buffer.size() >= minSize) {
+                startGzip();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (target != null) {
+                target.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        @Override
+        public boolean isReady() {
+            return !(target instanceof ServletOutputStream raw) || raw.isReady();
+        }
+
+        // Non-blocking writes go straight to the container's stream, so a body not compressed yet is sent as is
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            if (compressed) {
+                throw new IllegalStateException("Non-blocking writes cannot start once the body is being compressed");
+            }
+            if (target == null) {
+                try {
+                    passThrough();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            ((ServletOutputStream) target).setWriteListener(writeListener);
+        }
+
+        boolean decided() {
+            return target != null;
+        }
+
+        boolean passingThrough() {
+            return target != null && !compressed;
+        }
+
+        void resetBuffer() {
+            if (buffer != null) {
+                buffer.reset();
+            }
+        }
+
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (target == null) {
+                ServletOutputStream raw = CompressingResponseWrapper.super.getOutputStream();
+                if (buffer != null) {
+                    CompressingResponseWrapper.super.setContentLengthLong(buffer.size());
+                    buffer.writeTo(raw);
+                } else if (contentLength >= 0) {
+                    CompressingResponseWrapper.super.setContentLengthLong(contentLength);
+                }
+                return;
+            }
+            if (compressed) {
+                ((GZIPOutputStream) target).finish();
+            }
+        }
+
+        private void passThrough() throws IOException {
+            target = CompressingResponseWrapper.super.getOutputStream();
+            if (contentLength >= 0) {
+                CompressingResponseWrapper.super.setContentLengthLong(contentLength);
+            }
+            if (buffer != null) {
+                buffer.writeTo(target);
+                buffer = null;
+            }
+        }
+
+        private void startGzip() throws IOException {
+            compressed = true;
+            CompressingResponseWrapper.super.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            OutputStream counting = new FilterOutputStream(CompressingResponseWrapper.super.getOutputStream()) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    bytesOut += len;
+                }
+            };
+            target = new GZIPOutputStream(counting, 8192);
+            bytesIn = buffer.size();
+            buffer.writeTo(target);
+            buffer = null;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.project.compression;
+
+import com.project.service.ImageStorageService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Enumeration;
+import java.util.Map;
+
+// Gzips responses with a minimum size per media type, where Tomcat's own compression has one threshold for
+// all of them. JSON and CBOR both carry every field name and string in full and are worth compressing from
+// about a kilobyte. Smile already replaces repeated names and short strings with back-references, leaving
+// less for deflate in a small body, so it starts later (see EventListFormatBenchmark). Types without a
+// threshold, images included, are never compressed.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+@ConditionalOnProperty(name = "compression.enabled", havingValue = "true")
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Integer> minSizes;
+
+    public ResponseCompressionFilter(MeterRegistry meterRegistry,
+                                     @Value("${compression.json.min-size:1024}") int jsonMinSize,
+                                     @Value("${compression.cbor.min-size:1024}") int cborMinSize,
+                                     @Value("${compression.smile.min-size:2048}") int smileMinSize) {
+        this.meterRegistry = meterRegistry;
+        this.minSizes = Map.of(
+                MediaType.APPLICATION_JSON_VALUE, jsonMinSize,
+                MediaType.APPLICATION_CBOR_VALUE, cborMinSize,
+                "application/x-jackson-smile", smileMinSize);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getRequestURI().startsWith(ImageStorageService.URL_PREFIX) || !acceptsGzip(request);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        CompressingResponseWrapper compressing = new CompressingResponseWrapper(response,
+                mediaType -> minSizes.getOrDefault(mediaType, -1));
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, compressing);
+            async = request.isAsyncStarted();
+        } finally {
+            if (!async) {
+                finish(compressing);
+            }
+        }
+
+        if (async) {
+            // The body is still being written; finish it when the async request completes
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) throws IOException {
+                    finish(compressing);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        }
+    }
+
+    private void finish(CompressingResponseWrapper compressing) throws IOException {
+        compressing.finish();
+        if (compressing.isCompressed()) {
+            String type = compressing.getMediaType();
+            meterRegistry.counter("http.compression.bytes", "media_type", type, "stage", "in")
+                    .increment(compressing.getBytesIn());
+            meterRegistry.counter("http.compression.bytes", "media_type", type, "stage", "out")
+                    .increment(compressing.getBytesOut());
+        }
+    }
+
+    public static boolean acceptsGzip(HttpServletRequest request) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (headers.hasMoreElements()) {
+            for (String coding : headers.nextElement().split(",")) {
+                String[] parts = coding.trim().split(";");
+                String name = parts[0].trim();
+                if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                    continue;
+                }
+                // gzip;q=0 explicitly refuses it
+                boolean refused = parts.length > 1 && parts[1].trim().matches("q=0(\\.0*)?");
+                if (!refused) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
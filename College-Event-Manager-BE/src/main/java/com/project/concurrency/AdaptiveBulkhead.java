@@ -0,0 +1,72 @@
+package com.project.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Non-blocking concurrency limit whose size follows measured latency (AIMD, as in TCP congestion control).
+// A completion within the target latency grows the limit by 1/limit, about one slot per round of requests,
+// but only while the bulkhead is actually using at least half of it. A slow or failed completion cuts the
+// limit by the backoff ratio, at most once per target-latency interval so a batch of slow requests that
+// were already in flight counts as one congestion signal rather than collapsing the limit to its minimum.
+public class AdaptiveBulkhead {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private long lastDecreaseNanos;
+
+    public AdaptiveBulkhead(String name, int initialLimit, int minLimit, int maxLimit,
+                            long targetLatencyNanos, double backoffRatio) {
+        this.name = name;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.lastDecreaseNanos = System.nanoTime() - targetLatencyNanos;
+    }
+
+    // Returns false when the bulkhead is full; a true result must be paired with release()
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos, boolean failed) {
+        int wasInFlight = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failed || latencyNanos > targetLatencyNanos) {
+                long now = System.nanoTime();
+                if (now - lastDecreaseNanos >= targetLatencyNanos) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseNanos = now;
+                }
+            } else if (wasInFlight * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
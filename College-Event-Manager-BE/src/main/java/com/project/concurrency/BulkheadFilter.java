@@ -0,0 +1,73 @@
+package com.project.concurrency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Admits each API request into the bulkhead of its endpoint class or rejects it at once with Retry-After.
+// Runs ahead of authentication and the connection-pool limiter, so a rejected request costs no BCrypt,
+// JWT verification or pool wait. Latency is measured around the rest of the chain and fed back to the
+// bulkhead; a 5xx or an exception counts as a failure.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 15)
+@ConditionalOnProperty(name = "bulkhead.enabled", havingValue = "true")
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final Bulkheads bulkheads;
+
+    @Value("${bulkhead.rejection-status:503}")
+    private int rejectionStatus;
+
+    @Value("${bulkhead.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    public BulkheadFilter(Bulkheads bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return EndpointClass.classify(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        EndpointClass endpointClass = EndpointClass.classify(request);
+        AdaptiveBulkhead bulkhead = bulkheads.get(endpointClass);
+
+        if (!bulkhead.tryAcquire()) {
+            bulkheads.recordRejection(endpointClass);
+            response.setStatus(rejectionStatus);
+            response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"" + HttpStatus.valueOf(rejectionStatus).getReasonPhrase()
+                    + "\",\"message\":\"Too many " + endpointClass.getTag() + " requests in progress, please retry\"}");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            bulkhead.release(System.nanoTime() - start, failed);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.project.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// One adaptive bulkhead per EndpointClass. Each can be tuned with bulkhead.<tag>.initial-limit,
+// min-limit, max-limit and target-latency-ms; anything not set falls back to the EndpointClass default.
+@Component
+@ConditionalOnProperty(name = "bulkhead.enabled", havingValue = "true")
+public class Bulkheads {
+
+    private final Map<EndpointClass, AdaptiveBulkhead> bulkheads = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejections = new EnumMap<>(EndpointClass.class);
+
+    public Bulkheads(Environment environment, MeterRegistry meterRegistry,
+                     @Value("${bulkhead.backoff-ratio:0.9}") double backoffRatio) {
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String prefix = "bulkhead." + endpointClass.getTag() + ".";
+            long targetLatencyMs = environment.getProperty(prefix + "target-latency-ms", Long.class,
+                    endpointClass.getTargetLatencyMs());
+            AdaptiveBulkhead bulkhead = new AdaptiveBulkhead(endpointClass.getTag(),
+                    environment.getProperty(prefix + "initial-limit", Integer.class, endpointClass.getInitialLimit()),
+                    environment.getProperty(prefix + "min-limit", Integer.class, endpointClass.getMinLimit()),
+                    environment.getProperty(prefix + "max-limit", Integer.class, endpointClass.getMaxLimit()),
+                    TimeUnit.MILLISECONDS.toNanos(targetLatencyMs),
+                    backoffRatio);
+            bulkheads.put(endpointClass, bulkhead);
+
+            Gauge.builder("bulkhead.limit", bulkhead, AdaptiveBulkhead::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("bulkhead", endpointClass.getTag())
+                    .register(meterRegistry);
+            Gauge.builder("bulkhead.in.flight", bulkhead, AdaptiveBulkhead::getInFlight)
+                    .tag("bulkhead", endpointClass.getTag())
+                    .register(meterRegistry);
+            rejections.put(endpointClass, Counter.builder("bulkhead.rejected")
+                    .description("Requests turned away because their bulkhead was full")
+                    .tag("bulkhead", endpointClass.getTag())
+                    .register(meterRegistry));
+        }
+    }
+
+    public AdaptiveBulkhead get(EndpointClass endpointClass) {
+        return bulkheads.get(endpointClass);
+    }
+
+    void recordRejection(EndpointClass endpointClass) {
+        rejections.get(endpointClass).increment();
+    }
+}
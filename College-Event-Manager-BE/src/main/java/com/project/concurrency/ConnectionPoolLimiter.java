@@ -0,0 +1,77 @@
+package com.project.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Caps concurrently executing database-backed requests at what the Hikari pool can actually serve.
+// With virtual threads there is no Tomcat pool to act as the cap, and thousands of threads queueing
+// inside Hikari's getConnection() churn its hand-off queue and time out together. Here the excess waits
+// on a fair semaphore for at most max-wait-ms, and beyond max-waiting callers are turned away at once.
+@Component
+@ConditionalOnProperty(name = "concurrency.limiter.enabled", havingValue = "true")
+public class ConnectionPoolLimiter {
+
+    private final Semaphore permits;
+    private final int limit;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Counter rejected;
+
+    @Value("${concurrency.limiter.max-wait-ms:2000}")
+    private long maxWaitMs;
+
+    @Value("${concurrency.limiter.max-waiting:1000}")
+    private int maxWaiting;
+
+    public ConnectionPoolLimiter(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                 @Value("${concurrency.limiter.permits-per-connection:1.0}") double permitsPerConnection,
+                                 MeterRegistry meterRegistry) {
+        // With open-in-view a request keeps its connection until the response is written, so one permit
+        // per connection is the natural default
+        this.limit = Math.max(1, (int) Math.round(poolSize * permitsPerConnection));
+        this.permits = new Semaphore(limit, true);
+        this.rejected = Counter.builder("concurrency.limiter.rejected")
+                .description("Requests turned away because the connection pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("concurrency.limiter.active", this, limiter -> limiter.limit - limiter.permits.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("concurrency.limiter.waiting", waiting, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    // Returns false when the caller should be rejected; a true result must be paired with release()
+    public boolean acquire() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        try {
+            if (permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            rejected.increment();
+            return false;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
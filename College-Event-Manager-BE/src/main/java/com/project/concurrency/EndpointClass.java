@@ -0,0 +1,78 @@
+package com.project.concurrency;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Groups of endpoints that get their own bulkhead, so overload in one group cannot starve the others.
+// The defaults are starting points; each bulkhead adapts its limit at runtime between min and max.
+public enum EndpointClass {
+
+    // BCrypt makes login CPU-bound, so a small limit keeps it from taking every core
+    AUTH("auth", 16, 2, 32, 500),
+    EVENT_READS("event-reads", 60, 5, 100, 250),
+    // Registration and the other event mutations; the path students hit during an opening rush
+    REGISTRATION("registration", 40, 5, 60, 250),
+    ADMIN("admin", 4, 1, 8, 1000);
+
+    private final String tag;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyMs;
+
+    EndpointClass(String tag, int initialLimit, int minLimit, int maxLimit, long targetLatencyMs) {
+        this.tag = tag;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyMs = targetLatencyMs;
+    }
+
+    // Returns null for requests outside every bulkhead (non-API paths, image downloads, profiling, test endpoints)
+    public static EndpointClass classify(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String method = request.getMethod();
+        if (uri.startsWith("/api/auth/")) {
+            return AUTH;
+        }
+        if (uri.startsWith("/api/admin/profiling/")) {
+            // Long by design and already limited to one session; its latency would only drag the admin limit down.
+            // A session holds its request thread for up to profiling.max-duration-seconds, so with platform
+            // threads that is at most one Tomcat worker for two minutes by default.
+            return null;
+        }
+        if (uri.startsWith("/api/admin/") || uri.startsWith("/api/users")) {
+            return ADMIN;
+        }
+        if (uri.startsWith("/api/events")) {
+            return "GET".equals(method) ? EVENT_READS : REGISTRATION;
+        }
+        if (uri.startsWith("/api/public/")) {
+            return EVENT_READS;
+        }
+        if (uri.startsWith("/api/images") && !"GET".equals(method)) {
+            // Poster uploads write files and queue variant work alongside event edits
+            return REGISTRATION;
+        }
+        return null;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public long getTargetLatencyMs() {
+        return targetLatencyMs;
+    }
+}
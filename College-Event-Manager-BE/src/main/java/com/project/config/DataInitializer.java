@@ -1,6 +1,10 @@
 package com.project.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import com.project.entity.User;
@@ -10,12 +14,19 @@ import com.project.service.StudentService;
 import com.project.service.EventManagerService;
 
 @Component
+@Order(0)
 public class DataInitializer implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
     private final UserService userService;
     private final StudentService studentService;
     private final EventManagerService eventManagerService;
     private final PasswordEncoder passwordEncoder;
+    private String defaultPasswordHash;
+
+    @Value("${app.seed.async:false}")
+    private boolean seedAsync;
 
     public DataInitializer(UserService userService, StudentService studentService, EventManagerService eventManagerService, PasswordEncoder passwordEncoder) {
         this.userService = userService;
@@ -26,7 +37,29 @@ public class DataInitializer implements CommandLineRunner {
 
     @Override
     public void run(String... args) {
-        createDefaultUsers();
+        if (!seedAsync) {
+            createDefaultUsers();
+            return;
+        }
+
+        // Keeps the existence checks and the BCrypt hash off the startup critical path
+        Thread seeder = new Thread(() -> {
+            try {
+                createDefaultUsers();
+            } catch (Exception e) {
+                log.error("Error creating default users", e);
+            }
+        }, "data-initializer");
+        seeder.setDaemon(true);
+        seeder.start();
+    }
+
+    // All demo accounts share the same password, so it is hashed at most once
+    private String defaultPasswordHash() {
+        if (defaultPasswordHash == null) {
+            defaultPasswordHash = passwordEncoder.encode("password");
+        }
+        return defaultPasswordHash;
     }
 
     private void createDefaultUsers() {
@@ -34,24 +67,24 @@ public class DataInitializer implements CommandLineRunner {
         if (!userService.existsByEmail("admin@example.com")) {
             User admin = User.builder()
                     .email("admin@example.com")
-                    .password(passwordEncoder.encode("password"))
+                    .password(defaultPasswordHash())
                     .name("Default Admin")
                     .role(UserRole.ADMIN)
                     .build();
             userService.save(admin);
-            System.out.println("Default admin user created: admin@example.com / password");
+            log.info("Default admin user created: admin@example.com / password");
         } else {
             // Ensure admin has correct role and password
             try {
                 User admin = userService.findByEmail("admin@example.com");
                 if (admin.getRole() != UserRole.ADMIN) {
                     admin.setRole(UserRole.ADMIN);
-                    admin.setPassword(passwordEncoder.encode("password"));
+                    admin.setPassword(defaultPasswordHash());
                     userService.save(admin);
-                    System.out.println("Admin user role and password updated");
+                    log.info("Admin user role and password updated");
                 }
             } catch (Exception e) {
-                System.out.println("Error updating admin user: " + e.getMessage());
+                log.error("Error updating admin user", e);
             }
         }
 
@@ -59,26 +92,26 @@ public class DataInitializer implements CommandLineRunner {
         if (!userService.existsByEmail("student@example.com")) {
             User student = User.builder()
                     .email("student@example.com")
-                    .password(passwordEncoder.encode("password"))
+                    .password(defaultPasswordHash())
                     .name("Default Student")
                     .role(UserRole.STUDENT)
                     .build();
             student = userService.save(student);
             studentService.createStudent(student, "Computer Science");
-            System.out.println("Default student user created: student@example.com / password");
+            log.info("Default student user created: student@example.com / password");
         }
 
         // Create event manager if not exists
         if (!userService.existsByEmail("eventmanager@example.com")) {
             User eventManager = User.builder()
                     .email("eventmanager@example.com")
-                    .password(passwordEncoder.encode("password"))
+                    .password(defaultPasswordHash())
                     .name("Default Event Manager")
                     .role(UserRole.EVENT_MANAGER)
                     .build();
             eventManager = userService.save(eventManager);
             eventManagerService.createEventManager(eventManager, "Senior Event Coordinator", "+1234567890");
-            System.out.println("Default event manager user created: eventmanager@example.com / password");
+            log.info("Default event manager user created: eventmanager@example.com / password");
         }
     }
 } 
\ No newline at end of file
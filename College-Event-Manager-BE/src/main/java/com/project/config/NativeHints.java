@@ -0,0 +1,120 @@
+package com.project.config;
+
+import com.project.dto.ChangePasswordRequest;
+import com.project.dto.CreateEventRequest;
+import com.project.dto.EventChanges;
+import com.project.dto.EventDto;
+import com.project.dto.EventManagerDetails;
+import com.project.dto.FreeSlot;
+import com.project.dto.LoginRequest;
+import com.project.dto.LoginResponse;
+import com.project.dto.ProfileHotSpot;
+import com.project.dto.ProfileSummary;
+import com.project.dto.QueueTicket;
+import com.project.dto.RegisterRequest;
+import com.project.dto.SeatCount;
+import com.project.dto.StudentDetails;
+import com.project.dto.UserDto;
+import com.project.entity.Admin;
+import com.project.entity.Event;
+import com.project.entity.EventChange;
+import com.project.entity.EventManager;
+import com.project.entity.OutboxMessage;
+import com.project.entity.Student;
+import com.project.entity.User;
+import com.project.notification.Notification;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+// Reachability metadata for the GraalVM native image (mvn -Pnative package) that Spring AOT cannot infer
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] ENTITIES = {Event.class, User.class, Student.class, EventManager.class, Admin.class,
+            OutboxMessage.class, EventChange.class};
+
+    private static final Class<?>[] DTOS = {
+            ChangePasswordRequest.class, CreateEventRequest.class, EventChanges.class, EventDto.class, EventManagerDetails.class,
+            FreeSlot.class, LoginRequest.class, LoginResponse.class, ProfileHotSpot.class, ProfileSummary.class, QueueTicket.class,
+            RegisterRequest.class, SeatCount.class, StudentDetails.class, UserDto.class, Notification.class
+    };
+
+    // jjwt-api finds its implementation classes by name
+    private static final String[] JJWT_IMPLEMENTATIONS = {
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+            "io.jsonwebtoken.impl.security.JwksBridge",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            // Loaded through ServiceLoader as the JSON (de)serializer
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    };
+
+    // datasource-proxy (SqlStatisticsConfig) wraps every JDBC object in a JDK proxy
+    private static final Class<?>[] PROXIED_JDBC_TYPES = {
+            DataSource.class, Connection.class, Statement.class, PreparedStatement.class,
+            CallableStatement.class, ResultSet.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> entity : ENTITIES) {
+            hints.reflection().registerType(entity, MemberCategory.values());
+            registerBuilder(hints, entity);
+        }
+
+        for (Class<?> dto : DTOS) {
+            hints.reflection().registerType(dto,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+            registerBuilder(hints, dto);
+        }
+
+        for (String type : JJWT_IMPLEMENTATIONS) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+
+        TypeReference proxyJdbcObject = TypeReference.of("net.ttddyy.dsproxy.proxy.ProxyJdbcObject");
+        for (Class<?> jdbcType : PROXIED_JDBC_TYPES) {
+            hints.proxies().registerJdkProxy(proxyJdbcObject, TypeReference.of(jdbcType));
+        }
+
+        // dotenv-java falls back to a .env on the classpath when there is none in the working directory
+        hints.resources().registerPattern(".env");
+    }
+
+    // Lombok @Builder classes are nested as <Type>Builder
+    private static void registerBuilder(RuntimeHints hints, Class<?> type) {
+        for (Class<?> nested : type.getDeclaredClasses()) {
+            if (nested.getSimpleName().equals(type.getSimpleName() + "Builder")) {
+                hints.reflection().registerType(nested,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.config;
+
+import com.project.journal.RegistrationJournal;
+import com.project.notification.NotificationDispatcher;
+import com.project.service.EventChangeLog;
+import com.project.service.ImageVariantService;
+import com.project.service.ParticipantCountReconciler;
+import com.project.service.WaitingRoomService;
+import com.project.venue.StudentSchedule;
+import com.project.venue.VenueSchedule;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+@Configuration
+@ImportRuntimeHints(NativeHints.class)
+public class StartupConfig {
+
+    // Started eagerly even with spring.main.lazy-initialization (fast profile):
+    // - ParticipantCountReconciler: a lazy bean's @Scheduled methods never run
+    // - RegistrationJournal: recovers its segments at startup, not on the first registration
+    // - ImageVariantService: its workers must exist before the first upload
+    // - WaitingRoomService: rooms open before students arrive for a scheduled registration opening
+    // - NotificationDispatcher: drains the outbox without a trigger
+    // - EventChangeLog: backfills existing events before the first delta-sync call
+    // - VenueSchedule, StudentSchedule: loaded before the first clash check
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                ParticipantCountReconciler.class, RegistrationJournal.class, ImageVariantService.class,
+                WaitingRoomService.class, NotificationDispatcher.class, EventChangeLog.class,
+                VenueSchedule.class, StudentSchedule.class);
+    }
+}
@@ -0,0 +1,335 @@
+package com.project.config;
+
+import com.project.service.EventChangeLog;
+import com.project.venue.StudentSchedule;
+import com.project.venue.VenueSchedule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Fills the database with a large, reproducible dataset for performance work (profile "synthetic").
+// Rows go straight through batched JDBC inserts with explicit ids, so no entity is ever loaded. The same
+// seed and synthetic.anchor-date produce the same rows, apart from password salts and the first id, which
+// follows whatever the tables already hold; the anchor defaults to today so events stay upcoming. Event
+// popularity follows a Zipf curve: a handful of mega-popular events take a large share of registrations
+// and the rest form a long tail. Everything is inserted in one transaction, so a failed run leaves nothing
+// behind and the next one starts over rather than skipping a half-seeded database.
+@Component
+@Profile("synthetic")
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String EMAIL_DOMAIN = "@synthetic.local";
+
+    private static final String[] DEPARTMENTS = {
+            "Computer Science", "Engineering", "Business", "Science", "Mathematics", "Arts", "Social Sciences"
+    };
+
+    private static final String[] DESIGNATIONS = {
+            "Event Coordinator", "Senior Event Coordinator", "Event Manager",
+            "Senior Event Manager", "Event Director", "Event Specialist"
+    };
+
+    private static final String[] EVENT_KINDS = {
+            "Workshop", "Hackathon", "Seminar", "Guest Lecture", "Meetup", "Fest", "Symposium", "Competition"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final EventChangeLog eventChangeLog;
+    private final VenueSchedule venueSchedule;
+    private final StudentSchedule studentSchedule;
+
+    @Value("${synthetic.students:200000}")
+    private int studentCount;
+
+    @Value("${synthetic.managers:2000}")
+    private int managerCount;
+
+    @Value("${synthetic.events:100000}")
+    private int eventCount;
+
+    @Value("${synthetic.registrations:5000000}")
+    private long registrationCount;
+
+    @Value("${synthetic.seed:20240901}")
+    private long seed;
+
+    @Value("${synthetic.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${synthetic.password:password}")
+    private String password;
+
+    @Value("${synthetic.password-pool-size:8}")
+    private int passwordPoolSize;
+
+    @Value("${synthetic.zipf-exponent:1.0}")
+    private double zipfExponent;
+
+    // Event dates and created_at are spread around this day (yyyy-MM-dd); empty means today
+    @Value("${synthetic.anchor-date:}")
+    private String anchorDate;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  PasswordEncoder passwordEncoder, EventChangeLog eventChangeLog,
+                                  VenueSchedule venueSchedule, StudentSchedule studentSchedule) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.eventChangeLog = eventChangeLog;
+        this.venueSchedule = venueSchedule;
+        this.studentSchedule = studentSchedule;
+    }
+
+    @Override
+    public void run(String... args) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email = ?", Integer.class, "student0" + EMAIL_DOMAIN);
+        if (existing != null && existing > 0) {
+            log.info("Synthetic dataset already present, skipping generation");
+            return;
+        }
+
+        log.info("Generating synthetic dataset: {} students, {} managers, {} events, {} registrations (seed {})",
+                studentCount, managerCount, eventCount, registrationCount, seed);
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(seed);
+
+        // BCrypt is deliberately slow; a few hashes (all of the same password, different salts) are shared by everyone
+        String[] passwordHashes = new String[passwordPoolSize];
+        for (int i = 0; i < passwordPoolSize; i++) {
+            passwordHashes[i] = passwordEncoder.encode(password);
+        }
+
+        LocalDate anchor = anchorDate.isBlank() ? LocalDate.now() : LocalDate.parse(anchorDate);
+        transactionTemplate.executeWithoutResult(status -> {
+            long firstUserId = nextId("users");
+            long firstStudentId = firstUserId;
+            long firstManagerId = firstUserId + studentCount;
+            long firstEventId = nextId("events");
+
+            insertUsers(firstStudentId, studentCount, "student", "Student", "STUDENT", passwordHashes);
+            insertStudents(firstStudentId, random);
+            insertUsers(firstManagerId, managerCount, "manager", "Manager", "EVENT_MANAGER", passwordHashes);
+            insertManagers(firstManagerId, random);
+
+            int[] registrations = registrationsPerEvent(random);
+            insertEvents(firstEventId, firstManagerId, registrations, anchor, random);
+            insertRegistrations(firstEventId, firstStudentId, registrations, random);
+            // The inserts bypass EventService; this gives the new events their change-log row (delta sync,
+            // response cache)
+            eventChangeLog.backfill();
+        });
+        // Loaded once the rows are committed: the events' venue bookings and the students' registrations
+        venueSchedule.rebuild();
+        studentSchedule.rebuild();
+
+        log.info("Synthetic dataset generated in {} s", String.format("%.1f", (System.nanoTime() - start) / 1e9));
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    private void insertUsers(long firstId, int count, String emailPrefix, String namePrefix, String role,
+                             String[] passwordHashes) {
+        BatchWriter writer = new BatchWriter("users",
+                "INSERT INTO users (id, email, password, name, role, active) VALUES (?, ?, ?, ?, ?, ?)");
+        for (int i = 0; i < count; i++) {
+            writer.add(firstId + i, emailPrefix + i + EMAIL_DOMAIN, passwordHashes[i % passwordHashes.length],
+                    namePrefix + " " + i, role, true);
+        }
+        writer.finish();
+    }
+
+    private void insertStudents(long firstId, SplittableRandom random) {
+        BatchWriter writer = new BatchWriter("students",
+                "INSERT INTO students (id, roll_number, department, phone_number, year, college_name) VALUES (?, ?, ?, ?, ?, ?)");
+        for (int i = 0; i < studentCount; i++) {
+            writer.add(firstId + i, "SYN" + (firstId + i), DEPARTMENTS[random.nextInt(DEPARTMENTS.length)],
+                    phoneNumber(random), String.valueOf(1 + random.nextInt(4)), "Synthetic College " + (i % 20));
+        }
+        writer.finish();
+    }
+
+    private void insertManagers(long firstId, SplittableRandom random) {
+        BatchWriter writer = new BatchWriter("event_managers",
+                "INSERT INTO event_managers (id, designation, phone_number) VALUES (?, ?, ?)");
+        for (int i = 0; i < managerCount; i++) {
+            writer.add(firstId + i, DESIGNATIONS[random.nextInt(DESIGNATIONS.length)], phoneNumber(random));
+        }
+        writer.finish();
+    }
+
+    // Zipf weights over a shuffled popularity rank, capped at the number of students (one registration each);
+    // whatever the cap cuts off the head is spread over the tail so the requested total is still reached
+    private int[] registrationsPerEvent(SplittableRandom random) {
+        int[] rankOf = new int[eventCount];
+        for (int i = 0; i < eventCount; i++) {
+            rankOf[i] = i + 1;
+        }
+        for (int i = eventCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = rankOf[i];
+            rankOf[i] = rankOf[j];
+            rankOf[j] = tmp;
+        }
+
+        double totalWeight = 0;
+        for (int rank = 1; rank <= eventCount; rank++) {
+            totalWeight += 1.0 / Math.pow(rank, zipfExponent);
+        }
+
+        long target = Math.min(registrationCount, (long) eventCount * studentCount);
+        int[] counts = new int[eventCount];
+        long assigned = 0;
+        for (int i = 0; i < eventCount; i++) {
+            double share = (1.0 / Math.pow(rankOf[i], zipfExponent)) / totalWeight;
+            counts[i] = (int) Math.min(studentCount, Math.round(target * share));
+            assigned += counts[i];
+        }
+
+        for (int i = 0; assigned < target; i = (i + 1) % eventCount) {
+            if (counts[i] < studentCount) {
+                counts[i]++;
+                assigned++;
+            }
+        }
+        return counts;
+    }
+
+    private void insertEvents(long firstId, long firstManagerId, int[] registrations, LocalDate anchor,
+                              SplittableRandom random) {
+        BatchWriter writer = new BatchWriter("events",
+                "INSERT INTO events (id, title, description, date, time, department, location, max_participants, "
+                        + "current_participants, image, registration_closed, created_by, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        Timestamp created = Timestamp.valueOf(anchor.atStartOfDay());
+
+        for (int i = 0; i < eventCount; i++) {
+            String department = DEPARTMENTS[random.nextInt(DEPARTMENTS.length)];
+            String kind = EVENT_KINDS[random.nextInt(EVENT_KINDS.length)];
+            int registered = registrations[i];
+            // Popular events fill up or nearly so; the tail has plenty of room left
+            int capacity = registered == 0 ? 20 + random.nextInt(180)
+                    : registered + random.nextInt(Math.max(1, registered / 10) + 1);
+
+            writer.add(firstId + i,
+                    department + " " + kind + " #" + i,
+                    "Synthetic " + kind.toLowerCase() + " organised by the " + department + " department.",
+                    Date.valueOf(anchor.plusDays(random.nextInt(270) - 90)),
+                    Time.valueOf(LocalTime.of(8 + random.nextInt(11), random.nextBoolean() ? 0 : 30)),
+                    department,
+                    "Block " + (char) ('A' + random.nextInt(8)) + ", Room " + (100 + random.nextInt(400)),
+                    capacity,
+                    registered,
+                    null,
+                    false,
+                    firstManagerId + random.nextInt(managerCount),
+                    created,
+                    created);
+        }
+        writer.finish();
+    }
+
+    // Each event walks the student id space from a random offset with a stride coprime to the student count,
+    // which yields distinct students without keeping a per-event set in memory
+    private void insertRegistrations(long firstEventId, long firstStudentId, int[] registrations,
+                                     SplittableRandom random) {
+        BatchWriter writer = new BatchWriter("event_participants",
+                "INSERT INTO event_participants (event_id, user_id) VALUES (?, ?)");
+        for (int i = 0; i < eventCount; i++) {
+            int offset = random.nextInt(studentCount);
+            int stride = coprimeStride(random);
+            for (long k = 0; k < registrations[i]; k++) {
+                writer.add(firstEventId + i, firstStudentId + (offset + k * stride) % studentCount);
+            }
+        }
+        writer.finish();
+    }
+
+    private int coprimeStride(SplittableRandom random) {
+        if (studentCount == 1) {
+            return 1;
+        }
+        while (true) {
+            int stride = 1 + random.nextInt(studentCount - 1);
+            if (gcd(stride, studentCount) == 1) {
+                return stride;
+            }
+        }
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    private static String phoneNumber(SplittableRandom random) {
+        return "+1" + (2000000000L + random.nextLong(7999999999L));
+    }
+
+    private class BatchWriter {
+
+        private final String table;
+        private final String sql;
+        private final List<Object[]> batch = new ArrayList<>(batchSize);
+        private final long start = System.nanoTime();
+        private long rows;
+
+        BatchWriter(String table, String sql) {
+            this.table = table;
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            batch.add(row);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void finish() {
+            flush();
+            double seconds = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+            log.info("Inserted {} rows into {} in {} s ({} rows/s)", rows, table,
+                    String.format("%.1f", seconds), Math.round(rows / seconds));
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(sql, batch);
+            rows += batch.size();
+            batch.clear();
+        }
+    }
+}
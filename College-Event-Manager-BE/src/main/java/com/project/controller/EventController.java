@@ -1,16 +1,27 @@
 package com.project.controller;
 
+import com.project.cache.EventResponseCache;
 import com.project.dto.CreateEventRequest;
+import com.project.dto.EventChanges;
 import com.project.dto.EventDto;
+import com.project.dto.FreeSlot;
+import com.project.dto.QueueTicket;
 import com.project.entity.User;
 import com.project.service.EventService;
 import com.project.service.UserService;
+import com.project.service.WaitingRoomService;
+import com.project.venue.VenueSchedule;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/events")
@@ -19,10 +30,18 @@ public class EventController {
 
     private final EventService eventService;
     private final UserService userService;
+    private final WaitingRoomService waitingRoomService;
+    private final EventResponseCache eventResponseCache;
+    private final VenueSchedule venueSchedule;
 
-    public EventController(EventService eventService, UserService userService) {
+    public EventController(EventService eventService, UserService userService,
+                           WaitingRoomService waitingRoomService, EventResponseCache eventResponseCache,
+                           VenueSchedule venueSchedule) {
         this.eventService = eventService;
         this.userService = userService;
+        this.waitingRoomService = waitingRoomService;
+        this.eventResponseCache = eventResponseCache;
+        this.venueSchedule = venueSchedule;
     }
 
     @GetMapping
@@ -31,8 +50,29 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    // Delta sync for client-side catalogs: start with since=0 and keep the returned nextToken
+    @GetMapping("/changes")
+    public ResponseEntity<EventChanges> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                   @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(eventService.getChangesSince(since, limit));
+    }
+
+    // Free time at a venue on one day, within venues.day-start and venues.day-end
+    @GetMapping("/venues/free-slots")
+    public ResponseEntity<List<FreeSlot>> getFreeSlots(@RequestParam String location,
+                                                       @RequestParam LocalDate date,
+                                                       @RequestParam(defaultValue = "1") int minMinutes) {
+        return ResponseEntity.ok(venueSchedule.freeSlots(location, date, minMinutes));
+    }
+
+    // JSON comes from the serialized response cache as bytes; other formats go through the message converters
     @GetMapping("/{id}")
-    public ResponseEntity<EventDto> getEventById(@PathVariable Long id) {
+    public ResponseEntity<?> getEventById(@PathVariable Long id, HttpServletRequest request) throws IOException {
+        Optional<ResponseEntity<byte[]>> cached =
+                eventResponseCache.lookup(id, () -> eventService.getEventById(id), request);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
         EventDto event = eventService.getEventById(id);
         return ResponseEntity.ok(event);
     }
@@ -68,15 +108,29 @@ public class EventController {
     }
 
     @PostMapping("/{id}/register")
-    public ResponseEntity<EventDto> registerForEvent(@PathVariable Long id) {
+    public ResponseEntity<?> registerForEvent(@PathVariable Long id) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String userEmail = authentication.getName();
+
+        // During a scheduled opening the request is queued and the client polls its ticket
+        QueueTicket ticket = waitingRoomService.enqueue(id, userEmail);
+        if (ticket != null) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ticket);
+        }
+
         User currentUser = userService.findByEmail(userEmail);
         
         EventDto event = eventService.registerForEvent(id, currentUser.getId());
         return ResponseEntity.ok(event);
     }
 
+    @GetMapping("/{id}/queue/{ticketId}")
+    public ResponseEntity<QueueTicket> getQueueTicket(@PathVariable Long id, @PathVariable String ticketId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        QueueTicket ticket = waitingRoomService.status(id, ticketId, authentication.getName());
+        return ResponseEntity.ok(ticket);
+    }
+
     @PostMapping("/{id}/unregister")
     public ResponseEntity<EventDto> unregisterFromEvent(@PathVariable Long id) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
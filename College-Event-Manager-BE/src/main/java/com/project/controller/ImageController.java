@@ -0,0 +1,90 @@
+package com.project.controller;
+
+import com.project.service.ImageStorageService;
+import com.project.service.ImageVariantService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/images")
+public class ImageController {
+
+    // Content-addressed URLs never change meaning, so clients and proxies may cache them forever
+    private static final String IMMUTABLE_CACHE = "public, max-age=31536000, immutable";
+
+    private final ImageStorageService imageStorageService;
+    private final ImageVariantService imageVariantService;
+
+    public ImageController(ImageStorageService imageStorageService, ImageVariantService imageVariantService) {
+        this.imageStorageService = imageStorageService;
+        this.imageVariantService = imageVariantService;
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('EVENT_MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<Map<String, String>> uploadImage(@RequestParam("file") MultipartFile file) throws IOException {
+        String key;
+        try (InputStream in = file.getInputStream()) {
+            key = imageStorageService.store(in, file.getContentType());
+        }
+        imageVariantService.submit(key);
+        return ResponseEntity.ok(Map.of("key", key, "url", ImageStorageService.URL_PREFIX + key));
+    }
+
+    @GetMapping("/{key}")
+    public void getImage(@PathVariable String key, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!imageStorageService.isValidKey(key)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path path = imageStorageService.resolve(key);
+        if (!Files.isRegularFile(path)) {
+            // Removed from disk outside the app
+            imageVariantService.evict(key);
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String etag = "\"" + key + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long size = Files.size(path);
+        response.setContentType(imageStorageService.contentType(key));
+        response.setContentLengthLong(size);
+
+        // Let Tomcat hand the file to the kernel with sendfile when the connector supports it
+        if (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+            request.setAttribute("org.apache.tomcat.sendfile.filename", path.toAbsolutePath().toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", 0L);
+            request.setAttribute("org.apache.tomcat.sendfile.end", size);
+            return;
+        }
+
+        try (FileChannel file = FileChannel.open(path);
+             WritableByteChannel out = Channels.newChannel(response.getOutputStream())) {
+            long position = 0;
+            while (position < size) {
+                position += file.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
@@ -19,6 +19,9 @@ public class CreateEventRequest {
     private LocalTime time;
     private String department;
     private String location;
+    // Defaults to an hour on create and stays unchanged on update when omitted
+    private Integer durationMinutes;
     private Integer maxParticipants;
     private String image;
+    private java.time.LocalDateTime registrationOpensAt;
 } 
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventChanges {
+    // Current state of every event created or updated since the token
+    private List<EventDto> events;
+    // Ids of events deleted since the token
+    private List<Long> deleted;
+    // Pass as since on the next call
+    private long nextToken;
+    // More changes are waiting; call again right away with nextToken
+    private boolean hasMore;
+}
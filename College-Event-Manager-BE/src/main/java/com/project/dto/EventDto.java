@@ -21,10 +21,13 @@ public class EventDto {
     private LocalTime time;
     private String department;
     private String location;
+    private int durationMinutes;
     private Integer maxParticipants;
     private Integer currentParticipants;
     private String image;
+    private String thumbnail;
     private boolean registrationClosed;
+    private java.time.LocalDateTime registrationOpensAt;
     private String createdBy;
     private Set<String> participants;
     private java.time.LocalDateTime createdAt;
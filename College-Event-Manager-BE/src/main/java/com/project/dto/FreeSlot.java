@@ -0,0 +1,18 @@
+package com.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlot {
+    private LocalTime start;
+    private LocalTime end;
+    private int minutes;
+}
@@ -0,0 +1,17 @@
+package com.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileHotSpot {
+    private String frame;
+    // Execution samples, or sampled bytes for allocation sites
+    private long weight;
+    private double percent;
+}
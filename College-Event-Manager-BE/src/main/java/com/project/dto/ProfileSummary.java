@@ -0,0 +1,21 @@
+package com.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileSummary {
+    private long durationMillis;
+    private long executionSamples;
+    private long allocationSamples;
+    private List<ProfileHotSpot> hotMethods;
+    private List<ProfileHotSpot> hotApplicationMethods;
+    private List<ProfileHotSpot> allocationSites;
+}
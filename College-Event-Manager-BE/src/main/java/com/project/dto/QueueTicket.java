@@ -0,0 +1,24 @@
+package com.project.dto;
+
+import com.project.enums.QueueTicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueueTicket {
+    private String ticketId;
+    private Long eventId;
+    private QueueTicketStatus status;
+    private long position;
+    private long estimatedWaitSeconds;
+    private LocalDateTime opensAt;
+    private String message;
+    private long pollAfterMs;
+}
@@ -0,0 +1,25 @@
+package com.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One event's seat state as sent on the /api/events/stream server-sent event stream
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatCount {
+    private Long eventId;
+    private Integer currentParticipants;
+    private boolean registrationClosed;
+    // Only sent, as true, for an event that was deleted; clients drop it
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean deleted;
+    // Only used to match department subscriptions
+    @JsonIgnore
+    private String department;
+}
@@ -18,6 +18,8 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 public class Event {
+
+    public static final int DEFAULT_DURATION_MINUTES = 60;
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -40,6 +42,10 @@ public class Event {
     
     @Column(nullable = false)
     private String location;
+
+    // Null on events created before durations were recorded; see durationOrDefault
+    @Column(name = "duration_minutes")
+    private Integer durationMinutes;
     
     @Column(nullable = false)
     private Integer maxParticipants;
@@ -53,6 +59,10 @@ public class Event {
   @Column(nullable = false)
   @Builder.Default
   private boolean registrationClosed = false;
+
+    // When set, registration is not accepted before this time and the waiting room runs around it
+    @Column(name = "registration_opens_at")
+    private java.time.LocalDateTime registrationOpensAt;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
@@ -75,6 +85,10 @@ public class Event {
     @Temporal(TemporalType.TIMESTAMP)
     private java.time.LocalDateTime updatedAt;
     
+    public static int durationOrDefault(Integer durationMinutes) {
+        return durationMinutes != null ? durationMinutes : DEFAULT_DURATION_MINUTES;
+    }
+    
     @PrePersist
     protected void onCreate() {
         createdAt = java.time.LocalDateTime.now();
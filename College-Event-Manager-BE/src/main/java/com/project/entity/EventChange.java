@@ -0,0 +1,39 @@
+package com.project.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One change to an event for delta sync (GET /api/events/changes); the id is the client's change token
+@Entity
+@Table(name = "event_changes", indexes = @Index(name = "idx_event_changes_event", columnList = "event_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Not a foreign key: tombstones outlive their event
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    // Tombstone written by deleteEvent
+    @Column(nullable = false)
+    private boolean deleted;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        changedAt = LocalDateTime.now();
+    }
+}
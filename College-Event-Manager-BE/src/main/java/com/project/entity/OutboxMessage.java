@@ -0,0 +1,89 @@
+package com.project.entity;
+
+import com.project.enums.NotificationType;
+import com.project.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+
+// A participant notification owed for an event change, written in the same transaction as the change.
+// The event fields are a snapshot, since a cancelled event no longer exists when the message is sent.
+@Entity
+@Table(name = "notification_outbox", indexes = @Index(name = "idx_outbox_status_event", columnList = "status, event_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Not a foreign key: the event may be deleted before the message is sent
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private String title;
+
+    private LocalDate date;
+
+    private LocalTime time;
+
+    private String location;
+
+    // Comma-separated names of the changed fields, for updates
+    @Column(name = "changed_fields")
+    private String changedFields;
+
+    // Fan-out progress, kept on the oldest pending row of an event, which is also the dispatcher's claim
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "coalesced_through_id")
+    private Long coalescedThroughId;
+
+    @Column(name = "recipient_cursor", nullable = false)
+    @Builder.Default
+    private Long recipientCursor = 0L;
+
+    @Column(name = "sent_count", nullable = false)
+    @Builder.Default
+    private Integer sentCount = 0;
+
+    // Participants at the time of a cancellation, copied with one INSERT ... SELECT before the event is deleted
+    @ElementCollection
+    @CollectionTable(name = "notification_outbox_recipients", joinColumns = @JoinColumn(name = "outbox_id"))
+    @Column(name = "user_id")
+    @Builder.Default
+    private Set<Long> recipientIds = new HashSet<>();
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,6 @@
+package com.project.enums;
+
+public enum NotificationType {
+    EVENT_UPDATED,
+    EVENT_CANCELLED;
+}
@@ -0,0 +1,7 @@
+package com.project.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    COALESCED;
+}
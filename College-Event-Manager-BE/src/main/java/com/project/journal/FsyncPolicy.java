@@ -0,0 +1,10 @@
+package com.project.journal;
+
+public enum FsyncPolicy {
+    // Leave flushing to the operating system; fastest, may lose the tail on power loss
+    NONE,
+    // Background thread forces the active segment every journal.fsync-interval-ms (group commit)
+    INTERVAL,
+    // The appending thread forces the segment after every journal.fsync-batch-size records
+    BATCH
+}
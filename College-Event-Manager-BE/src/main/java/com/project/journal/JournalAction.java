@@ -0,0 +1,27 @@
+package com.project.journal;
+
+public enum JournalAction {
+    REGISTER((byte) 1),
+    UNREGISTER((byte) 2),
+    CLOSE_REGISTRATION((byte) 3),
+    OPEN_REGISTRATION((byte) 4);
+
+    private final byte code;
+
+    JournalAction(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static JournalAction fromCode(byte code) {
+        for (JournalAction action : values()) {
+            if (action.code == code) {
+                return action;
+            }
+        }
+        return null;
+    }
+}
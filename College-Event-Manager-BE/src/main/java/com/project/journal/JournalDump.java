@@ -0,0 +1,31 @@
+package com.project.journal;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+// Prints journal records as tab-separated lines.
+// Usage: java -cp target/classes com.project.journal.JournalDump <journal-dir> [from-sequence]
+public class JournalDump {
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: JournalDump <journal-dir> [from-sequence]");
+            System.exit(1);
+        }
+
+        Path directory = Path.of(args[0]);
+        long fromSequence = args.length > 1 ? Long.parseLong(args[1]) : 1;
+
+        System.out.println("sequence\ttimestamp\taction\teventId\tuserId");
+        try (JournalReader reader = new JournalReader(directory, fromSequence)) {
+            while (reader.hasNext()) {
+                JournalRecord record = reader.next();
+                System.out.println(record.sequence() + "\t"
+                        + Instant.ofEpochMilli(record.timestamp()) + "\t"
+                        + record.action() + "\t"
+                        + record.eventId() + "\t"
+                        + record.userId());
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.project.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32C;
+
+// Sequential reader over the journal segments, starting at a given sequence number.
+// Stops at the first empty or torn slot, so it can safely follow a journal that is still being written.
+public class JournalReader implements Iterator<JournalRecord>, AutoCloseable {
+
+    private final List<Path> segmentPaths;
+    private final CRC32C crc = new CRC32C();
+    private int segmentIndex;
+    private JournalSegment segment;
+    private int slot;
+    private JournalRecord next;
+
+    public JournalReader(Path directory, long fromSequence) {
+        this(listSegments(directory), fromSequence);
+    }
+
+    JournalReader(List<Path> segmentPaths, long fromSequence) {
+        this.segmentPaths = segmentPaths;
+
+        // Start from the last segment whose base sequence is not past the requested one
+        segmentIndex = 0;
+        for (int i = 0; i < segmentPaths.size(); i++) {
+            if (JournalSegment.baseSequence(segmentPaths.get(i)) <= fromSequence) {
+                segmentIndex = i;
+            }
+        }
+        openSegment();
+        if (segment != null) {
+            slot = (int) Math.max(0, Math.min(fromSequence - segment.getBaseSequence(), segment.getCapacity()));
+        }
+        next = advance();
+    }
+
+    private static List<Path> listSegments(Path directory) {
+        try {
+            return JournalSegment.list(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public JournalRecord next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        JournalRecord current = next;
+        next = advance();
+        return current;
+    }
+
+    private JournalRecord advance() {
+        while (segment != null) {
+            if (slot < segment.getCapacity()) {
+                JournalRecord record = segment.read(slot, crc);
+                if (record != null) {
+                    slot++;
+                    return record;
+                }
+                // An unwritten slot is only the end of the journal if there is no later segment
+                if (segmentIndex == segmentPaths.size() - 1) {
+                    return null;
+                }
+            }
+            closeSegment();
+            segmentIndex++;
+            openSegment();
+            slot = 0;
+        }
+        return null;
+    }
+
+    private void openSegment() {
+        if (segmentIndex >= segmentPaths.size()) {
+            segment = null;
+            return;
+        }
+        try {
+            segment = JournalSegment.openForRead(segmentPaths.get(segmentIndex));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void closeSegment() {
+        try {
+            segment.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (segment != null) {
+            closeSegment();
+            segment = null;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.project.journal;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+// Fixed 40-byte layout:
+// [0] sequence (long) [8] timestamp millis (long) [16] eventId (long) [24] userId (long)
+// [32] action code (byte) [33] reserved (3 bytes) [36] CRC32C of bytes 0..35 (int)
+public record JournalRecord(long sequence, long timestamp, JournalAction action, long eventId, long userId) {
+
+    public static final int SIZE = 40;
+
+    private static final int CHECKSUMMED_BYTES = 36;
+
+    void writeTo(ByteBuffer buffer, int offset, CRC32C crc) {
+        buffer.putLong(offset, sequence);
+        buffer.putLong(offset + 8, timestamp);
+        buffer.putLong(offset + 16, eventId);
+        buffer.putLong(offset + 24, userId);
+        buffer.put(offset + 32, action.getCode());
+        buffer.put(offset + 33, (byte) 0);
+        buffer.putShort(offset + 34, (short) 0);
+        buffer.putInt(offset + 36, checksum(buffer, offset, crc));
+    }
+
+    // Returns null when the slot is empty or torn, which marks the end of the written data
+    static JournalRecord readFrom(ByteBuffer buffer, int offset, long expectedSequence, CRC32C crc) {
+        long sequence = buffer.getLong(offset);
+        if (sequence != expectedSequence || buffer.getInt(offset + 36) != checksum(buffer, offset, crc)) {
+            return null;
+        }
+        JournalAction action = JournalAction.fromCode(buffer.get(offset + 32));
+        if (action == null) {
+            return null;
+        }
+        return new JournalRecord(sequence, buffer.getLong(offset + 8), action,
+                buffer.getLong(offset + 16), buffer.getLong(offset + 24));
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, CRC32C crc) {
+        crc.reset();
+        crc.update(buffer.slice(offset, CHECKSUMMED_BYTES));
+        return (int) crc.getValue();
+    }
+}
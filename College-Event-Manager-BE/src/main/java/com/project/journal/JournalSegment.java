@@ -0,0 +1,123 @@
+package com.project.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// One fixed-size, memory-mapped journal file. The file name carries the sequence of its first record.
+class JournalSegment implements AutoCloseable {
+
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".seg";
+
+    private final Path path;
+    private final long baseSequence;
+    private final int capacity;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private JournalSegment(Path path, long baseSequence, int capacity, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.baseSequence = baseSequence;
+        this.capacity = capacity;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static JournalSegment openForWrite(Path directory, long baseSequence, int capacity) throws IOException {
+        Path path = directory.resolve(fileName(baseSequence));
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * JournalRecord.SIZE);
+        return new JournalSegment(path, baseSequence, capacity, channel, buffer);
+    }
+
+    static JournalSegment openForRead(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        int capacity = (int) (channel.size() / JournalRecord.SIZE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, (long) capacity * JournalRecord.SIZE);
+        return new JournalSegment(path, baseSequence(path), capacity, channel, buffer);
+    }
+
+    static List<Path> list(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    static long baseSequence(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static String fileName(long baseSequence) {
+        return String.format("%s%020d%s", PREFIX, baseSequence, SUFFIX);
+    }
+
+    // Number of valid records at the head of the segment; everything after the first bad slot is ignored
+    int recoverCount(CRC32C crc) {
+        int count = 0;
+        while (count < capacity && read(count, crc) != null) {
+            count++;
+        }
+        return count;
+    }
+
+    // Zeroes every written slot from the first bad one on; otherwise records that recovery discarded would
+    // reappear to readers once appends refill the slots before them. Mapped pages can reach the disk out of
+    // order, so a crash may leave records after a never-written slot too.
+    void clearFrom(int slot) {
+        for (int i = slot; i < capacity; i++) {
+            if (buffer.getLong(i * JournalRecord.SIZE) == 0 && buffer.getInt(i * JournalRecord.SIZE + 36) == 0) {
+                continue;
+            }
+            for (int b = 0; b < JournalRecord.SIZE; b += 8) {
+                buffer.putLong(i * JournalRecord.SIZE + b, 0);
+            }
+        }
+    }
+
+    void write(int slot, JournalRecord record, CRC32C crc) {
+        record.writeTo(buffer, slot * JournalRecord.SIZE, crc);
+    }
+
+    JournalRecord read(int slot, CRC32C crc) {
+        return JournalRecord.readFrom(buffer, slot * JournalRecord.SIZE, baseSequence + slot, crc);
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    long getBaseSequence() {
+        return baseSequence;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
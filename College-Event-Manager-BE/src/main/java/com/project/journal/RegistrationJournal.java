@@ -0,0 +1,199 @@
+package com.project.journal;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+// Append-only audit trail of registration actions, written to memory-mapped segment files.
+// An append is a handful of absolute puts under a short lock; durability is governed by journal.fsync-policy.
+@Component
+public class RegistrationJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationJournal.class);
+
+    @Value("${journal.enabled:true}")
+    private boolean enabled;
+
+    @Value("${journal.directory:./data/journal}")
+    private String directory;
+
+    @Value("${journal.segment-size-bytes:67108864}")
+    private long segmentSizeBytes;
+
+    @Value("${journal.fsync-policy:INTERVAL}")
+    private FsyncPolicy fsyncPolicy;
+
+    @Value("${journal.fsync-interval-ms:100}")
+    private long fsyncIntervalMs;
+
+    @Value("${journal.fsync-batch-size:256}")
+    private int fsyncBatchSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final CRC32C crc = new CRC32C();
+    private Path journalDirectory;
+    private JournalSegment active;
+    private int activeSlot;
+    private long nextSequence;
+    private int unflushed;
+    private boolean dirty;
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        journalDirectory = Path.of(directory);
+        Files.createDirectories(journalDirectory);
+        int capacity = (int) Math.max(1, segmentSizeBytes / JournalRecord.SIZE);
+
+        List<Path> segments = JournalSegment.list(journalDirectory);
+        if (segments.isEmpty()) {
+            active = JournalSegment.openForWrite(journalDirectory, 1, capacity);
+            activeSlot = 0;
+        } else {
+            Path last = segments.get(segments.size() - 1);
+            long base = JournalSegment.baseSequence(last);
+            // Reopen with the size the segment was created with, not the current setting
+            int existingCapacity = (int) (Files.size(last) / JournalRecord.SIZE);
+            active = JournalSegment.openForWrite(journalDirectory, base, existingCapacity);
+            activeSlot = active.recoverCount(crc);
+            active.clearFrom(activeSlot);
+        }
+        nextSequence = active.getBaseSequence() + activeSlot;
+        log.info("Registration journal opened at {} (next sequence {})", active.getPath(), nextSequence);
+
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "journal-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flush, fsyncIntervalMs, fsyncIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Journals the action once the surrounding transaction commits, so rolled-back actions never appear
+    public void appendAfterCommit(JournalAction action, long eventId, long userId) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(action, eventId, userId);
+                }
+            });
+        } else {
+            append(action, eventId, userId);
+        }
+    }
+
+    // Returns the sequence number assigned to the record, or -1 if the journal is disabled, closed or failed
+    public long append(JournalAction action, long eventId, long userId) {
+        if (!enabled) {
+            return -1;
+        }
+
+        lock.lock();
+        try {
+            // Closed during shutdown; commits still completing must not fail on the journal
+            if (active == null) {
+                log.warn("Registration journal is closed; {} for event {} was not journalled", action, eventId);
+                return -1;
+            }
+            if (activeSlot == active.getCapacity()) {
+                roll();
+            }
+            long sequence = nextSequence++;
+            active.write(activeSlot++, new JournalRecord(sequence, System.currentTimeMillis(), action, eventId, userId), crc);
+            dirty = true;
+
+            if (fsyncPolicy == FsyncPolicy.BATCH && ++unflushed >= fsyncBatchSize) {
+                active.force();
+                unflushed = 0;
+                dirty = false;
+            }
+            return sequence;
+        } catch (IOException e) {
+            // The journal is an audit trail; it must never fail the registration itself
+            log.error("Failed to append {} for event {} to registration journal", action, eventId, e);
+            return -1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void roll() throws IOException {
+        JournalSegment previous = active;
+        active = JournalSegment.openForWrite(journalDirectory, nextSequence, (int) Math.max(1, segmentSizeBytes / JournalRecord.SIZE));
+        activeSlot = 0;
+        previous.force();
+        previous.close();
+    }
+
+    // Forces everything appended so far to disk
+    public void flush() {
+        JournalSegment segment;
+        lock.lock();
+        try {
+            if (active == null || !dirty) {
+                return;
+            }
+            segment = active;
+            dirty = false;
+            unflushed = 0;
+        } finally {
+            lock.unlock();
+        }
+        // Forced outside the lock so appends are not stalled behind the disk
+        segment.force();
+    }
+
+    public JournalReader reader(long fromSequence) {
+        // Disabled: nothing was opened, so there is nothing to read
+        if (journalDirectory == null) {
+            return new JournalReader(List.of(), fromSequence);
+        }
+        return new JournalReader(journalDirectory, fromSequence);
+    }
+
+    public long getNextSequence() {
+        return nextSequence;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        lock.lock();
+        try {
+            if (active != null) {
+                active.force();
+                active.close();
+                active = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.project.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps 1 in N events at INFO and below for noisy logger categories; WARN and ERROR always pass.
+// Rules are "prefix:N" pairs, e.g. "org.hibernate.SQL:100,org.springframework.security:20"; the first
+// matching prefix wins. Sampling is counter based, so the kept share is exact rather than random.
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final List<Rule> rules = new ArrayList<>();
+
+    public void setRules(String spec) {
+        rules.clear();
+        if (spec == null || spec.isBlank()) {
+            return;
+        }
+        for (String part : spec.split(",")) {
+            int colon = part.lastIndexOf(':');
+            if (colon <= 0) {
+                addWarn("Ignoring sampling rule without ':N': " + part);
+                continue;
+            }
+            int oneIn = Integer.parseInt(part.substring(colon + 1).trim());
+            if (oneIn > 1) {
+                rules.add(new Rule(part.substring(0, colon).trim(), oneIn));
+            }
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format is null for isXxxEnabled() checks; only actual log calls consume a sampling slot
+        if (rules.isEmpty() || format == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        String name = logger.getName();
+        for (Rule rule : rules) {
+            if (name.startsWith(rule.prefix)) {
+                return rule.counter.getAndIncrement() % rule.oneIn == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    private static final class Rule {
+        private final String prefix;
+        private final int oneIn;
+        private final AtomicLong counter = new AtomicLong();
+
+        private Rule(String prefix, int oneIn) {
+            this.prefix = prefix;
+            this.oneIn = oneIn;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.project.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Low-cardinality tag values shared by the custom meters
+public final class MetricTags {
+
+    public static final String NONE = "none";
+
+    // Set by JwtAuthenticationFilter; read by filters that run outside the security context
+    public static final String ROLE_ATTRIBUTE = MetricTags.class.getName() + ".role";
+
+    private MetricTags() {
+    }
+
+    // Role of the authenticated caller without the ROLE_ prefix, or ANONYMOUS
+    public static String role() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return "ANONYMOUS";
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name != null && name.startsWith("ROLE_")) {
+                return name.substring(5);
+            }
+        }
+        return "ANONYMOUS";
+    }
+
+    // "GET /api/events/{id}" for the request being handled, or "none" outside a request (schedulers, workers)
+    public static String endpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return NONE;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // Unmatched URIs are not used as tag values, they would explode the series count
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN");
+    }
+}
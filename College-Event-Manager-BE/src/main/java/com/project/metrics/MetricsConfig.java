@@ -0,0 +1,58 @@
+package com.project.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.logging.CountingAsyncAppender;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+@Configuration
+public class MetricsConfig {
+
+    // Adds the caller's role to http.server.requests next to the built-in uri/method/status tags
+    @Bean
+    DefaultServerRequestObservationConvention roleTaggingObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                // The security context is already cleared when this observation stops
+                Object role = context.getCarrier().getAttribute(MetricTags.ROLE_ATTRIBUTE);
+                return super.getLowCardinalityKeyValues(context).and("role", role != null ? role.toString() : "ANONYMOUS");
+            }
+        };
+    }
+
+    // Replaces Boot's default JSON converter so response serialization shows up as the "serialize" phase
+    @Bean
+    MappingJackson2HttpMessageConverter timedJacksonConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                RequestTiming.enter(RequestTiming.Phase.SERIALIZE);
+                try {
+                    super.writeInternal(object, type, outputMessage);
+                } finally {
+                    RequestTiming.exit();
+                }
+            }
+        };
+    }
+
+    // Log events the async appender had to drop (prod logging pipeline, logback-spring.xml)
+    @Bean
+    MeterBinder droppedLogEventsMetrics() {
+        return registry -> FunctionCounter.builder("logging.events.dropped", CountingAsyncAppender.class,
+                        appender -> CountingAsyncAppender.droppedEvents())
+                .description("Log events dropped because the async logging queue was full")
+                .register(registry);
+    }
+}
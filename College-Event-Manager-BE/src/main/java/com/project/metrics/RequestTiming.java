@@ -0,0 +1,126 @@
+package com.project.metrics;
+
+// Exclusive wall-clock time per phase for the request on the current thread. Entering a phase pauses the
+// enclosing one, so DB time inside a service call is counted as "db" only and the phases add up to the total.
+// One small instance per sampled request, held in a ThreadLocal only until the request ends, so platform and
+// virtual threads alike keep nothing between requests; unsampled requests and phase switches allocate nothing.
+public final class RequestTiming {
+
+    public enum Phase {
+        // Everything not claimed by another phase: other filters, dispatch, controller code
+        FILTER("filter"),
+        AUTH("auth"),
+        SERVICE("service"),
+        DB("db"),
+        SERIALIZE("serialize");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final int MAX_DEPTH = 16;
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long[] nanos = new long[PHASES.length];
+    private final int[] stack = new int[MAX_DEPTH];
+    private int depth;
+    private int current;
+    private long mark;
+    private long startNanos;
+    private long totalNanos;
+    private boolean active;
+
+    private RequestTiming() {
+    }
+
+    static RequestTiming start() {
+        RequestTiming timing = new RequestTiming();
+        timing.current = Phase.FILTER.ordinal();
+        timing.startNanos = System.nanoTime();
+        timing.mark = timing.startNanos;
+        timing.active = true;
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    void stop() {
+        long now = System.nanoTime();
+        nanos[current] += now - mark;
+        totalNanos = now - startNanos;
+        active = false;
+        CURRENT.remove();
+    }
+
+    // Calls must be paired with exit(), normally in a finally block; no-ops when the request is not sampled
+    public static void enter(Phase phase) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null || !timing.active) {
+            return;
+        }
+        if (timing.depth < MAX_DEPTH) {
+            timing.stack[timing.depth] = timing.current;
+        }
+        timing.depth++;
+        timing.switchTo(phase.ordinal());
+    }
+
+    public static void exit() {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null || !timing.active || timing.depth == 0) {
+            return;
+        }
+        timing.depth--;
+        // Beyond MAX_DEPTH the enclosing phase is unknown; the innermost recorded one is close enough
+        timing.switchTo(timing.stack[Math.min(timing.depth, MAX_DEPTH - 1)]);
+    }
+
+    private void switchTo(int phase) {
+        long now = System.nanoTime();
+        nanos[current] += now - mark;
+        current = phase;
+        mark = now;
+    }
+
+    long nanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    long totalNanos() {
+        return totalNanos;
+    }
+
+    // e.g. "filter;dur=0.412, auth;dur=1.030, service;dur=3.207, db;dur=8.551, serialize;dur=0.960, total;dur=14.160"
+    String serverTimingHeader() {
+        StringBuilder header = new StringBuilder(128);
+        for (Phase phase : PHASES) {
+            appendMetric(header, phase.metricName(), nanos[phase.ordinal()]);
+        }
+        appendMetric(header, "total", totalNanos);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        long micros = nanos / 1000;
+        header.append(name).append(";dur=").append(micros / 1000).append('.');
+        long fraction = micros % 1000;
+        if (fraction < 100) {
+            header.append('0');
+        }
+        if (fraction < 10) {
+            header.append('0');
+        }
+        header.append(fraction);
+    }
+}
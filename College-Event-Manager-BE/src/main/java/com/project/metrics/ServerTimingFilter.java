@@ -0,0 +1,95 @@
+package com.project.metrics;
+
+import com.project.service.ImageStorageService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Splits sampled requests into filter/auth/service/db/serialize time (see RequestTiming), records each phase
+// as "http.server.phases" and, with server-timing.header, returns the breakdown as a Server-Timing header.
+// server-timing.sample-rate keeps the overhead bounded so the metrics can stay on in production. The header
+// means buffering the whole body of every sampled response, so it is off unless the dev or test profile is on.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@ConditionalOnProperty(name = "server-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${server-timing.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Value("${server-timing.header:false}")
+    private boolean header;
+
+    public ServerTimingFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // The header has to go out before the body, so the body is buffered; image bodies are streamed
+        // with sendfile and are not worth holding in memory for a header
+        ContentCachingResponseWrapper cachingResponse = header && !isImageRequest(request)
+                ? new ContentCachingResponseWrapper(response) : null;
+        RequestTiming timing = RequestTiming.start();
+        try {
+            filterChain.doFilter(request, cachingResponse != null ? cachingResponse : response);
+        } finally {
+            timing.stop();
+            record(timing, request);
+
+            if (cachingResponse != null) {
+                cachingResponse.setHeader(HEADER, timing.serverTimingHeader());
+                cachingResponse.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(RequestTiming timing, HttpServletRequest request) {
+        String endpoint = endpoint(request);
+        for (RequestTiming.Phase phase : RequestTiming.Phase.values()) {
+            Timer.builder("http.server.phases")
+                    .tag("phase", phase.metricName())
+                    .tag("uri", endpoint)
+                    .register(meterRegistry)
+                    .record(timing.nanos(phase), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean isImageRequest(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(ImageStorageService.URL_PREFIX);
+    }
+
+    private String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN");
+    }
+}
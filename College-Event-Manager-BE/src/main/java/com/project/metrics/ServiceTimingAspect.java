@@ -0,0 +1,44 @@
+package com.project.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// Times every public EventService and UserService method as "service.method",
+// tagged with the calling endpoint and role so registration-rush latency can be attributed.
+// Percentiles and histogram buckets are configured under management.metrics.distribution.*.service.method
+@Aspect
+@Component
+public class ServiceTimingAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    public ServiceTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.project.service.EventService.*(..)) || execution(public * com.project.service.UserService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = MetricTags.NONE;
+        RequestTiming.enter(RequestTiming.Phase.SERVICE);
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            exception = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            RequestTiming.exit();
+            sample.stop(Timer.builder("service.method")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("endpoint", MetricTags.endpoint())
+                    .tag("role", MetricTags.role())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
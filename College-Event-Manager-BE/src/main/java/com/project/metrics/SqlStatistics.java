@@ -0,0 +1,133 @@
+package com.project.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// JDBC work done by the current thread between start() and stop(): statements, rows updated (and read, with
+// sql.stats.count-rows-read) and time spent inside the driver. Filled in by SqlStatisticsListener; one
+// instance per HTTP request.
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final int repeatThreshold;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+    private long queryStartNanos;
+    private String repeatedSql;
+    private int repeatedCount;
+    private String repeatedCallSite;
+
+    private SqlStatistics(int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    public static SqlStatistics start(int repeatThreshold) {
+        SqlStatistics statistics = new SqlStatistics(repeatThreshold);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static SqlStatistics stop() {
+        SqlStatistics statistics = CURRENT.get();
+        CURRENT.remove();
+        return statistics;
+    }
+
+    static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    // Runs the action with fresh statistics on this thread and returns them; intended for tests
+    public static SqlStatistics measure(Runnable action) {
+        return measure(() -> {
+            action.run();
+            return null;
+        }).statistics;
+    }
+
+    public static <T> Measured<T> measure(Supplier<T> action) {
+        SqlStatistics previous = CURRENT.get();
+        SqlStatistics statistics = start(Integer.MAX_VALUE);
+        try {
+            return new Measured<>(action.get(), statistics);
+        } finally {
+            CURRENT.set(previous);
+            if (previous == null) {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    void beforeStatement() {
+        queryStartNanos = System.nanoTime();
+    }
+
+    void afterStatement(String sql, int updatedRows) {
+        jdbcNanos += System.nanoTime() - queryStartNanos;
+        statements++;
+        if (updatedRows > 0) {
+            rows += updatedRows;
+        }
+
+        // The same statement text over and over in one request is the signature of an N+1 load
+        int count = executionsBySql.merge(sql, 1, Integer::sum);
+        if (count > repeatedCount) {
+            repeatedCount = count;
+            if (count == repeatThreshold || !sql.equals(repeatedSql)) {
+                repeatedSql = sql;
+                if (count >= repeatThreshold) {
+                    repeatedCallSite = callSite();
+                }
+            }
+        }
+    }
+
+    void rowRead() {
+        rows++;
+    }
+
+    // First application frame outside this package, e.g. EventService.convertToDto(EventService.java:231)
+    private static String callSite() {
+        Optional<StackWalker.StackFrame> frame = STACK_WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith("com.project.")
+                        && !f.getClassName().startsWith("com.project.metrics."))
+                .findFirst());
+        return frame.map(f -> f.getClassName() + "." + f.getMethodName() + "(" + f.getFileName() + ":" + f.getLineNumber() + ")")
+                .orElse("unknown");
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public String getMostRepeatedSql() {
+        return repeatedSql;
+    }
+
+    public int getMostRepeatedCount() {
+        return repeatedCount;
+    }
+
+    // Where the most repeated statement crossed the repeat threshold, or null if it never did
+    public String getRepeatedCallSite() {
+        return repeatedCallSite;
+    }
+
+    public record Measured<T>(T result, SqlStatistics statistics) {
+    }
+}
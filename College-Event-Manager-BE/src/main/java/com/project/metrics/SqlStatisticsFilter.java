@@ -0,0 +1,109 @@
+package com.project.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Counts the SQL each HTTP request issues. Always recorded as metrics; with sql.stats.response-headers
+// (dev and test profiles) also returned as X-Sql-* headers. Requests over sql.stats.warn-threshold
+// statements, or repeating one statement sql.stats.repeat-threshold times, are logged with the call site.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "sql.stats.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String ROWS_HEADER = "X-Sql-Rows";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatisticsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${sql.stats.response-headers:false}")
+    private boolean responseHeaders;
+
+    @Value("${sql.stats.warn-threshold:20}")
+    private int warnThreshold;
+
+    @Value("${sql.stats.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    public SqlStatisticsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        // Headers have to be set before the body is committed, so buffer the body only when they are wanted
+        ContentCachingResponseWrapper cachingResponse = responseHeaders ? new ContentCachingResponseWrapper(response) : null;
+        SqlStatistics statistics = SqlStatistics.start(repeatThreshold);
+        try {
+            filterChain.doFilter(request, cachingResponse != null ? cachingResponse : response);
+        } finally {
+            SqlStatistics.stop();
+            String endpoint = endpoint(request);
+            record(statistics, endpoint);
+
+            if (cachingResponse != null) {
+                cachingResponse.setHeader(STATEMENTS_HEADER, String.valueOf(statistics.getStatements()));
+                cachingResponse.setHeader(ROWS_HEADER, String.valueOf(statistics.getRows()));
+                cachingResponse.setHeader(TIME_HEADER, String.format("%.3f", statistics.getJdbcNanos() / 1_000_000.0));
+                cachingResponse.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(SqlStatistics statistics, String endpoint) {
+        DistributionSummary.builder("http.server.sql.statements")
+                .tag("uri", endpoint)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        DistributionSummary.builder("http.server.sql.rows")
+                .tag("uri", endpoint)
+                .register(meterRegistry)
+                .record(statistics.getRows());
+        Timer.builder("http.server.sql.time")
+                .tag("uri", endpoint)
+                .register(meterRegistry)
+                .record(statistics.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        boolean tooMany = statistics.getStatements() > warnThreshold;
+        boolean repeated = statistics.getRepeatedCallSite() != null;
+        if (tooMany || repeated) {
+            log.warn("{} issued {} SQL statements ({} rows, {} ms in JDBC); most repeated ({}x) from {}: {}",
+                    endpoint, statistics.getStatements(), statistics.getRows(),
+                    TimeUnit.NANOSECONDS.toMillis(statistics.getJdbcNanos()),
+                    statistics.getMostRepeatedCount(),
+                    repeated ? statistics.getRepeatedCallSite() : "n/a",
+                    statistics.getMostRepeatedSql());
+        }
+    }
+
+    private String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN");
+    }
+}
@@ -0,0 +1,56 @@
+package com.project.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Stand-in for a mail server in development and tests: every message a participant would receive is
+// appended as one JSON line to notifications.jsonl under notifications.directory
+@Component
+@ConditionalOnProperty(name = "notifications.channel", havingValue = "file", matchIfMissing = true)
+public class FileNotificationChannel implements NotificationChannel {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${notifications.directory:./data/notifications}")
+    private String directory;
+
+    public FileNotificationChannel(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public synchronized void send(Notification notification, List<Recipient> recipients) throws IOException {
+        Path dir = Path.of(directory);
+        Files.createDirectories(dir);
+        try (Writer writer = Files.newBufferedWriter(dir.resolve("notifications.jsonl"), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Recipient recipient : recipients) {
+                Map<String, Object> line = new LinkedHashMap<>();
+                line.put("to", recipient.getEmail());
+                line.put("subject", notification.subject());
+                line.put("type", notification.getType());
+                line.put("eventId", notification.getEventId());
+                line.put("text", notification.text(recipient.getName()));
+                writer.write(objectMapper.writeValueAsString(line));
+                writer.write('\n');
+            }
+        }
+    }
+}
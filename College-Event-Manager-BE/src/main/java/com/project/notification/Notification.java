@@ -0,0 +1,47 @@
+package com.project.notification;
+
+import com.project.enums.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+// What participants are told about one event change; the same content goes to every recipient batch
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Notification {
+
+    private NotificationType type;
+    private Long eventId;
+    private String title;
+    private LocalDate date;
+    private LocalTime time;
+    private String location;
+    private List<String> changedFields;
+
+    public String subject() {
+        return (type == NotificationType.EVENT_CANCELLED ? "Event cancelled: " : "Event updated: ") + title;
+    }
+
+    // A null name gives the generic greeting used when one message goes to many recipients
+    public String text(String recipientName) {
+        StringBuilder text = new StringBuilder("Hi ")
+                .append(recipientName != null ? recipientName : "there")
+                .append(",\n\n");
+        if (type == NotificationType.EVENT_CANCELLED) {
+            text.append(title).append(" on ").append(date).append(" at ").append(location)
+                    .append(" has been cancelled. Your registration has been removed.\n");
+        } else {
+            text.append(title).append(" has been updated (").append(String.join(", ", changedFields)).append(").\n\n")
+                    .append("When: ").append(date).append(' ').append(time).append('\n')
+                    .append("Where: ").append(location).append('\n');
+        }
+        return text.toString();
+    }
+}
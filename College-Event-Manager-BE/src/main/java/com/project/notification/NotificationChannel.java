@@ -0,0 +1,13 @@
+package com.project.notification;
+
+import java.io.IOException;
+import java.util.List;
+
+// Delivery mechanism behind NotificationDispatcher, chosen with notifications.channel. A send either
+// delivers the whole batch or throws, in which case the dispatcher retries the batch later.
+public interface NotificationChannel {
+
+    String name();
+
+    void send(Notification notification, List<Recipient> recipients) throws IOException;
+}
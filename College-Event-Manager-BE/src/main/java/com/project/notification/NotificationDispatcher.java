@@ -0,0 +1,258 @@
+package com.project.notification;
+
+import com.project.entity.OutboxMessage;
+import com.project.enums.NotificationType;
+import com.project.enums.OutboxStatus;
+import com.project.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drains the notification outbox on a single background thread. Pending messages are handled per event:
+// once an event has had no new change for coalesce-window-ms (or its oldest message is max-delay-ms old),
+// all of its pending messages collapse into one notification, a cancellation taking precedence over
+// updates. Recipients are read from event_participants in id-ordered batches of batch-size, each batch
+// is one channel send, and sends are paced to rate-per-second. Progress is saved after every batch on
+// the oldest pending row, which also carries a lease, so after a crash or a failed send the fan-out
+// resumes where it stopped instead of notifying everyone twice, and two instances never send the same event.
+@Component
+@ConditionalOnProperty(name = "notifications.enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationDispatcher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private final OutboxMessageRepository outboxRepository;
+    private final NotificationChannel channel;
+    private final MeterRegistry meterRegistry;
+    private final Counter coalesced;
+    private final Counter failures;
+    private final Timer lag;
+    private final AtomicLong pending = new AtomicLong();
+
+    @Value("${notifications.batch-size:200}")
+    private int batchSize;
+
+    @Value("${notifications.rate-per-second:50}")
+    private double ratePerSecond;
+
+    @Value("${notifications.coalesce-window-ms:30000}")
+    private long coalesceWindowMs;
+
+    @Value("${notifications.max-delay-ms:300000}")
+    private long maxDelayMs;
+
+    @Value("${notifications.poll-ms:2000}")
+    private long pollMs;
+
+    // Must exceed batch-size / rate-per-second, or the lease lapses while the dispatcher waits to send
+    @Value("${notifications.lease-seconds:60}")
+    private long leaseSeconds;
+
+    @Value("${notifications.retention-days:7}")
+    private long retentionDays;
+
+    private ScheduledExecutorService scheduler;
+    private long nextSendNanos;
+    private long nextPurgeMillis;
+
+    public NotificationDispatcher(OutboxMessageRepository outboxRepository, NotificationChannel channel,
+                                  MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.channel = channel;
+        this.meterRegistry = meterRegistry;
+        this.coalesced = Counter.builder("notifications.coalesced")
+                .description("Outbox messages folded into a later notification for the same event")
+                .register(meterRegistry);
+        this.failures = Counter.builder("notifications.failures")
+                .description("Recipient batches the channel failed to send")
+                .tag("channel", channel.name())
+                .register(meterRegistry);
+        this.lag = Timer.builder("notifications.lag")
+                .description("Time from the first change of an event to the end of its notification fan-out")
+                .register(meterRegistry);
+        meterRegistry.gauge("notifications.outbox.pending", pending);
+    }
+
+    // A lifecycle start rather than @PostConstruct, so the first poll never runs while the context is still refreshing
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "notification-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::pollSafely, pollMs, pollMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            // Interrupts the pacing sleep; the current fan-out resumes from its saved cursor on the next start
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            // An exception escaping a scheduled task would cancel all of its future runs
+            log.error("Notification dispatch failed", e);
+        }
+    }
+
+    void poll() {
+        pending.set(outboxRepository.countByStatus(OutboxStatus.PENDING));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime settledBefore = now.minus(Duration.ofMillis(coalesceWindowMs));
+        LocalDateTime overdueBefore = now.minus(Duration.ofMillis(maxDelayMs));
+
+        for (Object[] row : outboxRepository.findPendingEvents(Limit.of(100))) {
+            LocalDateTime oldest = (LocalDateTime) row[2];
+            LocalDateTime newest = (LocalDateTime) row[3];
+            if (newest.isBefore(settledBefore) || oldest.isBefore(overdueBefore)) {
+                dispatch((Long) row[0], (Long) row[1]);
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+
+        if (System.currentTimeMillis() >= nextPurgeMillis) {
+            nextPurgeMillis = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+            LocalDateTime before = now.minusDays(retentionDays);
+            outboxRepository.purgeDispatchedRecipients(before);
+            outboxRepository.purgeDispatched(before);
+        }
+    }
+
+    private void dispatch(Long eventId, Long leadId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (outboxRepository.claim(leadId, now, now.plusSeconds(leaseSeconds)) == 0) {
+            return;
+        }
+        OutboxMessage lead = outboxRepository.findById(leadId).orElse(null);
+        if (lead == null) {
+            return;
+        }
+
+        // A resumed fan-out keeps the set of messages it started with; later changes go out separately
+        Long throughId = lead.getCoalescedThroughId() != null
+                ? lead.getCoalescedThroughId()
+                : outboxRepository.findMaxPendingId(eventId);
+        List<OutboxMessage> messages = outboxRepository.findByEventIdAndStatusAndIdLessThanEqualOrderByIdAsc(
+                eventId, OutboxStatus.PENDING, throughId);
+        OutboxMessage chosen = messages.stream()
+                .filter(message -> message.getType() == NotificationType.EVENT_CANCELLED)
+                .findFirst()
+                .orElse(messages.get(messages.size() - 1));
+        Notification notification = toNotification(chosen, messages);
+        Counter sentCounter = meterRegistry.counter("notifications.sent",
+                "channel", channel.name(), "type", chosen.getType().name());
+
+        long cursor = lead.getRecipientCursor();
+        int sent = lead.getSentCount();
+        while (true) {
+            List<Object[]> rows = chosen.getType() == NotificationType.EVENT_CANCELLED
+                    ? outboxRepository.findCancellationRecipientsAfter(chosen.getId(), cursor, batchSize)
+                    : outboxRepository.findParticipantsAfter(eventId, cursor, batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            List<Recipient> recipients = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                recipients.add(new Recipient(((Number) row[0]).longValue(), (String) row[1], (String) row[2]));
+            }
+            try {
+                channel.send(notification, recipients);
+            } catch (IOException | RuntimeException e) {
+                failures.increment();
+                log.warn("Sending notification for event {} failed after {} recipients; "
+                        + "retrying once the lease expires", eventId, sent, e);
+                return;
+            }
+
+            cursor = recipients.get(recipients.size() - 1).getUserId();
+            sent += recipients.size();
+            sentCounter.increment(recipients.size());
+            outboxRepository.recordProgress(leadId, throughId, cursor, sent,
+                    LocalDateTime.now().plusSeconds(leaseSeconds));
+
+            if (!pace(recipients.size()) || rows.size() < batchSize) {
+                break;
+            }
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            return;
+        }
+
+        int dispatched = outboxRepository.markDispatched(eventId, throughId, chosen.getId(), LocalDateTime.now());
+        coalesced.increment(Math.max(0, dispatched - 1));
+        lag.record(Duration.between(messages.get(0).getCreatedAt(), LocalDateTime.now()));
+        log.info("Notified {} participants of {} for event {} ({} outbox messages)",
+                sent, chosen.getType(), eventId, dispatched);
+    }
+
+    // Spreads sends to rate-per-second on average; idle time does not build up into a later burst
+    private boolean pace(int sent) {
+        long now = System.nanoTime();
+        nextSendNanos = Math.max(nextSendNanos, now) + (long) (sent * 1_000_000_000L / ratePerSecond);
+        long waitNanos = nextSendNanos - now;
+        if (waitNanos <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Updates report every field changed across the coalesced messages, with the latest event details
+    private static Notification toNotification(OutboxMessage chosen, List<OutboxMessage> messages) {
+        Set<String> changedFields = new LinkedHashSet<>();
+        for (OutboxMessage message : messages) {
+            if (message.getChangedFields() != null) {
+                changedFields.addAll(Arrays.asList(message.getChangedFields().split(",")));
+            }
+        }
+        return Notification.builder()
+                .type(chosen.getType())
+                .eventId(chosen.getEventId())
+                .title(chosen.getTitle())
+                .date(chosen.getDate())
+                .time(chosen.getTime())
+                .location(chosen.getLocation())
+                .changedFields(new ArrayList<>(changedFields))
+                .build();
+    }
+}
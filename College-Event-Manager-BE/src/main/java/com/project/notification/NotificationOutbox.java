@@ -0,0 +1,57 @@
+package com.project.notification;
+
+import com.project.entity.Event;
+import com.project.entity.OutboxMessage;
+import com.project.enums.NotificationType;
+import com.project.repository.OutboxMessageRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Write side of the notification outbox. Messages are inserted in the transaction of the event change,
+// so a rolled-back change never notifies and a committed one always does; NotificationDispatcher
+// sends them afterwards, keeping the fan-out out of the organizer's request.
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class NotificationOutbox {
+
+    private final OutboxMessageRepository outboxRepository;
+
+    @Value("${notifications.enabled:true}")
+    private boolean enabled;
+
+    public NotificationOutbox(OutboxMessageRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    public void eventUpdated(Event event, List<String> changedFields) {
+        if (!enabled || changedFields.isEmpty()) {
+            return;
+        }
+        outboxRepository.save(snapshot(event, NotificationType.EVENT_UPDATED)
+                .changedFields(String.join(",", changedFields))
+                .build());
+    }
+
+    // Must run before the event is deleted, while its participant rows still exist
+    public void eventCancelled(Event event) {
+        if (!enabled) {
+            return;
+        }
+        OutboxMessage message = outboxRepository.save(snapshot(event, NotificationType.EVENT_CANCELLED).build());
+        outboxRepository.copyParticipants(message.getId(), event.getId());
+    }
+
+    private static OutboxMessage.OutboxMessageBuilder snapshot(Event event, NotificationType type) {
+        return OutboxMessage.builder()
+                .eventId(event.getId())
+                .type(type)
+                .title(event.getTitle())
+                .date(event.getDate())
+                .time(event.getTime())
+                .location(event.getLocation());
+    }
+}
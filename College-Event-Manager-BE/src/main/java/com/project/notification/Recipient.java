@@ -0,0 +1,15 @@
+package com.project.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Recipient {
+
+    private Long userId;
+    private String email;
+    private String name;
+}
@@ -0,0 +1,41 @@
+package com.project.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Sends each batch as a single message with the recipients in Bcc, so a batch costs one SMTP
+// transaction. Needs spring.mail.host; a local catcher such as MailHog (port 1025) works for testing.
+@Component
+@ConditionalOnProperty(name = "notifications.channel", havingValue = "smtp")
+public class SmtpNotificationChannel implements NotificationChannel {
+
+    private final JavaMailSender mailSender;
+
+    @Value("${notifications.smtp.from:no-reply@college-events.local}")
+    private String from;
+
+    public SmtpNotificationChannel(JavaMailSender mailSender) {
+        this.mailSender = mailSender;
+    }
+
+    @Override
+    public String name() {
+        return "smtp";
+    }
+
+    @Override
+    public void send(Notification notification, List<Recipient> recipients) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(from);
+        message.setBcc(recipients.stream().map(Recipient::getEmail).toArray(String[]::new));
+        message.setSubject(notification.subject());
+        message.setText(notification.text(null));
+        mailSender.send(message);
+    }
+}
@@ -0,0 +1,191 @@
+package com.project.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.config.SecurityConfig;
+import com.project.security.JwtTokenProvider;
+import com.project.service.ImageVariantService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+// Second, non-blocking HTTP server for the hot read paths of event browsing: list, detail and search.
+// It runs on Reactor Netty next to Tomcat and reads through its own R2DBC pool, so a waiting request
+// holds neither a thread nor a connection: rows are fetched, the connection goes back to the pool, and
+// the response is written as fast as the client drains it. The JSON is the same EventDto as /api/events.
+// The pool is deliberately not a bean: a ConnectionFactory bean would make Boot back off the JDBC DataSource.
+@Component
+@ConditionalOnProperty(name = "reactive-api.enabled", havingValue = "true")
+public class ReactiveApiServer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveApiServer.class);
+
+    private final JwtTokenProvider tokenProvider;
+    private final ImageVariantService imageVariantService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final SeatCountBroadcaster seatCountBroadcaster;
+
+    @Value("${reactive-api.port:8082}")
+    private int port;
+
+    @Value("${reactive-api.r2dbc-url}")
+    private String r2dbcUrl;
+
+    @Value("${reactive-api.username:${spring.datasource.username:}}")
+    private String username;
+
+    @Value("${reactive-api.password:${spring.datasource.password:}}")
+    private String password;
+
+    @Value("${reactive-api.pool.initial-size:2}")
+    private int poolInitialSize;
+
+    @Value("${reactive-api.pool.max-size:10}")
+    private int poolMaxSize;
+
+    @Value("${reactive-api.pool.max-acquire-time-ms:5000}")
+    private long poolMaxAcquireTimeMs;
+
+    // 0 means one event loop per core
+    @Value("${reactive-api.event-loop-threads:0}")
+    private int eventLoopThreads;
+
+    private ConnectionPool pool;
+    private LoopResources loops;
+    private DisposableServer server;
+
+    public ReactiveApiServer(JwtTokenProvider tokenProvider, ImageVariantService imageVariantService,
+                             ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                             SeatCountBroadcaster seatCountBroadcaster) {
+        this.tokenProvider = tokenProvider;
+        this.imageVariantService = imageVariantService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.seatCountBroadcaster = seatCountBroadcaster;
+    }
+
+    @Override
+    public void start() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(r2dbcUrl).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive-api")
+                .initialSize(poolInitialSize)
+                .maxSize(poolMaxSize)
+                .maxAcquireTime(Duration.ofMillis(poolMaxAcquireTimeMs))
+                .build());
+        registerPoolGauge("r2dbc.pool.acquired", PoolMetrics::acquiredSize);
+        registerPoolGauge("r2dbc.pool.allocated", PoolMetrics::allocatedSize);
+        registerPoolGauge("r2dbc.pool.idle", PoolMetrics::idleSize);
+        registerPoolGauge("r2dbc.pool.pending", PoolMetrics::pendingAcquireSize);
+
+        ReactiveEventHandler handler = new ReactiveEventHandler(
+                new ReactiveEventRepository(DatabaseClient.create(pool), imageVariantService), tokenProvider,
+                seatCountBroadcaster);
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(handler.routes(), HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(
+                            new Jackson2JsonEncoder(objectMapper, MediaType.APPLICATION_JSON));
+                    codecs.defaultCodecs().jackson2JsonDecoder(
+                            new Jackson2JsonDecoder(objectMapper, MediaType.APPLICATION_JSON));
+                })
+                .webFilter(timingFilter())
+                .webFilter(new CorsWebFilter(corsConfigurationSource()))
+                .build());
+
+        int threads = eventLoopThreads > 0 ? eventLoopThreads : Runtime.getRuntime().availableProcessors();
+        loops = LoopResources.create("reactive-api", threads, true);
+        server = HttpServer.create()
+                .port(port)
+                .runOn(loops)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Reactive read API listening on port {} ({} event loop threads, R2DBC pool of {})",
+                server.port(), threads, poolMaxSize);
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.disposeNow();
+            server = null;
+        }
+        if (pool != null) {
+            pool.dispose();
+        }
+        if (loops != null) {
+            loops.dispose();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    // The bound port, which differs from reactive-api.port when that is 0
+    public int getPort() {
+        return server.port();
+    }
+
+    // Recorded when the response completes, so the time includes the query and the body write
+    private WebFilter timingFilter() {
+        return (exchange, chain) -> {
+            long start = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> {
+                PathPattern pattern = exchange.getAttribute(RouterFunctions.MATCHING_PATTERN_ATTRIBUTE);
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                Timer.builder("reactive.api.requests")
+                        .tag("uri", pattern != null ? pattern.getPatternString() : "UNKNOWN")
+                        .tag("status", status != null ? String.valueOf(status.value()) : "200")
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            });
+        };
+    }
+
+    static UrlBasedCorsConfigurationSource corsConfigurationSource() {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", SecurityConfig.corsConfiguration());
+        return source;
+    }
+
+    private void registerPoolGauge(String name, ToIntFunction<PoolMetrics> value) {
+        Gauge.builder(name, pool, p -> p.getMetrics().map(value::applyAsInt).orElse(0))
+                .tag("name", "reactive-api")
+                .register(meterRegistry);
+    }
+}
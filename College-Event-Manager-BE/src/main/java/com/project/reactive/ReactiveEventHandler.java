@@ -0,0 +1,119 @@
+package com.project.reactive;
+
+import com.project.dto.EventDto;
+import com.project.security.JwtTokenProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Routes of the reactive read API. Paths, authentication and error bodies mirror the servlet endpoints
+// in EventController and GlobalExceptionHandler, so a client can switch base URL without other changes.
+class ReactiveEventHandler {
+
+    private final ReactiveEventRepository repository;
+    private final JwtTokenProvider tokenProvider;
+    private final SeatCountBroadcaster seatCounts;
+
+    ReactiveEventHandler(ReactiveEventRepository repository, JwtTokenProvider tokenProvider,
+                         SeatCountBroadcaster seatCounts) {
+        this.repository = repository;
+        this.tokenProvider = tokenProvider;
+        this.seatCounts = seatCounts;
+    }
+
+    RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/api/events/stream", this::stream)
+                .GET("/api/events/search", this::search)
+                .GET("/api/events/{id:\\d+}", this::getById)
+                .GET("/api/events", this::list)
+                .filter((request, next) -> authenticate(request)
+                        .flatMap(ok -> ok ? next.handle(request) : unauthorized()))
+                .build();
+    }
+
+    private Mono<ServerResponse> list(ServerRequest request) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(repository.findAll(), EventDto.class);
+    }
+
+    private Mono<ServerResponse> getById(ServerRequest request) {
+        long id = Long.parseLong(request.pathVariable("id"));
+        return repository.findById(id)
+                .flatMap(event -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(event))
+                .switchIfEmpty(badRequest("Event not found"));
+    }
+
+    private Mono<ServerResponse> search(ServerRequest request) {
+        Optional<String> term = request.queryParam("q");
+        if (term.isEmpty()) {
+            return badRequest("Required parameter 'q' is missing");
+        }
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(repository.search(term.get()), EventDto.class);
+    }
+
+    // Server-sent events: a "snapshot" with the current seats of the matching events, then "seats" deltas.
+    // ?eventIds=1,2 and ?department=A,B narrow the stream; an event matching either is included.
+    private Mono<ServerResponse> stream(ServerRequest request) {
+        if (seatCounts.isFull()) {
+            return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+        }
+        Set<Long> eventIds;
+        try {
+            eventIds = csv(request, "eventIds").stream().map(Long::valueOf).collect(Collectors.toSet());
+        } catch (NumberFormatException e) {
+            return badRequest("eventIds must be a comma-separated list of event ids");
+        }
+        Set<String> departments = csv(request, "department");
+        return ServerResponse.ok().contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(BodyInserters.fromServerSentEvents(
+                        seatCounts.subscribe(eventIds, departments, repository.findSeatCounts(eventIds, departments))));
+    }
+
+    private static Set<String> csv(ServerRequest request, String name) {
+        return request.queryParams().getOrDefault(name, List.of()).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    // Same checks as JwtAuthenticationFilter: a valid token whose user still exists and is active
+    private Mono<Boolean> authenticate(ServerRequest request) {
+        String header = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        String token = header != null && header.startsWith("Bearer ") ? header.substring(7) : null;
+        // EventSource cannot set headers, so the stream also takes the token as a query parameter
+        if (token == null && request.path().equals("/api/events/stream")) {
+            token = request.queryParam("access_token").orElse(null);
+        }
+        if (token == null) {
+            return Mono.just(false);
+        }
+        String email = tokenProvider.getEmailIfValid(token);
+        return email == null ? Mono.just(false) : repository.isActiveUser(email);
+    }
+
+    private static Mono<ServerResponse> badRequest(String message) {
+        return ServerResponse.badRequest().contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("error", "Runtime Exception", "message", message));
+    }
+
+    private static Mono<ServerResponse> unauthorized() {
+        return ServerResponse.status(HttpStatus.UNAUTHORIZED).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("error", "Unauthorized",
+                        "message", "Access denied. Please provide valid authentication."));
+    }
+}
@@ -0,0 +1,155 @@
+package com.project.reactive;
+
+import com.project.dto.EventDto;
+import com.project.dto.SeatCount;
+import com.project.entity.Event;
+import com.project.service.EventService;
+import com.project.service.ImageVariantService;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Event reads over R2DBC against the tables JPA maps, producing the same EventDto as EventService.
+// Participants come from one extra query per call rather than one per event.
+class ReactiveEventRepository {
+
+    private static final String SELECT_EVENTS = "SELECT e.id, e.title, e.description, e.date, e.time, "
+            + "e.department, e.location, e.duration_minutes, e.max_participants, e.current_participants, e.image, "
+            + "e.registration_closed, e.registration_opens_at, e.created_at, e.updated_at, u.email AS created_by "
+            + "FROM events e JOIN users u ON u.id = e.created_by";
+
+    private static final String SELECT_PARTICIPANTS = "SELECT ep.event_id, u.email "
+            + "FROM event_participants ep JOIN users u ON u.id = ep.user_id";
+
+    private final DatabaseClient databaseClient;
+    private final ImageVariantService imageVariantService;
+
+    ReactiveEventRepository(DatabaseClient databaseClient, ImageVariantService imageVariantService) {
+        this.databaseClient = databaseClient;
+        this.imageVariantService = imageVariantService;
+    }
+
+    Flux<EventDto> findAll() {
+        return databaseClient.sql(SELECT_EVENTS)
+                .map(this::toDto)
+                .all()
+                .collectList()
+                .flatMapMany(events -> withParticipants(events, databaseClient.sql(SELECT_PARTICIPANTS)));
+    }
+
+    Mono<EventDto> findById(long id) {
+        return databaseClient.sql(SELECT_EVENTS + " WHERE e.id = :id")
+                .bind("id", id)
+                .map(this::toDto)
+                .one()
+                .flatMap(event -> withParticipants(List.of(event), databaseClient
+                        .sql(SELECT_PARTICIPANTS + " WHERE ep.event_id = :id")
+                        .bind("id", id))
+                        .next());
+    }
+
+    // Same matching as EventRepository.findByTitleOrDescriptionContaining, wildcards in the term included
+    Flux<EventDto> search(String term) {
+        return databaseClient.sql(SELECT_EVENTS + " WHERE e.title LIKE :pattern OR e.description LIKE :pattern")
+                .bind("pattern", "%" + term + "%")
+                .map(this::toDto)
+                .all()
+                .collectList()
+                .flatMapMany(events -> {
+                    if (events.isEmpty()) {
+                        return Flux.empty();
+                    }
+                    List<Long> ids = events.stream().map(EventDto::getId).collect(Collectors.toList());
+                    return withParticipants(events, databaseClient
+                            .sql(SELECT_PARTICIPANTS + " WHERE ep.event_id IN (:ids)")
+                            .bind("ids", ids));
+                });
+    }
+
+    // Matches events in eventIds or in departments; all events when both are empty
+    Flux<SeatCount> findSeatCounts(Set<Long> eventIds, Set<String> departments) {
+        List<String> conditions = new ArrayList<>();
+        if (!eventIds.isEmpty()) {
+            conditions.add("id IN (:ids)");
+        }
+        if (!departments.isEmpty()) {
+            conditions.add("department IN (:departments)");
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+                "SELECT id, department, date, time, current_participants, registration_closed FROM events"
+                        + (conditions.isEmpty() ? "" : " WHERE " + String.join(" OR ", conditions)));
+        if (!eventIds.isEmpty()) {
+            spec = spec.bind("ids", eventIds);
+        }
+        if (!departments.isEmpty()) {
+            spec = spec.bind("departments", departments);
+        }
+        return spec.map(row -> SeatCount.builder()
+                        .eventId(row.get("id", Long.class))
+                        .currentParticipants(row.get("current_participants", Integer.class))
+                        .registrationClosed(Boolean.TRUE.equals(row.get("registration_closed", Boolean.class))
+                                || EventService.hasStarted(row.get("date", LocalDate.class),
+                                        row.get("time", LocalTime.class)))
+                        .department(row.get("department", String.class))
+                        .build())
+                .all();
+    }
+
+    Mono<Boolean> isActiveUser(String email) {
+        return databaseClient.sql("SELECT active FROM users WHERE email = :email")
+                .bind("email", email)
+                .map(row -> Boolean.TRUE.equals(row.get("active", Boolean.class)))
+                .one()
+                .defaultIfEmpty(false);
+    }
+
+    private Flux<EventDto> withParticipants(List<EventDto> events, DatabaseClient.GenericExecuteSpec participants) {
+        return participants
+                .map(row -> Map.entry(row.get("event_id", Long.class), row.get("email", String.class)))
+                .all()
+                .collect(HashMap<Long, Set<String>>::new, (byEvent, entry) -> byEvent
+                        .computeIfAbsent(entry.getKey(), id -> new HashSet<>())
+                        .add(entry.getValue()))
+                .flatMapMany(byEvent -> Flux.fromIterable(events).doOnNext(event -> event
+                        .setParticipants(byEvent.getOrDefault(event.getId(), new HashSet<>()))));
+    }
+
+    private EventDto toDto(Readable row) {
+        LocalDate date = row.get("date", LocalDate.class);
+        LocalTime time = row.get("time", LocalTime.class);
+        String image = row.get("image", String.class);
+        return EventDto.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .description(row.get("description", String.class))
+                .date(date)
+                .time(time)
+                .department(row.get("department", String.class))
+                .location(row.get("location", String.class))
+                .durationMinutes(Event.durationOrDefault(row.get("duration_minutes", Integer.class)))
+                .maxParticipants(row.get("max_participants", Integer.class))
+                .currentParticipants(row.get("current_participants", Integer.class))
+                .image(image)
+                .thumbnail(imageVariantService.listImageUrl(image))
+                // Auto-reflect closed if event has started
+                .registrationClosed(Boolean.TRUE.equals(row.get("registration_closed", Boolean.class))
+                        || EventService.hasStarted(date, time))
+                .registrationOpensAt(row.get("registration_opens_at", LocalDateTime.class))
+                .createdBy(row.get("created_by", String.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,260 @@
+package com.project.reactive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.dto.SeatCount;
+import com.project.entity.Event;
+import com.project.service.EventService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Live seat counts for /api/events/stream on the reactive read API. EventService reports each change to an
+// event's participant count or registration state, and each deletion, once its transaction commits; the
+// participant reconciler reports the counters it corrects. Changes are held per event until the next tick,
+// so a burst of registrations on one event goes out as a single delta with the latest values. All
+// subscribers are fed from one tick thread: each delta is serialized once per tick, and every subscriber
+// has a small bounded buffer, so an idle connection costs a socket and a few hundred bytes. A subscriber
+// that falls behind is completed instead of buffered without limit; EventSource reconnects and starts
+// again from a fresh snapshot.
+@Component
+public class SeatCountBroadcaster implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatCountBroadcaster.class);
+
+    private static final ServerSentEvent<String> HEARTBEAT = ServerSentEvent.<String>builder()
+            .comment("keepalive")
+            .build();
+
+    private final ObjectMapper objectMapper;
+    private final Counter messages;
+    private final Counter overflows;
+    private final Map<Long, SeatCount> pending = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    @Value("${seat-stream.tick-ms:250}")
+    private long tickMs;
+
+    @Value("${seat-stream.heartbeat-seconds:30}")
+    private long heartbeatSeconds;
+
+    @Value("${seat-stream.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${seat-stream.max-subscribers:50000}")
+    private int maxSubscribers;
+
+    private ScheduledExecutorService scheduler;
+    private long nextHeartbeatNanos;
+
+    public SeatCountBroadcaster(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.messages = Counter.builder("seat.stream.messages")
+                .description("Seat count messages queued to subscribers")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("seat.stream.overflows")
+                .description("Subscribers disconnected for not keeping up")
+                .register(meterRegistry);
+        Gauge.builder("seat.stream.subscribers", subscribers, Set::size)
+                .description("Open seat count streams")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "seat-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        nextHeartbeatNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(heartbeatSeconds);
+        scheduler.scheduleWithFixedDelay(this::tickSafely, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+        subscribers.forEach(subscriber -> subscriber.sink.tryEmitComplete());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    // Captures the event's seat state now and publishes it once the surrounding transaction commits
+    public void publishAfterCommit(Event event) {
+        SeatCount seatCount = SeatCount.builder()
+                .eventId(event.getId())
+                .currentParticipants(event.getCurrentParticipants())
+                .registrationClosed(event.isRegistrationClosed()
+                        || EventService.hasStarted(event.getDate(), event.getTime()))
+                .department(event.getDepartment())
+                .build();
+        publishAfterCommit(seatCount);
+    }
+
+    // Tells subscribers the event is gone; sent as closed so clients that ignore the flag stop offering it
+    public void publishDeletionAfterCommit(Event event) {
+        publishAfterCommit(SeatCount.builder()
+                .eventId(event.getId())
+                .currentParticipants(event.getCurrentParticipants())
+                .registrationClosed(true)
+                .deleted(true)
+                .department(event.getDepartment())
+                .build());
+    }
+
+    private void publishAfterCommit(SeatCount seatCount) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.put(seatCount.getEventId(), seatCount);
+                }
+            });
+        } else {
+            pending.put(seatCount.getEventId(), seatCount);
+        }
+    }
+
+    boolean isFull() {
+        return subscribers.size() >= maxSubscribers;
+    }
+
+    // The subscriber is registered before the snapshot is read, so a change committed while the snapshot
+    // query runs is still delivered after it. Empty filters mean every event.
+    Flux<ServerSentEvent<String>> subscribe(Set<Long> eventIds, Set<String> departments, Flux<SeatCount> snapshot) {
+        return Flux.defer(() -> {
+            Subscriber subscriber = new Subscriber(eventIds, departments,
+                    Sinks.many().unicast().onBackpressureBuffer(Queues.<ServerSentEvent<String>>get(bufferSize).get()));
+            subscribers.add(subscriber);
+            Flux<ServerSentEvent<String>> first = snapshot.collectList()
+                    .map(counts -> ServerSentEvent.builder(toJson(counts)).event("snapshot").build())
+                    .flux();
+            return Flux.concat(first, subscriber.sink.asFlux())
+                    .doFinally(signal -> subscribers.remove(subscriber));
+        });
+    }
+
+    private void tickSafely() {
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            // An exception escaping a scheduled task would cancel all of its future runs
+            log.error("Seat count stream tick failed", e);
+        }
+    }
+
+    void tick() {
+        List<SeatCount> changes = new ArrayList<>(pending.size());
+        for (Long eventId : pending.keySet()) {
+            SeatCount change = pending.remove(eventId);
+            if (change != null) {
+                changes.add(change);
+            }
+        }
+
+        long now = System.nanoTime();
+        boolean heartbeat = now >= nextHeartbeatNanos;
+        if (heartbeat) {
+            nextHeartbeatNanos = now + TimeUnit.SECONDS.toNanos(heartbeatSeconds);
+        }
+        if (subscribers.isEmpty() || (changes.isEmpty() && !heartbeat)) {
+            return;
+        }
+
+        String[] json = new String[changes.size()];
+        for (int i = 0; i < json.length; i++) {
+            json[i] = toJson(changes.get(i));
+        }
+        // Shared by every subscriber without a filter
+        ServerSentEvent<String> everything = changes.isEmpty() ? null : seats(String.join(",", json));
+
+        for (Subscriber subscriber : subscribers) {
+            ServerSentEvent<String> message = everything;
+            if (message != null && !subscriber.matchesAll()) {
+                StringJoiner matching = new StringJoiner(",");
+                for (int i = 0; i < json.length; i++) {
+                    if (subscriber.matches(changes.get(i))) {
+                        matching.add(json[i]);
+                    }
+                }
+                message = matching.length() == 0 ? null : seats(matching.toString());
+            }
+            if (message != null) {
+                offer(subscriber, message);
+            } else if (heartbeat) {
+                offer(subscriber, HEARTBEAT);
+            }
+        }
+    }
+
+    private void offer(Subscriber subscriber, ServerSentEvent<String> message) {
+        if (subscriber.sink.tryEmitNext(message).isSuccess()) {
+            messages.increment();
+            return;
+        }
+        // Full buffer: completing lets the client drain what it has, reconnect and resynchronize
+        subscribers.remove(subscriber);
+        subscriber.sink.tryEmitComplete();
+        overflows.increment();
+    }
+
+    private static ServerSentEvent<String> seats(String joined) {
+        return ServerSentEvent.builder("[" + joined + "]").event("seats").build();
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final Set<Long> eventIds;
+        private final Set<String> departments;
+        private final Sinks.Many<ServerSentEvent<String>> sink;
+
+        private Subscriber(Set<Long> eventIds, Set<String> departments, Sinks.Many<ServerSentEvent<String>> sink) {
+            this.eventIds = eventIds;
+            this.departments = departments;
+            this.sink = sink;
+        }
+
+        private boolean matchesAll() {
+            return eventIds.isEmpty() && departments.isEmpty();
+        }
+
+        private boolean matches(SeatCount seatCount) {
+            return eventIds.contains(seatCount.getEventId()) || departments.contains(seatCount.getDepartment());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.project.repository;
+
+import com.project.entity.EventChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface EventChangeRepository extends JpaRepository<EventChange, Long> {
+
+    // A primary key range scan, whatever the size of the events table
+    List<EventChange> findByIdGreaterThanOrderByIdAsc(Long since, Limit limit);
+
+    // The event's newest row, which serves as its version; an index lookup on event_id
+    @Query("SELECT MAX(c.id) FROM EventChange c WHERE c.eventId = :eventId")
+    Long findLatestIdByEventId(@Param("eventId") Long eventId);
+
+    // Rows of events that have a newer row; no token can need them
+    @Query("SELECT c.id FROM EventChange c WHERE c.id < " +
+           "(SELECT MAX(c2.id) FROM EventChange c2 WHERE c2.eventId = c.eventId)")
+    List<Long> findSupersededIds(Limit limit);
+
+    // Gives events that predate the change log (or were written around it) a row, so since=0 covers them
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO event_changes (event_id, deleted, changed_at) " +
+                   "SELECT e.id, false, CURRENT_TIMESTAMP FROM events e " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM event_changes c WHERE c.event_id = e.id)", nativeQuery = true)
+    int backfillMissingEvents();
+}
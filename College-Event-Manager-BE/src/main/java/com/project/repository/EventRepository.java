@@ -2,11 +2,15 @@ package com.project.repository;
 
 import com.project.entity.Event;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -23,4 +27,43 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     
     @Query("SELECT e FROM Event e JOIN e.participants p WHERE p.id = :userId")
     List<Event> findEventsByParticipantId(@Param("userId") Long userId);
-} 
\ No newline at end of file
+    
+    // Returns [eventId, creator email] for the given events, for list endpoints
+    @Query("SELECT e.id, c.email FROM Event e JOIN e.createdBy c WHERE e.id IN :ids")
+    List<Object[]> findCreatorEmails(@Param("ids") Collection<Long> ids);
+
+    // Returns [eventId, participant email] for the given events, for list endpoints
+    @Query("SELECT e.id, p.email FROM Event e JOIN e.participants p WHERE e.id IN :ids")
+    List<Object[]> findParticipantEmails(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM Event e")
+    Long findMaxId();
+    
+    // Returns [eventId, currentParticipants, actualParticipantCount] for every event in (fromId, toId]
+    @Query("SELECT e.id, e.currentParticipants, COUNT(p) FROM Event e LEFT JOIN e.participants p " +
+           "WHERE e.id > :fromId AND e.id <= :toId GROUP BY e.id, e.currentParticipants")
+    List<Object[]> countParticipantsInRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+    
+    // Only applies when the counter still holds the value the reconciler read, so a concurrent registration wins.
+    // A null counter needs IS NULL; "= :expected" is never true for it.
+    @Modifying
+    @Transactional
+    @Query("UPDATE Event e SET e.currentParticipants = :actual WHERE e.id = :id " +
+           "AND ((:expected IS NULL AND e.currentParticipants IS NULL) OR e.currentParticipants = :expected)")
+    int correctParticipantCount(@Param("id") Long id, @Param("expected") Integer expected, @Param("actual") Integer actual);
+
+    // Returns [eventId, title, location, date, time, durationMinutes] for every event, for the venue schedule
+    @Query("SELECT e.id, e.title, e.location, e.date, e.time, e.durationMinutes FROM Event e")
+    List<Object[]> findBookings();
+
+    // Returns [userId, eventId] for every registration to an event on or after the date, for the student schedule
+    @Query("SELECT p.id, e.id FROM Event e JOIN e.participants p WHERE e.date >= :from")
+    List<Object[]> findRegistrationsFrom(@Param("from") LocalDate from);
+
+    @Query("SELECT p.id FROM Event e JOIN e.participants p WHERE e.id = :eventId")
+    List<Long> findParticipantIds(@Param("eventId") Long eventId);
+
+    // Returns [eventId, registrationOpensAt] for events whose registration opens within [from, to]
+    @Query("SELECT e.id, e.registrationOpensAt FROM Event e WHERE e.registrationOpensAt BETWEEN :from AND :to")
+    List<Object[]> findRegistrationOpeningsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,78 @@
+package com.project.repository;
+
+import com.project.entity.OutboxMessage;
+import com.project.enums.OutboxStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    long countByStatus(OutboxStatus status);
+
+    // Returns [eventId, oldestPendingId, oldestCreatedAt, newestCreatedAt] per event with pending messages
+    @Query("SELECT m.eventId, MIN(m.id), MIN(m.createdAt), MAX(m.createdAt) FROM OutboxMessage m " +
+           "WHERE m.status = com.project.enums.OutboxStatus.PENDING GROUP BY m.eventId ORDER BY MIN(m.id)")
+    List<Object[]> findPendingEvents(Limit limit);
+
+    @Query("SELECT MAX(m.id) FROM OutboxMessage m WHERE m.eventId = :eventId AND m.status = com.project.enums.OutboxStatus.PENDING")
+    Long findMaxPendingId(@Param("eventId") Long eventId);
+
+    List<OutboxMessage> findByEventIdAndStatusAndIdLessThanEqualOrderByIdAsc(Long eventId, OutboxStatus status, Long maxId);
+
+    // Succeeds for one dispatcher only, until the lease runs out without being renewed
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxMessage m SET m.leaseUntil = :until WHERE m.id = :id " +
+           "AND m.status = com.project.enums.OutboxStatus.PENDING AND (m.leaseUntil IS NULL OR m.leaseUntil < :now)")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxMessage m SET m.coalescedThroughId = :throughId, m.recipientCursor = :cursor, " +
+           "m.sentCount = :sent, m.leaseUntil = :until WHERE m.id = :id")
+    int recordProgress(@Param("id") Long id, @Param("throughId") Long throughId, @Param("cursor") Long cursor,
+                       @Param("sent") Integer sent, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxMessage m SET m.status = CASE WHEN m.id = :sentId THEN com.project.enums.OutboxStatus.SENT " +
+           "ELSE com.project.enums.OutboxStatus.COALESCED END, m.dispatchedAt = :now, m.leaseUntil = NULL " +
+           "WHERE m.eventId = :eventId AND m.status = com.project.enums.OutboxStatus.PENDING AND m.id <= :throughId")
+    int markDispatched(@Param("eventId") Long eventId, @Param("throughId") Long throughId,
+                       @Param("sentId") Long sentId, @Param("now") LocalDateTime now);
+
+    // Returns [userId, email, name] of the event's participants after the given user id, in id order
+    @Query(value = "SELECT u.id, u.email, u.name FROM event_participants ep JOIN users u ON u.id = ep.user_id " +
+                   "WHERE ep.event_id = :eventId AND u.id > :afterId ORDER BY u.id LIMIT :limit", nativeQuery = true)
+    List<Object[]> findParticipantsAfter(@Param("eventId") Long eventId, @Param("afterId") Long afterId, @Param("limit") int limit);
+
+    // Same as findParticipantsAfter, over the copy taken when the event was cancelled
+    @Query(value = "SELECT u.id, u.email, u.name FROM notification_outbox_recipients r JOIN users u ON u.id = r.user_id " +
+                   "WHERE r.outbox_id = :outboxId AND u.id > :afterId ORDER BY u.id LIMIT :limit", nativeQuery = true)
+    List<Object[]> findCancellationRecipientsAfter(@Param("outboxId") Long outboxId, @Param("afterId") Long afterId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO notification_outbox_recipients (outbox_id, user_id) " +
+                   "SELECT :outboxId, ep.user_id FROM event_participants ep WHERE ep.event_id = :eventId", nativeQuery = true)
+    int copyParticipants(@Param("outboxId") Long outboxId, @Param("eventId") Long eventId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM notification_outbox_recipients WHERE outbox_id IN " +
+                   "(SELECT id FROM notification_outbox WHERE status <> 'PENDING' AND dispatched_at < :before)", nativeQuery = true)
+    int purgeDispatchedRecipients(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxMessage m WHERE m.status <> com.project.enums.OutboxStatus.PENDING AND m.dispatchedAt < :before")
+    int purgeDispatched(@Param("before") LocalDateTime before);
+}
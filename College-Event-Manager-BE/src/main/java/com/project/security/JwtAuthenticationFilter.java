@@ -13,6 +13,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 import com.project.entity.User;
+import com.project.metrics.MetricTags;
+import com.project.metrics.RequestTiming;
 
 import java.io.IOException;
 import java.util.Collections;
@@ -32,6 +34,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                   @NonNull FilterChain filterChain) 
             throws ServletException, IOException {
         
+        RequestTiming.enter(RequestTiming.Phase.AUTH);
         try {
             String jwt = getJwtFromRequest(request);
 
@@ -51,10 +54,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         );
                     
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                    request.setAttribute(MetricTags.ROLE_ATTRIBUTE, user.getRole().name());
                 }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
+        } finally {
+            RequestTiming.exit();
         }
 
         filterChain.doFilter(request, response);
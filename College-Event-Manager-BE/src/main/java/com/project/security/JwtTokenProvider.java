@@ -1,6 +1,7 @@
 package com.project.security;
 
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 import javax.crypto.SecretKey;
 
@@ -17,6 +18,8 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 
 @Component
@@ -29,9 +32,13 @@ public class JwtTokenProvider {
 	private Long jwtExpirationMs;
 	
 	private final UserService userService;
+	private final Timer validTokenTimer;
+	private final Timer invalidTokenTimer;
 	
-	public JwtTokenProvider(UserService userService) {
+	public JwtTokenProvider(UserService userService, MeterRegistry meterRegistry) {
 		this.userService = userService;
+		this.validTokenTimer = Timer.builder("jwt.verification").tag("outcome", "valid").register(meterRegistry);
+		this.invalidTokenTimer = Timer.builder("jwt.verification").tag("outcome", "invalid").register(meterRegistry);
 	}
 	
 	 private SecretKey getSigningKey() {
@@ -80,15 +87,36 @@ public class JwtTokenProvider {
 		return claims.getSubject();
 	}
 	
+	// Subject of a valid token, or null; signature and expiry only, no database lookup
+	public String getEmailIfValid(String token) {
+		long start = System.nanoTime();
+		try {
+			String email = Jwts.parser()
+					.verifyWith(getSigningKey())
+					.build()
+					.parseSignedClaims(token)
+					.getPayload()
+					.getSubject();
+			validTokenTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			return email;
+		} catch (JwtException | IllegalArgumentException e) {
+			invalidTokenTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			return null;
+		}
+	}
+	
 	public boolean validateToken(String token) {
+		long start = System.nanoTime();
 		try {
 			Jwts.parser()
 					.verifyWith(getSigningKey())
 					.build()
 					.parseSignedClaims(token)
 					.getPayload();
+			validTokenTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 			return true;
 		} catch (JwtException | IllegalArgumentException e) {
+			invalidTokenTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 			return false;
 				
 		}
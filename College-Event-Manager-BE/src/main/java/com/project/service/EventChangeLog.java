@@ -0,0 +1,79 @@
+package com.project.service;
+
+import com.project.cache.EventResponseCache;
+import com.project.entity.EventChange;
+import com.project.repository.EventChangeRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Write side of the delta-sync change log behind GET /api/events/changes. Each change to an event appends
+// a row in the caller's transaction, and drops the event's serialized response once that commits. A client
+// only ever needs the newest row of an event, so compaction deletes superseded rows: the log stays at about
+// one row per event, tombstones included, and every token handed out stays valid because whatever it missed
+// is in a newer row.
+// Tombstones are never purged, by design. A tombstone is the only record that its event is gone; without
+// it a client whose token predates the deletion would keep showing the event, and a token carries no age
+// that would let the server tell that client to start over from since=0. Compacted, a tombstone is one
+// small row per event ever deleted, so the table grows with deletions, not with changes.
+@Component
+public class EventChangeLog {
+
+    private static final Logger log = LoggerFactory.getLogger(EventChangeLog.class);
+
+    private final EventChangeRepository eventChangeRepository;
+    private final EventResponseCache eventResponseCache;
+
+    @Value("${events.changes.compaction-batch-size:1000}")
+    private int compactionBatchSize;
+
+    public EventChangeLog(EventChangeRepository eventChangeRepository, EventResponseCache eventResponseCache) {
+        this.eventChangeRepository = eventChangeRepository;
+        this.eventResponseCache = eventResponseCache;
+    }
+
+    @PostConstruct
+    public void backfill() {
+        int added = eventChangeRepository.backfillMissingEvents();
+        if (added > 0) {
+            log.info("Added {} existing events to the change log", added);
+        }
+    }
+
+    @Transactional
+    public void recordChange(Long eventId) {
+        eventChangeRepository.save(EventChange.builder().eventId(eventId).deleted(false).build());
+        eventResponseCache.evictAfterCommit(eventId);
+    }
+
+    @Transactional
+    public void recordDeletion(Long eventId) {
+        eventChangeRepository.save(EventChange.builder().eventId(eventId).deleted(true).build());
+        eventResponseCache.evictAfterCommit(eventId);
+    }
+
+    @Scheduled(fixedDelayString = "${events.changes.compaction-interval-ms:3600000}",
+               initialDelayString = "${events.changes.compaction-initial-delay-ms:300000}")
+    public void compact() {
+        long removed = 0;
+        List<Long> superseded;
+        do {
+            superseded = eventChangeRepository.findSupersededIds(Limit.of(compactionBatchSize));
+            if (!superseded.isEmpty()) {
+                eventChangeRepository.deleteAllByIdInBatch(superseded);
+                removed += superseded.size();
+            }
+        } while (superseded.size() == compactionBatchSize);
+
+        if (removed > 0) {
+            log.info("Compacted {} superseded rows from the event change log", removed);
+        }
+    }
+}
@@ -1,23 +1,29 @@
 package com.project.service;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.project.entity.EventManager;
 import com.project.entity.User;
 import com.project.dto.EventManagerDetails;
 import com.project.repository.EventManagerRepository;
+import com.project.repository.UserRepository;
 
 @Service
 public class EventManagerService {
 
     private final EventManagerRepository eventManagerRepository;
+    private final UserRepository userRepository;
 
-    public EventManagerService(EventManagerRepository eventManagerRepository) {
+    public EventManagerService(EventManagerRepository eventManagerRepository, UserRepository userRepository) {
         this.eventManagerRepository = eventManagerRepository;
+        this.userRepository = userRepository;
     }
 
+    @Transactional
     public EventManager createEventManager(User user, String designation, String phoneNumber) {
+        // Same as StudentService.createStudent: @MapsId needs a managed User
         EventManager eventManager = EventManager.builder()
-                .user(user)
+                .user(userRepository.getReferenceById(user.getId()))
                 .designation(designation)
                 .phoneNumber(phoneNumber)
                 .build();
@@ -1,15 +1,35 @@
 package com.project.service;
 
 import com.project.dto.CreateEventRequest;
+import com.project.dto.EventChanges;
 import com.project.dto.EventDto;
 import com.project.entity.Event;
+import com.project.entity.EventChange;
 import com.project.entity.User;
+import com.project.journal.JournalAction;
+import com.project.journal.RegistrationJournal;
+import com.project.metrics.MetricTags;
+import com.project.notification.NotificationOutbox;
+import com.project.reactive.SeatCountBroadcaster;
+import com.project.repository.EventChangeRepository;
 import com.project.repository.EventRepository;
 import com.project.repository.UserRepository;
+import com.project.venue.StudentSchedule;
+import com.project.venue.VenueSchedule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -17,18 +37,48 @@ import java.util.stream.Collectors;
 @Transactional
 public class EventService {
 
+    // Ids per IN list when list endpoints read creator and participant emails
+    private static final int EMAIL_BATCH_SIZE = 1000;
+
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
-
-    public EventService(EventRepository eventRepository, UserRepository userRepository) {
+    private final RegistrationJournal registrationJournal;
+    private final ImageStorageService imageStorageService;
+    private final ImageVariantService imageVariantService;
+    private final NotificationOutbox notificationOutbox;
+    private final SeatCountBroadcaster seatCountBroadcaster;
+    private final EventChangeLog eventChangeLog;
+    private final EventChangeRepository eventChangeRepository;
+    private final VenueSchedule venueSchedule;
+    private final StudentSchedule studentSchedule;
+    private final MeterRegistry meterRegistry;
+
+    // Must exceed the longest EventService transaction; see getChangesSince
+    @Value("${events.changes.settle-ms:5000}")
+    private long changesSettleMs;
+
+    public EventService(EventRepository eventRepository, UserRepository userRepository,
+                        RegistrationJournal registrationJournal, ImageStorageService imageStorageService,
+                        ImageVariantService imageVariantService, NotificationOutbox notificationOutbox,
+                        SeatCountBroadcaster seatCountBroadcaster, EventChangeLog eventChangeLog,
+                        EventChangeRepository eventChangeRepository, VenueSchedule venueSchedule,
+                        StudentSchedule studentSchedule, MeterRegistry meterRegistry) {
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
+        this.registrationJournal = registrationJournal;
+        this.imageStorageService = imageStorageService;
+        this.imageVariantService = imageVariantService;
+        this.notificationOutbox = notificationOutbox;
+        this.seatCountBroadcaster = seatCountBroadcaster;
+        this.eventChangeLog = eventChangeLog;
+        this.eventChangeRepository = eventChangeRepository;
+        this.venueSchedule = venueSchedule;
+        this.studentSchedule = studentSchedule;
+        this.meterRegistry = meterRegistry;
     }
 
     public List<EventDto> getAllEvents() {
-        return eventRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertAll(eventRepository.findAll());
     }
 
     public EventDto getEventById(Long id) {
@@ -45,13 +95,18 @@ public class EventService {
                 .time(request.getTime())
                 .department(request.getDepartment())
                 .location(request.getLocation())
+                .durationMinutes(validDuration(request.getDurationMinutes()))
                 .maxParticipants(request.getMaxParticipants())
                 .currentParticipants(0)
-                .image(request.getImage())
+                .image(imageStorageService.normalizeImageReference(request.getImage()))
+                .registrationOpensAt(request.getRegistrationOpensAt())
                 .createdBy(createdBy)
                 .build();
 
         Event savedEvent = eventRepository.save(event);
+        // Needs the id; a clash rolls the insert back
+        venueSchedule.reserve(savedEvent);
+        eventChangeLog.recordChange(savedEvent.getId());
         return convertToDto(savedEvent);
     }
 
@@ -64,16 +119,27 @@ public class EventService {
             throw new RuntimeException("You are not authorized to edit this event");
         }
 
+        List<String> changedFields = changedFields(event, request);
         event.setTitle(request.getTitle());
         event.setDescription(request.getDescription());
         event.setDate(request.getDate());
         event.setTime(request.getTime());
         event.setDepartment(request.getDepartment());
         event.setLocation(request.getLocation());
+        if (request.getDurationMinutes() != null) {
+            event.setDurationMinutes(validDuration(request.getDurationMinutes()));
+        }
         event.setMaxParticipants(request.getMaxParticipants());
-        event.setImage(request.getImage());
+        event.setImage(imageStorageService.normalizeImageReference(request.getImage()));
+        event.setRegistrationOpensAt(request.getRegistrationOpensAt());
+        // Only checked for clashes when the date, time, location or duration moved the slot
+        venueSchedule.reserve(event);
 
         Event updatedEvent = eventRepository.save(event);
+        notificationOutbox.eventUpdated(updatedEvent, changedFields);
+        // A new date or time can open or close registration
+        seatCountBroadcaster.publishAfterCommit(updatedEvent);
+        eventChangeLog.recordChange(id);
         return convertToDto(updatedEvent);
     }
 
@@ -86,12 +152,17 @@ public class EventService {
             throw new RuntimeException("You are not authorized to delete this event");
         }
 
+        notificationOutbox.eventCancelled(event);
+        eventChangeLog.recordDeletion(id);
+        venueSchedule.releaseAfterCommit(id);
+        studentSchedule.releaseEventAfterCommit(id);
+        seatCountBroadcaster.publishDeletionAfterCommit(event);
         eventRepository.deleteById(id);
     }
 
     public EventDto registerForEvent(Long eventId, Long userId) {
         Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new RuntimeException("Event not found"));
+                .orElseThrow(() -> registrationFailure("not_found", "Event not found"));
 
         // Auto-close registration if event has already started
         if (hasEventStarted(event)) {
@@ -99,28 +170,41 @@ public class EventService {
                 event.setRegistrationClosed(true);
                 eventRepository.save(event);
             }
-            throw new RuntimeException("Registration is closed as the event has already started");
+            throw registrationFailure("closed", "Registration is closed as the event has already started");
         }
 
         if (event.isRegistrationClosed()) {
-            throw new RuntimeException("Registration is closed for this event");
+            throw registrationFailure("closed", "Registration is closed for this event");
+        }
+
+        if (event.getRegistrationOpensAt() != null && java.time.LocalDateTime.now().isBefore(event.getRegistrationOpensAt())) {
+            throw registrationFailure("not_open", "Registration opens at " + event.getRegistrationOpensAt());
         }
 
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(() -> registrationFailure("not_found", "User not found"));
 
         if (event.getCurrentParticipants() >= event.getMaxParticipants()) {
-            throw new RuntimeException("Event is full");
+            throw registrationFailure("full", "Event is full");
         }
 
         if (event.getParticipants().contains(user)) {
-            throw new RuntimeException("User is already registered for this event");
+            throw registrationFailure("duplicate", "User is already registered for this event");
+        }
+
+        String clash = studentSchedule.register(userId, event);
+        if (clash != null) {
+            throw registrationFailure("clash", clash);
         }
 
         event.getParticipants().add(user);
         event.setCurrentParticipants(event.getCurrentParticipants() + 1);
 
         Event savedEvent = eventRepository.save(event);
+        registrationJournal.appendAfterCommit(JournalAction.REGISTER, eventId, userId);
+        seatCountBroadcaster.publishAfterCommit(savedEvent);
+        eventChangeLog.recordChange(eventId);
+        recordRegistration("success");
         return convertToDto(savedEvent);
     }
 
@@ -139,31 +223,27 @@ public class EventService {
         event.setCurrentParticipants(event.getCurrentParticipants() - 1);
 
         Event savedEvent = eventRepository.save(event);
+        registrationJournal.appendAfterCommit(JournalAction.UNREGISTER, eventId, userId);
+        studentSchedule.releaseAfterCommit(userId, eventId);
+        seatCountBroadcaster.publishAfterCommit(savedEvent);
+        eventChangeLog.recordChange(eventId);
         return convertToDto(savedEvent);
     }
 
     public List<EventDto> getEventsByDepartment(String department) {
-        return eventRepository.findByDepartment(department).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertAll(eventRepository.findByDepartment(department));
     }
 
     public List<EventDto> getUpcomingEvents() {
-        return eventRepository.findByDateAfter(java.time.LocalDate.now()).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertAll(eventRepository.findByDateAfter(java.time.LocalDate.now()));
     }
 
     public List<EventDto> searchEvents(String searchTerm) {
-        return eventRepository.findByTitleOrDescriptionContaining(searchTerm).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertAll(eventRepository.findByTitleOrDescriptionContaining(searchTerm));
     }
 
     public List<EventDto> getEventsByCreator(Long createdById) {
-        return eventRepository.findByCreatedById(createdById).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertAll(eventRepository.findByCreatedById(createdById));
     }
 
     public EventDto setRegistrationClosed(Long eventId, boolean closed, User currentUser) {
@@ -183,20 +263,103 @@ public class EventService {
 
         event.setRegistrationClosed(closed);
         Event saved = eventRepository.save(event);
+        registrationJournal.appendAfterCommit(
+                closed ? JournalAction.CLOSE_REGISTRATION : JournalAction.OPEN_REGISTRATION,
+                eventId, currentUser.getId());
+        seatCountBroadcaster.publishAfterCommit(saved);
+        eventChangeLog.recordChange(eventId);
         return convertToDto(saved);
     }
 
-    public List<EventDto> getEventsByParticipant(Long userId) {
-        return eventRepository.findEventsByParticipantId(userId).stream()
-                .map(this::convertToDto)
+    // Delta sync: events changed since the token, in change order. A log id is assigned when its row is
+    // inserted, not when the transaction commits, so a slower transaction can still commit an id below one
+    // already read. The returned token therefore stops before the first row younger than the settle window;
+    // later rows are sent now and again on the next call, which is harmless since clients upsert.
+    @Transactional(readOnly = true)
+    public EventChanges getChangesSince(long since, int limit) {
+        if (limit < 1 || limit > 1000) {
+            throw new RuntimeException("limit must be between 1 and 1000");
+        }
+        List<EventChange> rows = eventChangeRepository.findByIdGreaterThanOrderByIdAsc(since, Limit.of(limit));
+        LocalDateTime settledBefore = LocalDateTime.now().minusNanos(changesSettleMs * 1_000_000);
+
+        long nextToken = since;
+        boolean settled = true;
+        // Latest row per event, ordered by that row
+        Map<Long, Boolean> deletedByEvent = new LinkedHashMap<>();
+        for (EventChange row : rows) {
+            deletedByEvent.remove(row.getEventId());
+            deletedByEvent.put(row.getEventId(), row.isDeleted());
+            if (settled && row.getChangedAt().isBefore(settledBefore)) {
+                nextToken = row.getId();
+            } else {
+                settled = false;
+            }
+        }
+
+        List<Long> liveIds = deletedByEvent.entrySet().stream()
+                .filter(entry -> !entry.getValue())
+                .map(Map.Entry::getKey)
                 .collect(Collectors.toList());
+        Map<Long, Event> found = eventRepository.findAllById(liveIds).stream()
+                .collect(Collectors.toMap(Event::getId, event -> event));
+
+        List<Event> live = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (Map.Entry<Long, Boolean> entry : deletedByEvent.entrySet()) {
+            Event event = found.get(entry.getKey());
+            // Deleted after this read started, before its tombstone was visible
+            if (entry.getValue() || event == null) {
+                deleted.add(entry.getKey());
+            } else {
+                live.add(event);
+            }
+        }
+        List<EventDto> events = convertAll(live);
+
+        return EventChanges.builder()
+                .events(events)
+                .deleted(deleted)
+                .nextToken(nextToken)
+                .hasMore(settled && rows.size() == limit)
+                .build();
+    }
+
+    public List<EventDto> getEventsByParticipant(Long userId) {
+        return convertAll(eventRepository.findEventsByParticipantId(userId));
     }
 
-    private EventDto convertToDto(Event event) {
+    // Package-private so the benchmarks module can measure it directly
+    EventDto convertToDto(Event event) {
         Set<String> participantEmails = event.getParticipants().stream()
                 .map(User::getEmail)
                 .collect(Collectors.toSet());
+        return convertToDto(event, event.getCreatedBy().getEmail(), participantEmails);
+    }
+
+    // For lists: creator and participant emails are read in one query each per batch of events, instead of
+    // initializing every event's creator and participant collection (each User load also pulls in its
+    // Student, EventManager and Admin rows)
+    private List<EventDto> convertAll(List<Event> events) {
+        Map<Long, String> creators = new HashMap<>();
+        Map<Long, Set<String>> participants = new HashMap<>();
+        List<Long> ids = events.stream().map(Event::getId).collect(Collectors.toList());
+        for (int from = 0; from < ids.size(); from += EMAIL_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + EMAIL_BATCH_SIZE));
+            for (Object[] row : eventRepository.findCreatorEmails(batch)) {
+                creators.put((Long) row[0], (String) row[1]);
+            }
+            for (Object[] row : eventRepository.findParticipantEmails(batch)) {
+                participants.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+            }
+        }
+        return events.stream()
+                .map(event -> convertToDto(event, creators.get(event.getId()),
+                        participants.getOrDefault(event.getId(), new HashSet<>())))
+                .collect(Collectors.toList());
+    }
 
+    private EventDto convertToDto(Event event, String createdBy, Set<String> participantEmails) {
         return EventDto.builder()
                 .id(event.getId())
                 .title(event.getTitle())
@@ -205,23 +368,73 @@ public class EventService {
                 .time(event.getTime())
                 .department(event.getDepartment())
                 .location(event.getLocation())
+                .durationMinutes(Event.durationOrDefault(event.getDurationMinutes()))
                 .maxParticipants(event.getMaxParticipants())
                 .currentParticipants(event.getCurrentParticipants())
                 .image(event.getImage())
+                .thumbnail(imageVariantService.listImageUrl(event.getImage()))
                 // Auto-reflect closed if event has started
                 .registrationClosed(event.isRegistrationClosed() || hasEventStarted(event))
-                .createdBy(event.getCreatedBy().getEmail())
+                .registrationOpensAt(event.getRegistrationOpensAt())
+                .createdBy(createdBy)
                 .participants(participantEmails)
                 .createdAt(event.getCreatedAt())
                 .updatedAt(event.getUpdatedAt())
                 .build();
     }
 
-    private boolean hasEventStarted(Event event) {
+    // The fields participants are notified about; capacity and image changes do not warrant a message
+    private static List<String> changedFields(Event event, CreateEventRequest request) {
+        List<String> changed = new ArrayList<>();
+        if (!Objects.equals(event.getTitle(), request.getTitle())) {
+            changed.add("title");
+        }
+        if (!Objects.equals(event.getDescription(), request.getDescription())) {
+            changed.add("description");
+        }
+        if (!Objects.equals(event.getDate(), request.getDate())) {
+            changed.add("date");
+        }
+        if (!Objects.equals(event.getTime(), request.getTime())) {
+            changed.add("time");
+        }
+        if (!Objects.equals(event.getLocation(), request.getLocation())) {
+            changed.add("location");
+        }
+        if (request.getDurationMinutes() != null && !request.getDurationMinutes().equals(event.getDurationMinutes())) {
+            changed.add("duration");
+        }
+        return changed;
+    }
+
+    private static int validDuration(Integer durationMinutes) {
+        if (durationMinutes == null) {
+            return Event.DEFAULT_DURATION_MINUTES;
+        }
+        if (durationMinutes < 1 || durationMinutes > 24 * 60) {
+            throw new RuntimeException("durationMinutes must be between 1 and 1440");
+        }
+        return durationMinutes;
+    }
+
+    private void recordRegistration(String outcome) {
+        meterRegistry.counter("events.registrations", "outcome", outcome, "role", MetricTags.role()).increment();
+    }
+
+    private RuntimeException registrationFailure(String outcome, String message) {
+        recordRegistration(outcome);
+        return new RuntimeException(message);
+    }
+
+    boolean hasEventStarted(Event event) {
+        return hasStarted(event.getDate(), event.getTime());
+    }
+
+    // Also used by the reactive read API, which builds EventDto straight from rows
+    public static boolean hasStarted(java.time.LocalDate eventDate, java.time.LocalTime time) {
         try {
-            java.time.LocalDate eventDate = event.getDate();
-            java.time.LocalTime eventTime = event.getTime() != null
-                    ? event.getTime()
+            java.time.LocalTime eventTime = time != null
+                    ? time
                     : java.time.LocalTime.MIDNIGHT;
 
             java.time.LocalDateTime eventDateTime = java.time.LocalDateTime.of(eventDate, eventTime);
@@ -232,4 +445,4 @@ public class EventService {
             return false;
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,162 @@
+package com.project.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Content-addressed poster storage. An image is stored once under the SHA-256 of its bytes,
+// so re-uploading the same poster (or pasting it inline into several events) costs no extra disk.
+// Layout: <root>/<first two hex chars>/<sha256>.<ext>, resized variants alongside as <sha256>-w<width>.<ext>
+@Service
+public class ImageStorageService {
+
+    public static final String URL_PREFIX = "/api/images/";
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}(-w[0-9]{2,4})?\\.(jpg|png|gif|webp)");
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg",
+            "png", "image/png",
+            "gif", "image/gif",
+            "webp", "image/webp");
+
+    private final Path root;
+    private final long maxBytes;
+
+    public ImageStorageService(@Value("${images.directory:./data/images}") String directory,
+                               @Value("${images.max-bytes:10485760}") long maxBytes) {
+        this.root = Path.of(directory);
+        this.maxBytes = maxBytes;
+    }
+
+    // Stores the image and returns its key (<sha256>.<ext>). The type comes from the file's magic bytes, not
+    // the declared content type, and the copy stops as soon as the upload passes images.max-bytes.
+    public String store(InputStream content, String contentType) {
+        try {
+            Files.createDirectories(root);
+            Path temp = Files.createTempFile(root, "upload-", ".tmp");
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                String extension;
+                try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                    byte[] buffer = new byte[8192];
+                    int headerLength = content.readNBytes(buffer, 0, 12);
+                    extension = sniffExtension(buffer, headerLength);
+                    if (extension == null) {
+                        throw new RuntimeException("Unsupported image type: " + contentType);
+                    }
+                    out.write(buffer, 0, headerLength);
+                    long size = headerLength;
+                    int read;
+                    while ((read = content.read(buffer)) != -1) {
+                        size += read;
+                        if (size > maxBytes) {
+                            throw new RuntimeException("Image exceeds the maximum size of " + maxBytes + " bytes");
+                        }
+                        out.write(buffer, 0, read);
+                    }
+                }
+
+                String key = HexFormat.of().formatHex(digest.digest()) + "." + extension;
+                Path target = resolve(key);
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+                return key;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store image", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // JPEG, PNG, GIF or WebP by signature, or null for anything else
+    static String sniffExtension(byte[] header, int length) {
+        if (length >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return "jpg";
+        }
+        if (length >= 8 && startsWith(header, 0, new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'})) {
+            return "png";
+        }
+        if (length >= 6 && (startsWith(header, 0, "GIF87a".getBytes(StandardCharsets.US_ASCII))
+                || startsWith(header, 0, "GIF89a".getBytes(StandardCharsets.US_ASCII)))) {
+            return "gif";
+        }
+        if (length >= 12 && startsWith(header, 0, "RIFF".getBytes(StandardCharsets.US_ASCII))
+                && startsWith(header, 8, "WEBP".getBytes(StandardCharsets.US_ASCII))) {
+            return "webp";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] header, int offset, byte[] signature) {
+        return Arrays.equals(header, offset, offset + signature.length, signature, 0, signature.length);
+    }
+
+    // Moves inline data: URIs into the store and returns the short URL; any other value is passed through
+    public String normalizeImageReference(String image) {
+        if (image == null || !image.startsWith("data:")) {
+            return image;
+        }
+
+        int comma = image.indexOf(',');
+        String header = comma > 0 ? image.substring(5, comma) : "";
+        if (!header.endsWith(";base64")) {
+            throw new RuntimeException("Inline images must be base64 encoded");
+        }
+        String contentType = header.substring(0, header.length() - ";base64".length());
+        // Rough check before decoding, with room for MIME line breaks; store() enforces the exact limit
+        if ((image.length() - comma - 1) * 3L / 4 > maxBytes + maxBytes / 8) {
+            throw new RuntimeException("Image exceeds the maximum size of " + maxBytes + " bytes");
+        }
+        byte[] bytes = Base64.getMimeDecoder().decode(image.substring(comma + 1));
+        return URL_PREFIX + store(new java.io.ByteArrayInputStream(bytes), contentType);
+    }
+
+    public boolean isValidKey(String key) {
+        return key != null && KEY_PATTERN.matcher(key).matches();
+    }
+
+    public Path resolve(String key) {
+        if (!isValidKey(key)) {
+            throw new RuntimeException("Invalid image key");
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    public String variantKey(String key, int width, String extension) {
+        return key.substring(0, 64) + "-w" + width + "." + extension;
+    }
+
+    public String extension(String key) {
+        return key.substring(key.lastIndexOf('.') + 1);
+    }
+
+    public String contentType(String key) {
+        return CONTENT_TYPES.get(key.substring(key.lastIndexOf('.') + 1));
+    }
+
+    public static String keyFromUrl(String image) {
+        return image != null && image.startsWith(URL_PREFIX) ? image.substring(URL_PREFIX.length()) : null;
+    }
+}
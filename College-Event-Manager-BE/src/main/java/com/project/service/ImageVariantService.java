@@ -0,0 +1,248 @@
+package com.project.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Generates fixed-width variants of stored posters on a small bounded worker pool.
+// Each original is decoded once per process; list endpoints ask for the smallest variant that is at least
+// images.list-width wide and fall back to the original until the variants exist.
+@Service
+public class ImageVariantService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantService.class);
+
+    private final ImageStorageService imageStorageService;
+    private final int[] widths;
+    private final int listWidth;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+    private final Timer processingTimer;
+    private final Counter rejected;
+
+    // Original key -> widths that have a variant on disk (sorted); presence means the original was processed
+    private final Map<String, int[]> available = new ConcurrentHashMap<>();
+    // Originals queued or being processed, so concurrent requests for the same image share one job
+    private final Map<String, Boolean> inFlight = new ConcurrentHashMap<>();
+
+    public ImageVariantService(ImageStorageService imageStorageService, MeterRegistry meterRegistry,
+                               @Value("${images.variant-widths:320,640,1280}") int[] widths,
+                               @Value("${images.list-width:640}") int listWidth,
+                               @Value("${images.max-pixels:25000000}") long maxPixels,
+                               @Value("${images.variant-workers:2}") int workers,
+                               @Value("${images.variant-queue-capacity:500}") int queueCapacity) {
+        this.imageStorageService = imageStorageService;
+        this.widths = widths.clone();
+        Arrays.sort(this.widths);
+        this.listWidth = listWidth;
+        this.maxPixels = maxPixels;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "image-variants-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+
+        this.processingTimer = Timer.builder("images.variants.processing")
+                .description("Time to decode an original poster and write its variants")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("images.variants.rejected")
+                .description("Variant jobs dropped because the queue was full")
+                .register(meterRegistry);
+        meterRegistry.gauge("images.variants.queue.depth", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("images.variants.active", executor, ThreadPoolExecutor::getActiveCount);
+    }
+
+    // Queues variant generation for an original image key; duplicate and repeated submissions are no-ops
+    public void submit(String key) {
+        if (!isOriginal(key) || available.containsKey(key) || inFlight.putIfAbsent(key, Boolean.TRUE) != null) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    processingTimer.record(() -> process(key));
+                } finally {
+                    inFlight.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Picked up again the next time the image is listed
+            inFlight.remove(key);
+            rejected.increment();
+        }
+    }
+
+    // URL to use in list views for the given Event.image value
+    public String listImageUrl(String image) {
+        String key = ImageStorageService.keyFromUrl(image);
+        if (!isOriginal(key)) {
+            return image;
+        }
+
+        int[] ready = available.get(key);
+        if (ready == null) {
+            submit(key);
+            return image;
+        }
+        for (int width : ready) {
+            if (width >= listWidth) {
+                return ImageStorageService.URL_PREFIX + imageStorageService.variantKey(key, width, outputExtension(key));
+            }
+        }
+        return image;
+    }
+
+    // Forgets an original that is no longer on disk, so the index only holds images that exist
+    public void evict(String key) {
+        if (isOriginal(key)) {
+            available.remove(key);
+        }
+    }
+
+    private void process(String key) {
+        Path original = imageStorageService.resolve(key);
+        if (!Files.isRegularFile(original)) {
+            available.remove(key);
+            return;
+        }
+
+        try {
+            int[] size = readSize(original);
+            int originalWidth = size[0];
+            // A few kilobytes of PNG or JPEG can declare a huge canvas; decoding it would exhaust the heap.
+            // Recorded as processed with no variants, so lists keep the original and do not resubmit it.
+            if ((long) size[0] * size[1] > maxPixels) {
+                log.warn("Image {} is {}x{}, over images.max-pixels; no variants generated", key, size[0], size[1]);
+                available.put(key, new int[0]);
+                return;
+            }
+            List<Integer> produced = new ArrayList<>();
+            BufferedImage decoded = null;
+
+            for (int width : widths) {
+                // Never upscale; the original already serves anything at least as wide as itself
+                if (originalWidth <= 0 || width >= originalWidth) {
+                    break;
+                }
+                Path target = imageStorageService.resolve(imageStorageService.variantKey(key, width, outputExtension(key)));
+                if (!Files.exists(target)) {
+                    if (decoded == null) {
+                        decoded = ImageIO.read(original.toFile());
+                        if (decoded == null) {
+                            break;
+                        }
+                    }
+                    write(resize(decoded, width), outputExtension(key), target);
+                }
+                produced.add(width);
+            }
+
+            available.put(key, produced.stream().mapToInt(Integer::intValue).toArray());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to generate variants for image {}", key, e);
+        }
+    }
+
+    // {width, height} from the header only, so originals are checked before any decode and those whose
+    // variants already exist are never fully decoded; {-1, -1} if no reader understands the file
+    private int[] readSize(Path path) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            if (in == null) {
+                return new int[]{-1, -1};
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return new int[]{-1, -1};
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in);
+                return new int[]{reader.getWidth(0), reader.getHeight(0)};
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage resize(BufferedImage source, int width) {
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+
+        // Halve step by step before the final pass; a single large bilinear step looks noticeably aliased
+        while (current.getWidth() / 2 >= width) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2, type);
+        }
+        return draw(current, width, height, type);
+    }
+
+    private BufferedImage draw(BufferedImage source, int width, int height, int type) {
+        BufferedImage target = new BufferedImage(width, height, type);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private void write(BufferedImage image, String extension, Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), "variant-", ".tmp");
+        try {
+            if (!ImageIO.write(image, extension.equals("jpg") ? "jpeg" : extension, temp.toFile())) {
+                throw new IOException("No writer for " + extension);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // JPEG stays JPEG; everything else (PNG, GIF, WebP) is written as PNG to keep transparency
+    private String outputExtension(String key) {
+        return imageStorageService.extension(key).equals("jpg") ? "jpg" : "png";
+    }
+
+    private boolean isOriginal(String key) {
+        return imageStorageService.isValidKey(key) && key.charAt(64) == '.';
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
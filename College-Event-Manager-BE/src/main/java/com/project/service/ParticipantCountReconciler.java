@@ -0,0 +1,102 @@
+package com.project.service;
+
+import com.project.reactive.SeatCountBroadcaster;
+import com.project.repository.EventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Brings Event.currentParticipants back in line with the rows in event_participants.
+// Events are scanned in id ranges with one grouped count query per range and a pause between
+// ranges, so a full pass never holds more than one small query's worth of load on the database.
+@Component
+@ConditionalOnProperty(name = "events.reconciler.enabled", havingValue = "true", matchIfMissing = true)
+public class ParticipantCountReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(ParticipantCountReconciler.class);
+
+    private final EventRepository eventRepository;
+    private final EventChangeLog eventChangeLog;
+    private final SeatCountBroadcaster seatCountBroadcaster;
+    private final Counter driftedEvents;
+    private final Counter driftMagnitude;
+    private final AtomicLong lastPassDrift = new AtomicLong();
+
+    @Value("${events.reconciler.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${events.reconciler.pause-ms:200}")
+    private long pauseMs;
+
+    public ParticipantCountReconciler(EventRepository eventRepository, EventChangeLog eventChangeLog,
+                                      SeatCountBroadcaster seatCountBroadcaster, MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.eventChangeLog = eventChangeLog;
+        this.seatCountBroadcaster = seatCountBroadcaster;
+        this.driftedEvents = Counter.builder("events.participants.drift.events")
+                .description("Events whose participant counter was corrected by the reconciler")
+                .register(meterRegistry);
+        this.driftMagnitude = Counter.builder("events.participants.drift.total")
+                .description("Sum of absolute participant counter corrections")
+                .register(meterRegistry);
+        meterRegistry.gauge("events.participants.drift.last_pass", lastPassDrift);
+    }
+
+    @Scheduled(fixedDelayString = "${events.reconciler.interval-ms:600000}",
+               initialDelayString = "${events.reconciler.initial-delay-ms:60000}")
+    public void reconcile() {
+        long maxId = eventRepository.findMaxId();
+        long corrected = 0;
+
+        for (long fromId = 0; fromId < maxId; fromId += chunkSize) {
+            corrected += reconcileRange(fromId, Math.min(fromId + chunkSize, maxId));
+
+            if (pauseMs > 0 && fromId + chunkSize < maxId) {
+                try {
+                    Thread.sleep(pauseMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        lastPassDrift.set(corrected);
+        if (corrected > 0) {
+            log.warn("Participant reconciler corrected {} event counters", corrected);
+        }
+    }
+
+    long reconcileRange(long fromId, long toId) {
+        List<Object[]> rows = eventRepository.countParticipantsInRange(fromId, toId);
+        long corrected = 0;
+
+        for (Object[] row : rows) {
+            Long eventId = (Long) row[0];
+            Integer stored = (Integer) row[1];
+            int actual = ((Long) row[2]).intValue();
+
+            if (stored == null || stored != actual) {
+                // Skipped silently if a registration changed the counter since the read; the next pass picks it up
+                if (eventRepository.correctParticipantCount(eventId, stored, actual) > 0) {
+                    corrected++;
+                    eventChangeLog.recordChange(eventId);
+                    // Corrections are rare, so reloading the event for its department and state is cheap
+                    eventRepository.findById(eventId).ifPresent(seatCountBroadcaster::publishAfterCommit);
+                    driftedEvents.increment();
+                    driftMagnitude.increment(Math.abs(actual - (stored == null ? 0 : stored)));
+                    log.info("Corrected participant count for event {}: {} -> {}", eventId, stored, actual);
+                }
+            }
+        }
+        return corrected;
+    }
+}
@@ -0,0 +1,192 @@
+package com.project.service;
+
+import com.project.dto.ProfileHotSpot;
+import com.project.dto.ProfileSummary;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Time-boxed Java Flight Recorder sessions for the admin profiling endpoints. Only one session runs at a time.
+// Settings start from the JDK "default" template (designed for always-on use) with finer execution and
+// allocation sampling, which is affordable because a session is short.
+@Service
+public class ProfilingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfilingService.class);
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${profiling.max-duration-seconds:120}")
+    private int maxDurationSeconds;
+
+    @Value("${profiling.execution-sample-period:10 ms}")
+    private String executionSamplePeriod;
+
+    @Value("${profiling.allocation-sample-throttle:300/s}")
+    private String allocationSampleThrottle;
+
+    @Value("${profiling.lock-threshold:10 ms}")
+    private String lockThreshold;
+
+    // Records for the given number of seconds and returns the .jfr file; the caller deletes it
+    public Path record(int seconds) {
+        if (seconds < 1 || seconds > maxDurationSeconds) {
+            throw new RuntimeException("Profiling duration must be between 1 and " + maxDurationSeconds + " seconds");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("A profiling session is already running");
+        }
+
+        Path file = null;
+        boolean recorded = false;
+        try (Recording recording = new Recording(settings())) {
+            file = Files.createTempFile("profile-", ".jfr");
+            recording.setName("admin-profile");
+            recording.setToDisk(true);
+            recording.start();
+            log.info("JFR profiling session started for {}s", seconds);
+            try {
+                Thread.sleep(Duration.ofSeconds(seconds).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            recording.stop();
+            recording.dump(file);
+            log.info("JFR profiling session finished: {} bytes", Files.size(file));
+            recorded = true;
+            return file;
+        } catch (IOException | ParseException e) {
+            throw new RuntimeException("Failed to record profile: " + e.getMessage());
+        } finally {
+            if (!recorded && file != null) {
+                delete(file);
+            }
+            running.set(false);
+        }
+    }
+
+    public ProfileSummary summarize(int seconds, int top) {
+        Path file = record(seconds);
+        try {
+            return summarize(file, top);
+        } finally {
+            delete(file);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete profile {}", file);
+        }
+    }
+
+    ProfileSummary summarize(Path file, int top) {
+        Map<String, Long> selfSamples = new HashMap<>();
+        Map<String, Long> applicationSamples = new HashMap<>();
+        Map<String, Long> allocatedBytes = new HashMap<>();
+        long executionSamples = 0;
+        long allocationSamples = 0;
+        long totalAllocated = 0;
+        long firstMillis = Long.MAX_VALUE;
+        long lastMillis = Long.MIN_VALUE;
+
+        try (RecordingFile recordingFile = new RecordingFile(file)) {
+            while (recordingFile.hasMoreEvents()) {
+                RecordedEvent event = recordingFile.readEvent();
+                firstMillis = Math.min(firstMillis, event.getStartTime().toEpochMilli());
+                lastMillis = Math.max(lastMillis, event.getEndTime().toEpochMilli());
+                RecordedStackTrace stackTrace = event.getStackTrace();
+                if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+                    continue;
+                }
+
+                String eventType = event.getEventType().getName();
+                if ("jdk.ExecutionSample".equals(eventType)) {
+                    executionSamples++;
+                    selfSamples.merge(frame(stackTrace.getFrames().get(0)), 1L, Long::sum);
+                    String application = firstApplicationFrame(stackTrace);
+                    if (application != null) {
+                        applicationSamples.merge(application, 1L, Long::sum);
+                    }
+                } else if ("jdk.ObjectAllocationSample".equals(eventType)) {
+                    allocationSamples++;
+                    long weight = event.getLong("weight");
+                    totalAllocated += weight;
+                    // Attribute to the first application frame when there is one; JDK frames alone say little
+                    String site = firstApplicationFrame(stackTrace);
+                    String objectClass = event.getClass("objectClass").getName();
+                    allocatedBytes.merge((site != null ? site : frame(stackTrace.getFrames().get(0)))
+                            + " [" + objectClass + "]", weight, Long::sum);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read profile: " + e.getMessage());
+        }
+
+        return ProfileSummary.builder()
+                .durationMillis(executionSamples + allocationSamples > 0 ? lastMillis - firstMillis : 0)
+                .executionSamples(executionSamples)
+                .allocationSamples(allocationSamples)
+                .hotMethods(topN(selfSamples, executionSamples, top))
+                .hotApplicationMethods(topN(applicationSamples, executionSamples, top))
+                .allocationSites(topN(allocatedBytes, totalAllocated, top))
+                .build();
+    }
+
+    private Map<String, String> settings() throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        settings.put("jdk.ExecutionSample#period", executionSamplePeriod);
+        settings.put("jdk.ObjectAllocationSample#enabled", "true");
+        settings.put("jdk.ObjectAllocationSample#throttle", allocationSampleThrottle);
+        settings.put("jdk.JavaMonitorEnter#threshold", lockThreshold);
+        settings.put("jdk.ThreadPark#threshold", lockThreshold);
+        return settings;
+    }
+
+    private static String firstApplicationFrame(RecordedStackTrace stackTrace) {
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith("com.project.")) {
+                return frame(frame);
+            }
+        }
+        return null;
+    }
+
+    private static String frame(RecordedFrame frame) {
+        String method = frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+        return frame.getLineNumber() > 0 ? method + ":" + frame.getLineNumber() : method;
+    }
+
+    private static List<ProfileHotSpot> topN(Map<String, Long> weights, long total, int top) {
+        List<ProfileHotSpot> hotSpots = new ArrayList<>();
+        weights.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(top)
+                .forEach(entry -> hotSpots.add(ProfileHotSpot.builder()
+                        .frame(entry.getKey())
+                        .weight(entry.getValue())
+                        .percent(total > 0 ? Math.round(entry.getValue() * 1000.0 / total) / 10.0 : 0)
+                        .build()));
+        return hotSpots;
+    }
+}
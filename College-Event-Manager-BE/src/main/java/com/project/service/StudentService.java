@@ -2,23 +2,30 @@ package com.project.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.project.entity.Student;
 import com.project.entity.User;
 import com.project.repository.StudentRepository;
+import com.project.repository.UserRepository;
 import com.project.dto.StudentDetails;
 
 @Service
 public class StudentService {
 
     private final StudentRepository studentRepo;
+    private final UserRepository userRepo;
 
-    	public StudentService(StudentRepository studentRepo) {
+    	public StudentService(StudentRepository studentRepo, UserRepository userRepo) {
 		this.studentRepo = studentRepo;
+		this.userRepo = userRepo;
 	}
 
+    @Transactional
     public Student createStudent(User user, String department) {
+        // The caller's User is usually detached (saved in an earlier transaction);
+        // @MapsId needs a managed instance to derive the student id from
         Student student = Student.builder()
-                .user(user)
+                .user(userRepo.getReferenceById(user.getId()))
                 .department(department)
                 .build();
         
@@ -0,0 +1,337 @@
+package com.project.service;
+
+import com.project.dto.QueueTicket;
+import com.project.entity.User;
+import com.project.enums.QueueTicketStatus;
+import com.project.repository.EventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Virtual waiting room for events with a scheduled registration opening. From lead-seconds before
+// registrationOpensAt until window-seconds after it, register calls are not run inline: the caller gets a
+// ticket in a per-event FIFO queue and polls it. Once the event opens, a single drain thread releases
+// tickets at drain-rate-per-second to a small pool that runs the normal registration path, so the opening
+// spike reaches the database as a steady trickle instead of thousands of simultaneous row locks on one event.
+// The drain thread never registers anyone itself: a slow registration holds an admission thread, not the
+// token bucket or room discovery, and no more tickets leave the queue than there are admission threads free.
+// Rooms and tickets live in memory, so each instance runs its own queue.
+@Service
+public class WaitingRoomService {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitingRoomService.class);
+
+    private final EventRepository eventRepository;
+    private final EventService eventService;
+    private final UserService userService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${waiting-room.enabled:true}")
+    private boolean enabled;
+
+    @Value("${waiting-room.drain-rate-per-second:50}")
+    private double drainRatePerSecond;
+
+    @Value("${waiting-room.lead-seconds:300}")
+    private long leadSeconds;
+
+    @Value("${waiting-room.window-seconds:600}")
+    private long windowSeconds;
+
+    @Value("${waiting-room.max-queue:100000}")
+    private int maxQueue;
+
+    @Value("${waiting-room.ticket-ttl-seconds:900}")
+    private long ticketTtlSeconds;
+
+    @Value("${waiting-room.refresh-ms:5000}")
+    private long refreshMs;
+
+    @Value("${waiting-room.tick-ms:100}")
+    private long tickMs;
+
+    @Value("${waiting-room.admission-threads:4}")
+    private int admissionThreads;
+
+    private final Map<Long, Room> rooms = new ConcurrentHashMap<>();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final AtomicInteger admitting = new AtomicInteger();
+    private ScheduledExecutorService scheduler;
+    private Executor admissions;
+
+    public WaitingRoomService(EventRepository eventRepository, EventService eventService,
+                              UserService userService, MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.eventService = eventService;
+        this.userService = userService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder("waiting.room.queued", rooms, all -> all.values().stream().mapToInt(Room::size).sum())
+                .description("Registration requests waiting for admission")
+                .register(meterRegistry);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "waiting-room");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threads = new AtomicInteger();
+        admissions = Executors.newFixedThreadPool(admissionThreads, r -> {
+            Thread thread = new Thread(r, "waiting-room-admit-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> runSafely(this::refresh), 0, refreshMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(() -> runSafely(this::drain), tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        if (admissions instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+    }
+
+    // Returns null when the event has no active waiting room and the caller should register directly
+    public QueueTicket enqueue(Long eventId, String email) {
+        Room room = enabled ? rooms.get(eventId) : null;
+        if (room == null) {
+            return null;
+        }
+
+        Ticket ticket;
+        synchronized (room) {
+            if (room.retired) {
+                return null;
+            }
+            ticket = room.byEmail.get(email);
+            // A repeat request while queued returns the same ticket; after an outcome it queues afresh
+            if (ticket == null || ticket.finishedAt != 0) {
+                if (room.size() >= maxQueue) {
+                    throw new RuntimeException("The waiting room for this event is full, please try again shortly");
+                }
+                ticket = new Ticket(newTicketId(), eventId, email, room.enqueued.incrementAndGet());
+                // The previous ticket stays readable by its id until it expires
+                room.byEmail.put(email, ticket);
+                tickets.put(ticket.id, ticket);
+                room.queue.add(ticket);
+            }
+        }
+        return view(ticket, room);
+    }
+
+    // Only the student who holds the ticket may read it; a mismatch looks the same as an unknown ticket
+    public QueueTicket status(Long eventId, String ticketId, String email) {
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket == null || !ticket.eventId.equals(eventId) || !ticket.email.equals(email)) {
+            throw new RuntimeException("Queue ticket not found");
+        }
+        return view(ticket, rooms.get(eventId));
+    }
+
+    // Opens rooms for events whose registration opens soon, and retires empty rooms past their window
+    void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> openings = eventRepository.findRegistrationOpeningsBetween(
+                now.minusSeconds(windowSeconds), now.plusSeconds(leadSeconds));
+
+        Set<Long> active = new HashSet<>();
+        for (Object[] row : openings) {
+            Long eventId = (Long) row[0];
+            LocalDateTime opensAt = (LocalDateTime) row[1];
+            active.add(eventId);
+            // A rescheduled opening moves the existing room rather than dropping its queue
+            rooms.computeIfAbsent(eventId, id -> {
+                log.info("Waiting room opened for event {} (registration opens at {})", id, opensAt);
+                return new Room(opensAt);
+            }).opensAt = opensAt;
+        }
+
+        rooms.entrySet().removeIf(entry -> {
+            Room room = entry.getValue();
+            synchronized (room) {
+                // An opening that was cleared or moved outside the horizon still finishes its queue first
+                room.retired = !active.contains(entry.getKey()) && room.queue.isEmpty();
+                return room.retired;
+            }
+        });
+
+        long expiry = System.currentTimeMillis() - ticketTtlSeconds * 1000;
+        tickets.values().removeIf(ticket -> {
+            if (ticket.finishedAt == 0 || ticket.finishedAt > expiry) {
+                return false;
+            }
+            Room room = rooms.get(ticket.eventId);
+            if (room != null) {
+                synchronized (room) {
+                    room.byEmail.remove(ticket.email, ticket);
+                }
+            }
+            return true;
+        });
+    }
+
+    // Token bucket per room, refilled at drain-rate-per-second with at most one second of burst. A ticket only
+    // leaves its queue when an admission thread is free for it; unused tokens wait, capped at the burst.
+    void drain() {
+        LocalDateTime now = LocalDateTime.now();
+        long nanos = System.nanoTime();
+        for (Map.Entry<Long, Room> entry : rooms.entrySet()) {
+            Room room = entry.getValue();
+            if (now.isBefore(room.opensAt)) {
+                room.lastRefill = nanos;
+                continue;
+            }
+            double refill = (nanos - room.lastRefill) / 1e9 * drainRatePerSecond;
+            room.tokens = Math.min(Math.max(1, drainRatePerSecond), room.tokens + refill);
+            room.lastRefill = nanos;
+
+            Ticket ticket;
+            while (room.tokens >= 1 && admitting.get() < admissionThreads && (ticket = room.queue.poll()) != null) {
+                room.tokens--;
+                room.dequeued.incrementAndGet();
+                admitting.incrementAndGet();
+                Long eventId = entry.getKey();
+                Ticket admitted = ticket;
+                admissions.execute(() -> {
+                    try {
+                        admit(eventId, admitted);
+                    } finally {
+                        admitting.decrementAndGet();
+                    }
+                });
+            }
+        }
+    }
+
+    private void admit(Long eventId, Ticket ticket) {
+        try {
+            User user = userService.findByEmail(ticket.email);
+            eventService.registerForEvent(eventId, user.getId());
+            ticket.finish(QueueTicketStatus.ADMITTED, "Registered successfully");
+        } catch (RuntimeException e) {
+            ticket.finish(QueueTicketStatus.REJECTED, e.getMessage());
+        }
+        meterRegistry.counter("waiting.room.admissions", "outcome", ticket.status.name().toLowerCase(Locale.ROOT))
+                .increment();
+    }
+
+    private QueueTicket view(Ticket ticket, Room room) {
+        QueueTicket.QueueTicketBuilder builder = QueueTicket.builder()
+                .ticketId(ticket.id)
+                .eventId(ticket.eventId)
+                .status(ticket.status)
+                .message(ticket.message);
+        if (room == null || ticket.status != QueueTicketStatus.QUEUED) {
+            return builder.build();
+        }
+
+        long position = Math.max(1, ticket.sequence - room.dequeued.get());
+        long untilOpenMs = Math.max(0, Duration.between(LocalDateTime.now(), room.opensAt).toMillis());
+        long waitMs = untilOpenMs + (long) (position * 1000 / drainRatePerSecond);
+        // Poll about twice before the expected admission, within sane bounds
+        long pollAfterMs = Math.max(500, Math.min(5000, waitMs / 2));
+        return builder
+                .position(position)
+                .estimatedWaitSeconds((waitMs + 999) / 1000)
+                .opensAt(room.opensAt)
+                .message(untilOpenMs > 0 ? "Registration has not opened yet" : "Waiting for admission")
+                .pollAfterMs(pollAfterMs)
+                .build();
+    }
+
+    private String newTicketId() {
+        byte[] bytes = new byte[8];
+        random.nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    private void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            // An exception escaping a scheduled task would cancel all of its future runs
+            log.error("Waiting room task failed", e);
+        }
+    }
+
+    private static final class Room {
+
+        private final Queue<Ticket> queue = new ConcurrentLinkedQueue<>();
+        private final Map<String, Ticket> byEmail = new ConcurrentHashMap<>();
+        private final AtomicLong enqueued = new AtomicLong();
+        private final AtomicLong dequeued = new AtomicLong();
+        private volatile LocalDateTime opensAt;
+        private boolean retired;
+        // Only touched by the drain thread
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+
+        private Room(LocalDateTime opensAt) {
+            this.opensAt = opensAt;
+        }
+
+        private int size() {
+            return (int) (enqueued.get() - dequeued.get());
+        }
+    }
+
+    private static final class Ticket {
+
+        private final String id;
+        private final Long eventId;
+        private final String email;
+        private final long sequence;
+        private volatile QueueTicketStatus status = QueueTicketStatus.QUEUED;
+        private volatile String message;
+        private volatile long finishedAt;
+
+        private Ticket(String id, Long eventId, String email, long sequence) {
+            this.id = id;
+            this.eventId = eventId;
+            this.email = email;
+            this.sequence = sequence;
+        }
+
+        private void finish(QueueTicketStatus status, String message) {
+            this.message = message;
+            this.status = status;
+            this.finishedAt = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.project.venue;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Half-open intervals [start, end) tagged with an event id, kept in a treap ordered by (start, id, end), so
+// an event being moved can hold its old and new slot at once. Every node also holds the largest end in its
+// subtree, so a search skips each subtree that finishes before the query begins: finding one overlap takes
+// O(log n) expected time and listing k of them O(k + log n), even when intervals already overlap each other
+// (bookings made before clash checks existed). Not thread-safe.
+final class IntervalTree {
+
+    private Node root;
+    private int size;
+
+    void insert(long start, long end, long id) {
+        root = insert(root, new Node(start, end, id));
+        size++;
+    }
+
+    boolean remove(long start, long end, long id) {
+        int before = size;
+        root = remove(root, start, end, id);
+        return size < before;
+    }
+
+    // Id of an interval overlapping [start, end) other than excludeId, or -1
+    long findOverlap(long start, long end, long excludeId) {
+        return findOverlap(root, start, end, excludeId);
+    }
+
+    // Every interval overlapping [start, end) as {start, end, id}, in start order
+    void collectOverlaps(long start, long end, List<long[]> out) {
+        collectOverlaps(root, start, end, out);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, added.end, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node remove(Node node, long start, long end, long id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, end, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, start, end, id);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, start, end, id);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    // Joins two treaps where every key in left is below every key in right
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static long findOverlap(Node node, long start, long end, long excludeId) {
+        if (node == null || node.maxEnd <= start) {
+            return -1;
+        }
+        long found = findOverlap(node.left, start, end, excludeId);
+        if (found != -1) {
+            return found;
+        }
+        // This node and its right subtree all begin at or after the query ends
+        if (node.start >= end) {
+            return -1;
+        }
+        if (node.end > start && node.id != excludeId) {
+            return node.id;
+        }
+        return findOverlap(node.right, start, end, excludeId);
+    }
+
+    private static void collectOverlaps(Node node, long start, long end, List<long[]> out) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collectOverlaps(node.left, start, end, out);
+        if (node.start >= end) {
+            return;
+        }
+        if (node.end > start) {
+            out.add(new long[]{node.start, node.end, node.id});
+        }
+        collectOverlaps(node.right, start, end, out);
+    }
+
+    private static int compare(long start, long id, long end, Node node) {
+        if (start != node.start) {
+            return Long.compare(start, node.start);
+        }
+        return id != node.id ? Long.compare(id, node.id) : Long.compare(end, node.end);
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static final class Node {
+
+        private final long start;
+        private final long end;
+        private final long id;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(long start, long end, long id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+        }
+
+        private void update() {
+            maxEnd = end;
+            if (left != null && left.maxEnd > maxEnd) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > maxEnd) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+}
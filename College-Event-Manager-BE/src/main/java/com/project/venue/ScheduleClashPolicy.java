@@ -0,0 +1,10 @@
+package com.project.venue;
+
+public enum ScheduleClashPolicy {
+    // No check, and no registration index held in memory
+    OFF,
+    // Register anyway; the overlap is logged and counted
+    WARN,
+    // Refuse the registration, naming the event it overlaps
+    REJECT
+}
@@ -0,0 +1,190 @@
+package com.project.venue;
+
+import com.project.entity.Event;
+import com.project.repository.EventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Each user's registrations in memory, as a small sorted array of event ids, so registerForEvent can check
+// the new event against the ones the student already holds without loading them. Start and end come from
+// VenueSchedule's bookings rather than being copied here: those follow every reschedule, so nothing needs
+// re-sorting when an event moves, and a check is one hash lookup per registration held. Registrations for
+// events that have ended are dropped as the user's array is next rewritten, and are not loaded at startup.
+// Check and add happen in one step per user, inside the registration's transaction, and are undone if it
+// rolls back, so two concurrent registrations by one student cannot both slip past each other.
+@Component
+public class StudentSchedule {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentSchedule.class);
+
+    private static final long[] NONE = new long[0];
+
+    private final EventRepository eventRepository;
+    private final VenueSchedule venueSchedule;
+    private final MeterRegistry meterRegistry;
+    private volatile Map<Long, long[]> registrations = new ConcurrentHashMap<>();
+
+    @Value("${registration.schedule-clash:WARN}")
+    private ScheduleClashPolicy policy;
+
+    public StudentSchedule(EventRepository eventRepository, VenueSchedule venueSchedule,
+                           MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.venueSchedule = venueSchedule;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("registration.schedule.users", this, schedule -> schedule.registrations.size())
+                .description("Users with upcoming registrations held in the student schedule")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        if (policy == ScheduleClashPolicy.OFF) {
+            return;
+        }
+        long start = System.nanoTime();
+        Map<Long, long[]> loaded = new ConcurrentHashMap<>();
+        // From yesterday, as an event may run past midnight
+        List<Object[]> rows = eventRepository.findRegistrationsFrom(LocalDate.now().minusDays(1));
+        for (Object[] row : rows) {
+            long eventId = (Long) row[1];
+            loaded.merge((Long) row[0], new long[]{eventId}, (held, added) -> with(held, eventId));
+        }
+        registrations = loaded;
+        log.info("Loaded {} upcoming registrations for {} users in {} ms", rows.size(), loaded.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Adds the event to the user's registrations. Returns a message naming an overlapping registration when
+    // the policy is REJECT, in which case nothing is added; under WARN the overlap is only logged.
+    public String register(Long userId, Event event) {
+        if (policy == ScheduleClashPolicy.OFF) {
+            return null;
+        }
+        long eventId = event.getId();
+        long start = VenueSchedule.minutes(event.getDate(), event.getTime());
+        long end = start + Event.durationOrDefault(event.getDurationMinutes());
+        long now = VenueSchedule.minutes(LocalDate.now(), LocalTime.now());
+
+        VenueSchedule.Booking[] clash = new VenueSchedule.Booking[1];
+        registrations.compute(userId, (id, held) -> {
+            long[] upcoming = held == null ? NONE : Arrays.stream(held)
+                    .filter(heldId -> !hasEnded(heldId, now))
+                    .toArray();
+            for (long heldId : upcoming) {
+                VenueSchedule.Booking booking = venueSchedule.bookingOf(heldId);
+                if (booking != null && heldId != eventId && booking.start < end && booking.end > start) {
+                    clash[0] = booking;
+                    break;
+                }
+            }
+            if (clash[0] != null && policy == ScheduleClashPolicy.REJECT) {
+                return upcoming.length > 0 ? upcoming : null;
+            }
+            return with(upcoming, eventId);
+        });
+
+        if (clash[0] != null) {
+            meterRegistry.counter("registration.schedule.clashes", "policy", policy.name().toLowerCase(Locale.ROOT))
+                    .increment();
+            VenueSchedule.Booking other = clash[0];
+            String message = "You are already registered for \"" + other.title + "\" from " + other.startTime()
+                    + " to " + other.endTime() + " on " + other.startDate();
+            if (policy == ScheduleClashPolicy.REJECT) {
+                return message;
+            }
+            log.info("User {} registered for event {} overlapping event {}", userId, eventId, other.eventId);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(userId, eventId);
+                    }
+                }
+            });
+        }
+        return null;
+    }
+
+    public void releaseAfterCommit(Long userId, Long eventId) {
+        if (policy == ScheduleClashPolicy.OFF) {
+            return;
+        }
+        afterCommit(() -> release(userId, eventId));
+    }
+
+    // For a deleted event; reads its participants now, while the rows still exist
+    public void releaseEventAfterCommit(Long eventId) {
+        if (policy == ScheduleClashPolicy.OFF) {
+            return;
+        }
+        List<Long> userIds = eventRepository.findParticipantIds(eventId);
+        afterCommit(() -> userIds.forEach(userId -> release(userId, eventId)));
+    }
+
+    private void release(Long userId, long eventId) {
+        registrations.computeIfPresent(userId, (id, held) -> {
+            int index = Arrays.binarySearch(held, eventId);
+            if (index < 0) {
+                return held;
+            }
+            if (held.length == 1) {
+                return null;
+            }
+            long[] remaining = new long[held.length - 1];
+            System.arraycopy(held, 0, remaining, 0, index);
+            System.arraycopy(held, index + 1, remaining, index, remaining.length - index);
+            return remaining;
+        });
+    }
+
+    private boolean hasEnded(long eventId, long now) {
+        VenueSchedule.Booking booking = venueSchedule.bookingOf(eventId);
+        return booking != null && booking.end <= now;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // A copy with eventId inserted in order; arrays are never changed once published
+    private static long[] with(long[] held, long eventId) {
+        int index = Arrays.binarySearch(held, eventId);
+        if (index >= 0) {
+            return held;
+        }
+        int at = -index - 1;
+        long[] added = new long[held.length + 1];
+        System.arraycopy(held, 0, added, 0, at);
+        added[at] = eventId;
+        System.arraycopy(held, at, added, at + 1, held.length - at);
+        return added;
+    }
+}
@@ -0,0 +1,254 @@
+package com.project.venue;
+
+import com.project.dto.FreeSlot;
+import com.project.entity.Event;
+import com.project.repository.EventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Venue bookings in memory, one IntervalTree per normalized location, so a clash check never scans events
+// in SQL. Loaded from the events table at startup and kept current by EventService: reserve() checks and
+// books in one step under the venue's lock, inside the write transaction, and undoes itself if that
+// transaction rolls back, so two organizers racing for the same hall cannot both get it. The lock is per
+// instance; with several instances, requests for one venue would have to reach the same one.
+@Component
+public class VenueSchedule {
+
+    private static final Logger log = LoggerFactory.getLogger(VenueSchedule.class);
+
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    private final EventRepository eventRepository;
+    private final Counter clashes;
+    private volatile Map<String, IntervalTree> venues = new ConcurrentHashMap<>();
+    private volatile Map<Long, Booking> bookings = new ConcurrentHashMap<>();
+
+    @Value("${venues.day-start:08:00}")
+    private LocalTime dayStart;
+
+    @Value("${venues.day-end:22:00}")
+    private LocalTime dayEnd;
+
+    public VenueSchedule(EventRepository eventRepository, MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.clashes = Counter.builder("venues.clashes")
+                .description("Event creates and updates rejected for double-booking a venue")
+                .register(meterRegistry);
+        Gauge.builder("venues.bookings", this, schedule -> schedule.bookings.size())
+                .description("Event bookings held in the venue schedule")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        long start = System.nanoTime();
+        Map<String, IntervalTree> loadedVenues = new ConcurrentHashMap<>();
+        Map<Long, Booking> loadedBookings = new ConcurrentHashMap<>();
+        for (Object[] row : eventRepository.findBookings()) {
+            Booking booking = booking((Long) row[0], (String) row[1], (String) row[2],
+                    (LocalDate) row[3], (LocalTime) row[4], Event.durationOrDefault((Integer) row[5]));
+            loadedVenues.computeIfAbsent(booking.venue, venue -> new IntervalTree())
+                    .insert(booking.start, booking.end, booking.eventId);
+            loadedBookings.put(booking.eventId, booking);
+        }
+        venues = loadedVenues;
+        bookings = loadedBookings;
+        log.info("Loaded {} bookings for {} venues in {} ms", loadedBookings.size(), loadedVenues.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Books the event's slot in place of its current one, or throws if another event holds the venue then.
+    // The current slot stays held until the transaction ends, so a rollback hands it back without racing a
+    // booking made in the meantime. An unchanged slot is not checked again: events that overlapped before
+    // clash checks existed can still be edited.
+    public void reserve(Event event) {
+        Booking wanted = booking(event.getId(), event.getTitle(), event.getLocation(), event.getDate(),
+                event.getTime(), Event.durationOrDefault(event.getDurationMinutes()));
+        Booking previous = bookings.get(event.getId());
+        if (previous != null && previous.sameSlot(wanted)) {
+            // Keeps the title used in clash messages current
+            bookings.replace(wanted.eventId, previous, wanted);
+            return;
+        }
+
+        IntervalTree tree = venues.computeIfAbsent(wanted.venue, venue -> new IntervalTree());
+        long clashId;
+        synchronized (tree) {
+            // Excluding the event's own id lets the new slot overlap the one it replaces
+            clashId = tree.findOverlap(wanted.start, wanted.end, wanted.eventId);
+            if (clashId == -1) {
+                tree.insert(wanted.start, wanted.end, wanted.eventId);
+                bookings.put(wanted.eventId, wanted);
+            }
+        }
+        if (clashId != -1) {
+            clashes.increment();
+            Booking clash = bookings.get(clashId);
+            throw new RuntimeException(clash == null
+                    ? event.getLocation() + " is already booked at that time"
+                    : event.getLocation() + " is already booked from " + clash.startTime() + " to "
+                            + clash.endTime() + " on " + clash.startDate() + " for \"" + clash.title + "\"");
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (previous != null) {
+                unbook(previous);
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    if (previous != null) {
+                        unbook(previous);
+                    }
+                    return;
+                }
+                unbook(wanted);
+                if (previous != null) {
+                    bookings.putIfAbsent(previous.eventId, previous);
+                }
+            }
+        });
+    }
+
+    public void releaseAfterCommit(Long eventId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    release(eventId);
+                }
+            });
+        } else {
+            release(eventId);
+        }
+    }
+
+    // Gaps between bookings within the venue's opening hours on the given day, at least minMinutes long
+    public List<FreeSlot> freeSlots(String location, LocalDate date, int minMinutes) {
+        if (location == null || location.isBlank() || date == null) {
+            throw new RuntimeException("location and date are required");
+        }
+        long open = minutes(date, dayStart);
+        long close = minutes(date, dayEnd);
+        List<long[]> booked = new ArrayList<>();
+        IntervalTree tree = venues.get(normalize(location));
+        if (tree != null) {
+            synchronized (tree) {
+                tree.collectOverlaps(open, close, booked);
+            }
+        }
+
+        List<FreeSlot> free = new ArrayList<>();
+        long cursor = open;
+        // In start order, so a gap ends where the next booking begins
+        for (long[] interval : booked) {
+            addSlot(free, cursor, Math.min(interval[0], close), minMinutes);
+            cursor = Math.max(cursor, interval[1]);
+        }
+        addSlot(free, cursor, close, minMinutes);
+        return free;
+    }
+
+    // The event's current booking, or null if it has none (deleted, or mid-update on another thread)
+    Booking bookingOf(long eventId) {
+        return bookings.get(eventId);
+    }
+
+    // "Block A,  Room 101" and "block a - room 101" are the same hall
+    static String normalize(String location) {
+        return location.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private void release(Long eventId) {
+        Booking booking = bookings.get(eventId);
+        if (booking != null) {
+            unbook(booking);
+        }
+    }
+
+    private void unbook(Booking booking) {
+        IntervalTree tree = venues.get(booking.venue);
+        if (tree == null) {
+            return;
+        }
+        synchronized (tree) {
+            if (tree.remove(booking.start, booking.end, booking.eventId)) {
+                bookings.remove(booking.eventId, booking);
+            }
+        }
+    }
+
+    private static void addSlot(List<FreeSlot> free, long from, long to, int minMinutes) {
+        if (to - from >= Math.max(minMinutes, 1)) {
+            free.add(FreeSlot.builder()
+                    .start(LocalTime.ofSecondOfDay(Math.floorMod(from, MINUTES_PER_DAY) * 60))
+                    .end(LocalTime.ofSecondOfDay(Math.floorMod(to, MINUTES_PER_DAY) * 60))
+                    .minutes((int) (to - from))
+                    .build());
+        }
+    }
+
+    private static Booking booking(Long eventId, String title, String location, LocalDate date, LocalTime time,
+                                   int durationMinutes) {
+        long start = minutes(date, time);
+        return new Booking(eventId, title, normalize(location), start, start + durationMinutes);
+    }
+
+    // Minutes since the epoch, local time
+    static long minutes(LocalDate date, LocalTime time) {
+        return date.toEpochDay() * MINUTES_PER_DAY + time.toSecondOfDay() / 60;
+    }
+
+    static final class Booking {
+
+        final long eventId;
+        final String title;
+        final String venue;
+        final long start;
+        final long end;
+
+        private Booking(long eventId, String title, String venue, long start, long end) {
+            this.eventId = eventId;
+            this.title = title;
+            this.venue = venue;
+            this.start = start;
+            this.end = end;
+        }
+
+        boolean sameSlot(Booking other) {
+            return venue.equals(other.venue) && start == other.start && end == other.end;
+        }
+
+        LocalDate startDate() {
+            return LocalDate.ofEpochDay(Math.floorDiv(start, MINUTES_PER_DAY));
+        }
+
+        LocalTime startTime() {
+            return LocalTime.ofSecondOfDay(Math.floorMod(start, MINUTES_PER_DAY) * 60);
+        }
+
+        LocalTime endTime() {
+            return LocalTime.ofSecondOfDay(Math.floorMod(end, MINUTES_PER_DAY) * 60);
+        }
+    }
+}
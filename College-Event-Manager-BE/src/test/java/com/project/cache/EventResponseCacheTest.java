@@ -0,0 +1,212 @@
+package com.project.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.dto.EventDto;
+import com.project.repository.EventChangeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+
+class EventResponseCacheTest {
+
+    private final EventChangeRepository eventChangeRepository = Mockito.mock(EventChangeRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EventResponseCache cache = new EventResponseCache(eventChangeRepository, objectMapper,
+            meterRegistry);
+    // Loads per event id, to tell a hit from a rebuild
+    private final Map<Long, Integer> loads = new HashMap<>();
+
+    EventResponseCacheTest() {
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxBytes", 32L * 1024 * 1024);
+        ReflectionTestUtils.setField(cache, "maxAgeSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "gzipMinSize", 1024);
+        Mockito.when(eventChangeRepository.findLatestIdByEventId(anyLong())).thenReturn(1L);
+    }
+
+    @Test
+    void servesTheSameBytesUntilTheVersionMoves() throws IOException {
+        byte[] first = body(lookup(1, event(1, "Before", 10), request()));
+        byte[] again = body(lookup(1, event(1, "Unused", 10), request()));
+
+        assertArrayEquals(first, again);
+        assertEquals(1, loads.get(1L));
+        assertEquals(1.0, meterRegistry.counter("event.response.cache.requests", "result", "hit").count());
+
+        Mockito.when(eventChangeRepository.findLatestIdByEventId(1L)).thenReturn(2L);
+        byte[] rebuilt = body(lookup(1, event(1, "After", 10), request()));
+
+        assertEquals(2, loads.get(1L));
+        assertEquals("After", objectMapper.readValue(rebuilt, EventDto.class).getTitle());
+    }
+
+    @Test
+    void eventsWithoutAChangeLogRowAreNotCached() throws IOException {
+        Mockito.when(eventChangeRepository.findLatestIdByEventId(1L)).thenReturn(null);
+
+        assertTrue(lookup(1, event(1, "New", 10), request()).isEmpty());
+        assertNull(loads.get(1L));
+    }
+
+    @Test
+    void gzipIsServedOnlyToClientsThatAcceptIt() throws IOException {
+        Supplier<EventDto> large = event(1, "Large", 4096);
+        ResponseEntity<byte[]> plain = lookup(1, large, request()).orElseThrow();
+        MockHttpServletRequest gzipRequest = request();
+        gzipRequest.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        ResponseEntity<byte[]> gzipped = lookup(1, large, gzipRequest).orElseThrow();
+
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, plain.getHeaders().getFirst(HttpHeaders.VARY));
+        assertEquals(MediaType.APPLICATION_JSON, plain.getHeaders().getContentType());
+        assertEquals(plain.getBody().length, plain.getHeaders().getContentLength());
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(gzipped.getBody().length, gzipped.getHeaders().getContentLength());
+        assertArrayEquals(plain.getBody(), gunzip(gzipped.getBody()));
+        assertEquals(1, loads.get(1L));
+    }
+
+    @Test
+    void smallBodiesHaveNoGzipCopy() throws IOException {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        ResponseEntity<byte[]> response = lookup(1, event(1, "Small", 10), request).orElseThrow();
+
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertNull(response.getHeaders().getFirst(HttpHeaders.VARY));
+    }
+
+    @Test
+    void otherFormatsFallThroughToTheConverters() throws IOException {
+        for (String accept : new String[]{"application/cbor", "application/x-jackson-smile",
+                "application/json;q=0.5, application/cbor", "text/html", "not a media type"}) {
+            MockHttpServletRequest request = request();
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+
+            assertTrue(lookup(1, event(1, "Talk", 10), request).isEmpty(), accept);
+        }
+        assertNull(loads.get(1L));
+        Mockito.verifyNoInteractions(eventChangeRepository);
+
+        for (String accept : new String[]{"application/json", "*/*", "application/*"}) {
+            MockHttpServletRequest request = request();
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+
+            assertTrue(lookup(1, event(1, "Talk", 10), request).isPresent(), accept);
+        }
+    }
+
+    @Test
+    void evictionKeepsRecentlyUsedEntriesWithinMaxBytes() throws IOException {
+        ReflectionTestUtils.setField(cache, "gzipMinSize", Integer.MAX_VALUE);
+        long size = body(lookup(100, event(100, "Sized", 300), request())).length;
+        ReflectionTestUtils.invokeMethod(cache, "evict", 100L);
+        // Sixteen entries fit; a single entry may take at most a sixteenth
+        long maxBytes = size * 16;
+        ReflectionTestUtils.setField(cache, "maxBytes", maxBytes);
+
+        for (long id = 1; id <= 16; id++) {
+            lookup(id, event(id, "Sized", 300), request());
+        }
+        assertEquals(16.0, gauge("event.response.cache.entries"));
+        // Event 1 becomes the most recently used, leaving event 2 the least
+        lookup(1, event(1, "Sized", 300), request());
+        lookup(17, event(17, "Sized", 300), request());
+
+        assertTrue(gauge("event.response.cache.bytes") <= maxBytes);
+        assertEquals(16.0, gauge("event.response.cache.entries"));
+        lookup(1, event(1, "Sized", 300), request());
+        assertEquals(1, loads.get(1L));
+        lookup(2, event(2, "Sized", 300), request());
+        assertEquals(2, loads.get(2L));
+    }
+
+    @Test
+    void oversizedEntriesAreServedButNotKept() throws IOException {
+        ReflectionTestUtils.setField(cache, "maxBytes", 16L * 100);
+
+        assertTrue(lookup(1, event(1, "Huge", 500), request()).isPresent());
+        lookup(1, event(1, "Huge", 500), request());
+
+        assertEquals(2, loads.get(1L));
+        assertEquals(0.0, gauge("event.response.cache.bytes"));
+    }
+
+    @Test
+    void evictionAfterCommitDropsTheEntry() throws IOException {
+        lookup(1, event(1, "Talk", 10), request());
+
+        cache.evictAfterCommit(1L);
+        lookup(1, event(1, "Talk", 10), request());
+
+        assertEquals(2, loads.get(1L));
+    }
+
+    @Test
+    void disabledCacheServesNothing() throws IOException {
+        ReflectionTestUtils.setField(cache, "enabled", false);
+
+        assertFalse(lookup(1, event(1, "Talk", 10), request()).isPresent());
+    }
+
+    private Optional<ResponseEntity<byte[]>> lookup(long id, Supplier<EventDto> loader,
+                                                    MockHttpServletRequest request) throws IOException {
+        return cache.lookup(id, loader, request);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    // Counts its loads; the description pads the JSON to about the given size
+    private Supplier<EventDto> event(long id, String title, int size) {
+        return () -> {
+            loads.merge(id, 1, Integer::sum);
+            return EventDto.builder()
+                    .id(id)
+                    .title(title)
+                    .description("a registration desk opens early ".repeat(size / 32 + 1).substring(0, size))
+                    .date(LocalDate.now().plusDays(7))
+                    .time(LocalTime.NOON)
+                    .build();
+        };
+    }
+
+    private static byte[] body(Optional<ResponseEntity<byte[]>> response) {
+        return response.orElseThrow().getBody();
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/events/1");
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
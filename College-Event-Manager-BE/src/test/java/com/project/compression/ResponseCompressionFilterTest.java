@@ -0,0 +1,275 @@
+package com.project.compression;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ResponseCompressionFilterTest {
+
+    private static final String SMILE = "application/x-jackson-smile";
+
+    private final ResponseCompressionFilter filter = new ResponseCompressionFilter(new SimpleMeterRegistry(),
+            1024, 1024, 2048);
+
+    @Test
+    void compressesJsonFromItsThreshold() throws Exception {
+        byte[] body = body(1024);
+
+        MockHttpServletResponse response = run((request, res) -> {
+            res.setContentType("application/json");
+            res.getOutputStream().write(body);
+        });
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertNull(response.getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertArrayEquals(body, gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    void sendsJsonBelowItsThresholdAsIs() throws Exception {
+        byte[] body = body(1023);
+
+        MockHttpServletResponse response = run((request, res) -> {
+            res.setContentType("application/json;charset=UTF-8");
+            res.getOutputStream().write(body);
+        });
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertEquals("1023", response.getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    @Test
+    void smileHasAHigherThreshold() throws Exception {
+        MockHttpServletResponse small = run((request, res) -> {
+            res.setContentType(SMILE);
+            res.getOutputStream().write(body(1500));
+        });
+        MockHttpServletResponse large = run((request, res) -> {
+            res.setContentType(SMILE);
+            res.getOutputStream().write(body(2048));
+        });
+
+        assertNull(small.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", large.getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void neverCompressesTypesWithoutAThreshold() throws Exception {
+        byte[] body = body(8192);
+
+        MockHttpServletResponse response = run((request, res) -> {
+            res.setContentType("image/png");
+            res.setContentLength(body.length);
+            res.getOutputStream().write(body);
+        });
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(response.getHeader(HttpHeaders.VARY));
+        assertEquals("8192", response.getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    @Test
+    void dropsTheApplicationContentLengthWhenCompressing() throws Exception {
+        byte[] body = body(4096);
+
+        MockHttpServletResponse response = run((request, res) -> {
+            res.setContentType("application/json");
+            ((HttpServletResponse) res).setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(body.length));
+            res.getOutputStream().write(body);
+        });
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(response.getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertArrayEquals(body, gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    void leavesAlreadyEncodedBodiesAlone() throws Exception {
+        byte[] body = body(4096);
+
+        MockHttpServletResponse response = run((request, res) -> {
+            res.setContentType("application/json");
+            ((HttpServletResponse) res).setHeader(HttpHeaders.CONTENT_ENCODING, "br");
+            res.getOutputStream().write(body);
+        });
+
+        assertEquals("br", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    @Test
+    void skipsClientsThatRefuseGzip() throws Exception {
+        MockHttpServletRequest request = request();
+        request.removeHeader(HttpHeaders.ACCEPT_ENCODING);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            res.setContentType("application/json");
+            res.getOutputStream().write(body(4096));
+        });
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(4096, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void resetBeforeTheDecisionDiscardsTheBufferedBody() throws Exception {
+        byte[] body = body(300);
+
+        MockHttpServletResponse response = run((request, res) -> {
+            res.setContentType("application/json");
+            res.getOutputStream().write(body(900));
+            res.resetBuffer();
+            res.getOutputStream().write(body);
+        });
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("300", response.getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    @Test
+    void flushBeforeTheDecisionDoesNotCommit() throws Exception {
+        MockHttpServletResponse response = run((request, res) -> {
+            res.setContentType("application/json");
+            res.getWriter().write("{\"partial\":");
+            res.flushBuffer();
+            assertFalse(res.isCommitted());
+            // Still possible, because nothing has been sent
+            ((HttpServletResponse) res).setHeader("X-Late", "yes");
+            res.getWriter().write("true}");
+        });
+
+        assertEquals("yes", response.getHeader("X-Late"));
+        assertEquals("{\"partial\":true}", response.getContentAsString());
+        assertEquals("16", response.getHeader(HttpHeaders.CONTENT_LENGTH));
+    }
+
+    @Test
+    void writeListenerSendsTheBodyUncompressed() throws Exception {
+        RecordingStream raw = new RecordingStream();
+        HttpServletResponse container = new HttpServletResponseWrapper(new MockHttpServletResponse()) {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return raw;
+            }
+        };
+        WriteListener listener = new WriteListener() {
+            @Override
+            public void onWritePossible() {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+        };
+        byte[] buffered = body(500);
+
+        filter.doFilter(request(), container, (req, res) -> {
+            res.setContentType("application/json");
+            ServletOutputStream out = res.getOutputStream();
+            out.write(buffered);
+            out.setWriteListener(listener);
+            out.write(body(4096));
+        });
+
+        assertSame(listener, raw.listener);
+        assertNull(container.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(500 + 4096, raw.bytes.size());
+        assertArrayEquals(buffered, Arrays.copyOf(raw.bytes.toByteArray(), 500));
+    }
+
+    @Test
+    void asyncResponsesAreFinishedOnCompletion() throws Exception {
+        MockHttpServletRequest request = request();
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServletResponse[] wrapped = new HttpServletResponse[1];
+
+        filter.doFilter(request, response, (req, res) -> {
+            req.startAsync();
+            res.setContentType("application/json");
+            wrapped[0] = (HttpServletResponse) res;
+        });
+        // Written after the filter chain has returned, as an async handler would
+        byte[] body = body(4096);
+        wrapped[0].getOutputStream().write(body);
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(body, gunzip(response.getContentAsByteArray()));
+    }
+
+    private MockHttpServletResponse run(FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(), response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        return request;
+    }
+
+    // Repetitive like real JSON, so it compresses
+    private static byte[] body(int size) {
+        byte[] body = new byte[size];
+        for (int i = 0; i < size; i++) {
+            body[i] = (byte) ('a' + i % 7);
+        }
+        return body;
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static final class RecordingStream extends ServletOutputStream {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private WriteListener listener;
+
+        @Override
+        public void write(int b) {
+            bytes.write(b);
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            listener = writeListener;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.project.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveBulkheadTest {
+
+    private static final long TARGET = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    void rejectsOnceTheLimitIsInFlight() {
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("test", 2, 1, 4, TARGET, 0.5);
+
+        assertTrue(bulkhead.tryAcquire());
+        assertTrue(bulkhead.tryAcquire());
+        assertFalse(bulkhead.tryAcquire());
+
+        bulkhead.release(FAST, false);
+        assertTrue(bulkhead.tryAcquire());
+    }
+
+    @Test
+    void fastCompletionsGrowTheLimitUpToMax() {
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("test", 4, 1, 6, TARGET, 0.5);
+
+        for (int round = 0; round < 100; round++) {
+            int admitted = fill(bulkhead);
+            for (int i = 0; i < admitted; i++) {
+                bulkhead.release(FAST, false);
+                assertTrue(bulkhead.getLimit() <= 6);
+            }
+        }
+
+        assertEquals(6, bulkhead.getLimit());
+    }
+
+    @Test
+    void mostlyIdleBulkheadDoesNotGrow() {
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("test", 10, 1, 20, TARGET, 0.5);
+
+        // One request at a time never uses half of the limit, so success says nothing about a larger one
+        for (int i = 0; i < 100; i++) {
+            assertTrue(bulkhead.tryAcquire());
+            bulkhead.release(FAST, false);
+        }
+
+        assertEquals(10, bulkhead.getLimit());
+    }
+
+    @Test
+    void slowCompletionsInOneIntervalCutTheLimitOnce() {
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("test", 10, 1, 20, TimeUnit.SECONDS.toNanos(60), 0.5);
+        fill(bulkhead);
+
+        // A burst of slow requests that were in flight together is one congestion signal
+        for (int i = 0; i < 10; i++) {
+            bulkhead.release(TimeUnit.SECONDS.toNanos(61), false);
+        }
+
+        assertEquals(5, bulkhead.getLimit());
+    }
+
+    @Test
+    void slowCompletionsInLaterIntervalsCutAgain() throws InterruptedException {
+        long target = TimeUnit.MILLISECONDS.toNanos(5);
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("test", 16, 1, 20, target, 0.5);
+
+        for (int expected : new int[]{8, 4, 2}) {
+            assertTrue(bulkhead.tryAcquire());
+            bulkhead.release(target * 2, false);
+            assertEquals(expected, bulkhead.getLimit());
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void failedCompletionsCutTheLimitDownToMin() throws InterruptedException {
+        long target = TimeUnit.MILLISECONDS.toNanos(1);
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("test", 16, 3, 20, target, 0.5);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(bulkhead.tryAcquire());
+            // Fast but failed still backs off
+            bulkhead.release(0, true);
+            assertTrue(bulkhead.getLimit() >= 3);
+            Thread.sleep(2);
+        }
+
+        assertEquals(3, bulkhead.getLimit());
+    }
+
+    @Test
+    void mixedCompletionsKeepTheLimitWithinBounds() {
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("test", 8, 2, 12, TimeUnit.MICROSECONDS.toNanos(1), 0.7);
+        Random random = new Random(42);
+
+        for (int round = 0; round < 2000; round++) {
+            int admitted = fill(bulkhead);
+            assertEquals(bulkhead.getLimit(), admitted);
+            for (int i = 0; i < admitted; i++) {
+                int outcome = random.nextInt(10);
+                // Mostly fast, some slow, a few failed
+                bulkhead.release(outcome < 7 ? 0 : SLOW, outcome == 9);
+                int limit = bulkhead.getLimit();
+                assertTrue(limit >= 2 && limit <= 12, "limit " + limit + " out of bounds");
+            }
+            assertEquals(0, bulkhead.getInFlight());
+        }
+    }
+
+    @Test
+    void initialLimitIsClampedToTheBounds() {
+        assertEquals(5, new AdaptiveBulkhead("test", 50, 1, 5, TARGET, 0.5).getLimit());
+        assertEquals(3, new AdaptiveBulkhead("test", 1, 3, 5, TARGET, 0.5).getLimit());
+        assertEquals(1, new AdaptiveBulkhead("test", 0, 0, 0, TARGET, 0.5).getLimit());
+    }
+
+    // Acquires every free slot and returns how many were taken
+    private static int fill(AdaptiveBulkhead bulkhead) {
+        int admitted = 0;
+        while (bulkhead.tryAcquire()) {
+            admitted++;
+        }
+        return admitted;
+    }
+}
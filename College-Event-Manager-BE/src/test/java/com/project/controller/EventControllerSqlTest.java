@@ -0,0 +1,54 @@
+package com.project.controller;
+
+import com.project.repository.EventRepository;
+import com.project.support.H2ApplicationTest;
+import com.project.support.SqlAssertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// N+1 guards: the event list's statement count must not grow with the number of events, creators or
+// participants, and a cached event detail must not load the event at all.
+@H2ApplicationTest
+class EventControllerSqlTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Test
+    void eventListIssuesAConstantNumberOfStatements() throws Exception {
+        mockMvc.perform(get("/api/events").with(user("student@example.com").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(30))
+                .andExpect(SqlAssertions.statementsAtMost(3));
+    }
+
+    @Test
+    void cachedEventDetailCostsOneLookup() throws Exception {
+        long id = eventRepository.findAll().get(0).getId();
+        mockMvc.perform(get("/api/events/" + id).with(user("student@example.com").roles("STUDENT")))
+                .andExpect(status().isOk());
+
+        // Only the change-log version is read; the bytes come from the response cache
+        mockMvc.perform(get("/api/events/" + id).with(user("student@example.com").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(SqlAssertions.statementsAtMost(1));
+        // Other formats bypass the cache and go through the message converters
+        mockMvc.perform(get("/api/events/" + id).with(user("student@example.com").roles("STUDENT"))
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+}
@@ -0,0 +1,185 @@
+package com.project.journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegistrationJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<RegistrationJournal> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeJournals() throws IOException {
+        for (RegistrationJournal journal : opened) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void rollsToNewSegmentWhenFull() throws IOException {
+        RegistrationJournal journal = open(3, FsyncPolicy.NONE);
+        for (long i = 1; i <= 7; i++) {
+            assertEquals(i, journal.append(JournalAction.REGISTER, 100 + i, 200 + i));
+        }
+
+        assertEquals(3, JournalSegment.list(directory).size());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), sequences(journal, 1));
+        assertEquals(List.of(5L, 6L, 7L), sequences(journal, 5));
+        JournalRecord first = journal.reader(1).next();
+        assertEquals(101, first.eventId());
+        assertEquals(201, first.userId());
+    }
+
+    @Test
+    void reopenContinuesAfterLastRecord() throws IOException {
+        RegistrationJournal journal = open(3, FsyncPolicy.NONE);
+        for (int i = 0; i < 4; i++) {
+            journal.append(JournalAction.REGISTER, 1, 1);
+        }
+        journal.close();
+
+        RegistrationJournal reopened = open(3, FsyncPolicy.NONE);
+        assertEquals(5, reopened.getNextSequence());
+        assertEquals(5, reopened.append(JournalAction.UNREGISTER, 1, 1));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), sequences(reopened, 1));
+    }
+
+    @Test
+    void recoveryStopsAtTornRecord() throws IOException {
+        RegistrationJournal journal = open(16, FsyncPolicy.NONE);
+        for (int i = 0; i < 5; i++) {
+            journal.append(JournalAction.REGISTER, i, i);
+        }
+        journal.close();
+
+        // Flip a byte inside the fourth record, as a write cut short by a crash would leave it
+        Path segment = JournalSegment.list(directory).get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            long offset = 3L * JournalRecord.SIZE + 20;
+            file.seek(offset);
+            int original = file.read();
+            file.seek(offset);
+            file.write(original ^ 0xFF);
+        }
+
+        RegistrationJournal reopened = open(16, FsyncPolicy.NONE);
+        assertEquals(4, reopened.getNextSequence());
+        assertEquals(List.of(1L, 2L, 3L), sequences(reopened, 1));
+        // The torn slot is overwritten by the next append
+        assertEquals(4, reopened.append(JournalAction.REGISTER, 42, 42));
+        assertEquals(List.of(1L, 2L, 3L, 4L), sequences(reopened, 1));
+    }
+
+    @Test
+    void nonePolicyLeavesFlushingToTheOperatingSystem() throws IOException {
+        RegistrationJournal journal = open(16, FsyncPolicy.NONE);
+        journal.append(JournalAction.REGISTER, 1, 1);
+
+        assertNull(ReflectionTestUtils.getField(journal, "flusher"));
+        assertTrue(dirty(journal));
+        journal.flush();
+        assertFalse(dirty(journal));
+    }
+
+    @Test
+    void batchPolicyForcesEveryBatchSizeRecords() throws IOException {
+        RegistrationJournal journal = journal(16, FsyncPolicy.BATCH);
+        ReflectionTestUtils.setField(journal, "fsyncBatchSize", 3);
+        start(journal);
+
+        journal.append(JournalAction.REGISTER, 1, 1);
+        journal.append(JournalAction.REGISTER, 1, 2);
+        assertTrue(dirty(journal));
+        assertEquals(2, ReflectionTestUtils.getField(journal, "unflushed"));
+
+        journal.append(JournalAction.REGISTER, 1, 3);
+        assertFalse(dirty(journal));
+        assertEquals(0, ReflectionTestUtils.getField(journal, "unflushed"));
+    }
+
+    @Test
+    void intervalPolicyForcesInTheBackground() throws Exception {
+        RegistrationJournal journal = journal(16, FsyncPolicy.INTERVAL);
+        ReflectionTestUtils.setField(journal, "fsyncIntervalMs", 10L);
+        start(journal);
+        assertNotNull(ReflectionTestUtils.getField(journal, "flusher"));
+
+        journal.append(JournalAction.REGISTER, 1, 1);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (dirty(journal) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(dirty(journal));
+    }
+
+    @Test
+    void appendAfterCloseDoesNotThrow() throws IOException {
+        RegistrationJournal journal = open(16, FsyncPolicy.NONE);
+        journal.close();
+
+        assertEquals(-1, journal.append(JournalAction.REGISTER, 1, 1));
+        journal.appendAfterCommit(JournalAction.REGISTER, 1, 1);
+        journal.flush();
+    }
+
+    @Test
+    void disabledJournalHasEmptyReader() {
+        RegistrationJournal journal = new RegistrationJournal();
+        ReflectionTestUtils.setField(journal, "enabled", false);
+
+        assertEquals(-1, journal.append(JournalAction.REGISTER, 1, 1));
+        try (JournalReader reader = journal.reader(1)) {
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    private RegistrationJournal open(int recordsPerSegment, FsyncPolicy policy) throws IOException {
+        RegistrationJournal journal = journal(recordsPerSegment, policy);
+        start(journal);
+        return journal;
+    }
+
+    private RegistrationJournal journal(int recordsPerSegment, FsyncPolicy policy) {
+        RegistrationJournal journal = new RegistrationJournal();
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "directory", directory.toString());
+        ReflectionTestUtils.setField(journal, "segmentSizeBytes", (long) recordsPerSegment * JournalRecord.SIZE);
+        ReflectionTestUtils.setField(journal, "fsyncPolicy", policy);
+        ReflectionTestUtils.setField(journal, "fsyncIntervalMs", 100L);
+        ReflectionTestUtils.setField(journal, "fsyncBatchSize", 256);
+        return journal;
+    }
+
+    private void start(RegistrationJournal journal) throws IOException {
+        journal.open();
+        opened.add(journal);
+    }
+
+    private static boolean dirty(RegistrationJournal journal) {
+        return (boolean) ReflectionTestUtils.getField(journal, "dirty");
+    }
+
+    private static List<Long> sequences(RegistrationJournal journal, long from) {
+        List<Long> sequences = new ArrayList<>();
+        try (JournalReader reader = journal.reader(from)) {
+            reader.forEachRemaining(record -> sequences.add(record.sequence()));
+        }
+        return sequences;
+    }
+}
@@ -0,0 +1,200 @@
+package com.project.notification;
+
+import com.project.entity.Event;
+import com.project.entity.OutboxMessage;
+import com.project.entity.User;
+import com.project.enums.NotificationType;
+import com.project.enums.OutboxStatus;
+import com.project.enums.UserRole;
+import com.project.repository.OutboxMessageRepository;
+import com.project.support.H2ApplicationTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+
+// Drives poll() against the H2 outbox tables; each test rolls back
+@H2ApplicationTest
+@Transactional
+class NotificationDispatcherTest {
+
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final NotificationChannel channel = Mockito.mock(NotificationChannel.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<User> students = new ArrayList<>();
+
+    @Test
+    void supersededUpdatesGoOutAsOneNotification() throws Exception {
+        Event event = event(3);
+        long first = message(event, NotificationType.EVENT_UPDATED, "time");
+        long second = message(event, NotificationType.EVENT_UPDATED, "location,time");
+        long third = message(event, NotificationType.EVENT_UPDATED, "title");
+
+        dispatcher().poll();
+
+        ArgumentCaptor<Notification> notification = ArgumentCaptor.forClass(Notification.class);
+        Mockito.verify(channel).send(notification.capture(), anyList());
+        assertEquals(NotificationType.EVENT_UPDATED, notification.getValue().getType());
+        assertEquals(List.of("time", "location", "title"), notification.getValue().getChangedFields());
+        assertEquals(OutboxStatus.COALESCED, status(first));
+        assertEquals(OutboxStatus.COALESCED, status(second));
+        assertEquals(OutboxStatus.SENT, status(third));
+        assertEquals(2.0, meterRegistry.counter("notifications.coalesced").count());
+    }
+
+    @Test
+    void cancellationSupersedesEarlierUpdates() throws Exception {
+        Event event = event(2);
+        long update = message(event, NotificationType.EVENT_UPDATED, "time");
+        long cancellation = message(event, NotificationType.EVENT_CANCELLED, null);
+        outboxRepository.copyParticipants(cancellation, event.getId());
+
+        dispatcher().poll();
+
+        ArgumentCaptor<Notification> notification = ArgumentCaptor.forClass(Notification.class);
+        Mockito.verify(channel).send(notification.capture(), anyList());
+        assertEquals(NotificationType.EVENT_CANCELLED, notification.getValue().getType());
+        assertEquals(OutboxStatus.COALESCED, status(update));
+        assertEquals(OutboxStatus.SENT, status(cancellation));
+    }
+
+    @Test
+    void changesStillInTheCoalesceWindowWait() throws Exception {
+        Event event = event(1);
+        long id = message(event, NotificationType.EVENT_UPDATED, "time");
+        NotificationDispatcher dispatcher = dispatcher();
+        ReflectionTestUtils.setField(dispatcher, "coalesceWindowMs", 60_000L);
+
+        dispatcher.poll();
+
+        Mockito.verify(channel, Mockito.never()).send(any(), anyList());
+        assertEquals(OutboxStatus.PENDING, status(id));
+    }
+
+    @Test
+    void leasedFanOutIsLeftToItsHolder() throws Exception {
+        Event event = event(2);
+        long id = message(event, NotificationType.EVENT_UPDATED, "time");
+        lease(id, LocalDateTime.now().plusSeconds(30), 0);
+
+        dispatcher().poll();
+
+        Mockito.verify(channel, Mockito.never()).send(any(), anyList());
+        assertEquals(OutboxStatus.PENDING, status(id));
+    }
+
+    @Test
+    void expiredLeaseIsReclaimedAndResumesAfterItsCursor() throws Exception {
+        Event event = event(3);
+        long id = message(event, NotificationType.EVENT_UPDATED, "time");
+        // A dispatcher sent to the first student, then stopped before its lease ran out
+        lease(id, LocalDateTime.now().minusSeconds(1), students.get(0).getId());
+
+        dispatcher().poll();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Recipient>> recipients = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(channel).send(any(), recipients.capture());
+        Set<Long> expected = new LinkedHashSet<>(List.of(students.get(1).getId(), students.get(2).getId()));
+        assertEquals(expected, recipients.getValue().stream().map(Recipient::getUserId)
+                .collect(LinkedHashSet::new, Set::add, Set::addAll));
+        assertEquals(OutboxStatus.SENT, status(id));
+        assertEquals(3, outboxRepository.findById(id).orElseThrow().getSentCount());
+    }
+
+    private NotificationDispatcher dispatcher() {
+        Mockito.when(channel.name()).thenReturn("test");
+        NotificationDispatcher dispatcher = new NotificationDispatcher(outboxRepository, channel, meterRegistry);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 200);
+        ReflectionTestUtils.setField(dispatcher, "ratePerSecond", 1_000_000.0);
+        ReflectionTestUtils.setField(dispatcher, "coalesceWindowMs", 0L);
+        ReflectionTestUtils.setField(dispatcher, "maxDelayMs", 300_000L);
+        ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 60L);
+        ReflectionTestUtils.setField(dispatcher, "retentionDays", 7L);
+        return dispatcher;
+    }
+
+    private long message(Event event, NotificationType type, String changedFields) {
+        OutboxMessage message = outboxRepository.saveAndFlush(OutboxMessage.builder()
+                .eventId(event.getId())
+                .type(type)
+                .title(event.getTitle())
+                .date(event.getDate())
+                .time(event.getTime())
+                .location(event.getLocation())
+                .changedFields(changedFields)
+                .build());
+        return message.getId();
+    }
+
+    // Sets the lease and fan-out progress a previous dispatcher left on the lead row
+    private void lease(long id, LocalDateTime until, long cursor) {
+        entityManager.createNativeQuery("UPDATE notification_outbox SET lease_until = ?1, recipient_cursor = ?2, "
+                        + "sent_count = ?3, coalesced_through_id = ?4 WHERE id = ?4")
+                .setParameter(1, until)
+                .setParameter(2, cursor)
+                .setParameter(3, cursor == 0 ? 0 : 1)
+                .setParameter(4, id)
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    private OutboxStatus status(long id) {
+        entityManager.clear();
+        return outboxRepository.findById(id).orElseThrow().getStatus();
+    }
+
+    // Persists an event with the given number of registered students, kept in id order in students
+    private Event event(int participants) {
+        User creator = user("manager");
+        for (int i = 0; i < participants; i++) {
+            students.add(user("student" + i));
+        }
+        Event event = Event.builder()
+                .title("Rescheduled")
+                .date(LocalDate.now().plusDays(7))
+                .time(LocalTime.NOON)
+                .department("CSE")
+                .location("Dispatcher Hall")
+                .maxParticipants(50)
+                .currentParticipants(participants)
+                .createdBy(creator)
+                .participants(new LinkedHashSet<>(students))
+                .build();
+        entityManager.persist(event);
+        entityManager.flush();
+        return event;
+    }
+
+    private User user(String name) {
+        User user = User.builder()
+                .email(name + "-" + System.nanoTime() + "@example.com")
+                .password("x")
+                .name(name)
+                .role(UserRole.STUDENT)
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,79 @@
+package com.project.notification;
+
+import com.project.entity.Event;
+import com.project.entity.OutboxMessage;
+import com.project.enums.NotificationType;
+import com.project.repository.OutboxMessageRepository;
+import com.project.support.H2ApplicationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@H2ApplicationTest
+@Transactional
+class NotificationOutboxTest {
+
+    @Autowired
+    private NotificationOutbox outbox;
+
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+
+    @AfterEach
+    void disable() {
+        enable(false);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void refusesToWriteOutsideATransaction() {
+        enable(true);
+        Event event = event();
+
+        // Committed on its own, a message could go out for a change that later rolls back
+        assertThrows(IllegalTransactionStateException.class, () -> outbox.eventUpdated(event, List.of("time")));
+        assertThrows(IllegalTransactionStateException.class, () -> outbox.eventCancelled(event));
+    }
+
+    @Test
+    void writesASnapshotInTheCallersTransaction() {
+        enable(true);
+
+        outbox.eventUpdated(event(), List.of("time", "location"));
+        outbox.eventUpdated(event(), List.of());
+
+        List<OutboxMessage> messages = outboxRepository.findAll();
+        assertEquals(1, messages.size());
+        assertEquals(NotificationType.EVENT_UPDATED, messages.get(0).getType());
+        assertEquals("time,location", messages.get(0).getChangedFields());
+        assertEquals("Outbox Talk", messages.get(0).getTitle());
+    }
+
+    // The shared test context disables notifications; set on the bean behind the transactional proxy
+    private void enable(boolean enabled) {
+        Object target = AopTestUtils.getTargetObject(outbox);
+        ReflectionTestUtils.setField(target, "enabled", enabled);
+    }
+
+    private static Event event() {
+        return Event.builder()
+                .id(Long.MAX_VALUE)
+                .title("Outbox Talk")
+                .date(LocalDate.now().plusDays(3))
+                .time(LocalTime.NOON)
+                .location("Outbox Hall")
+                .build();
+    }
+}
@@ -0,0 +1,166 @@
+package com.project.reactive;
+
+import com.project.dto.EventDto;
+import com.project.security.JwtTokenProvider;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+
+class ReactiveEventHandlerTest {
+
+    private static final String TOKEN = "valid-token";
+    private static final String EMAIL = "student@example.com";
+
+    private final ReactiveEventRepository repository = Mockito.mock(ReactiveEventRepository.class);
+    private final JwtTokenProvider tokenProvider = Mockito.mock(JwtTokenProvider.class);
+    private final SeatCountBroadcaster seatCounts = Mockito.mock(SeatCountBroadcaster.class);
+    // Behind the same CORS filter ReactiveApiServer puts in front of the routes
+    private final WebTestClient client = WebTestClient
+            .bindToRouterFunction(new ReactiveEventHandler(repository, tokenProvider, seatCounts).routes())
+            .webFilter(new CorsWebFilter(ReactiveApiServer.corsConfigurationSource()))
+            .configureClient()
+            // CORS compares the Origin with the request's own host, so requests need one
+            .baseUrl("http://localhost:8082")
+            .build();
+
+    ReactiveEventHandlerTest() {
+        Mockito.when(tokenProvider.getEmailIfValid(TOKEN)).thenReturn(EMAIL);
+        Mockito.when(repository.isActiveUser(EMAIL)).thenReturn(Mono.just(true));
+    }
+
+    @Test
+    void listsEventsForAValidToken() {
+        Mockito.when(repository.findAll()).thenReturn(Flux.just(event(1), event(2)));
+
+        client.get().uri("/api/events").header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].id").isEqualTo(2);
+    }
+
+    @Test
+    void refusesMissingOrInvalidTokens() {
+        client.get().uri("/api/events")
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Unauthorized");
+        client.get().uri("/api/events").header(HttpHeaders.AUTHORIZATION, "Bearer forged")
+                .exchange()
+                .expectStatus().isUnauthorized();
+        // Without the Bearer prefix the header is not a token
+        client.get().uri("/api/events").header(HttpHeaders.AUTHORIZATION, TOKEN)
+                .exchange()
+                .expectStatus().isUnauthorized();
+        Mockito.verify(repository, Mockito.never()).findAll();
+    }
+
+    @Test
+    void refusesTokensOfDeactivatedUsers() {
+        Mockito.when(repository.isActiveUser(EMAIL)).thenReturn(Mono.just(false));
+
+        client.get().uri("/api/events/1").header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN)
+                .exchange()
+                .expectStatus().isUnauthorized();
+        Mockito.verify(repository, Mockito.never()).findById(anyLong());
+    }
+
+    @Test
+    void onlyTheStreamTakesTheTokenAsAQueryParameter() {
+        Mockito.when(repository.findSeatCounts(anySet(), anySet())).thenReturn(Flux.empty());
+        Mockito.when(seatCounts.subscribe(anySet(), anySet(), any()))
+                .thenReturn(Flux.just(ServerSentEvent.builder("{}").event("snapshot").build()));
+
+        client.get().uri("/api/events?access_token=" + TOKEN)
+                .exchange()
+                .expectStatus().isUnauthorized();
+        client.get().uri("/api/events/stream?access_token=" + TOKEN + "&eventIds=1,2&department=CSE")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM);
+        Mockito.verify(seatCounts).subscribe(eq(Set.of(1L, 2L)), eq(Set.of("CSE")), any());
+    }
+
+    @Test
+    void errorsUseTheServletErrorBody() {
+        Mockito.when(repository.findById(9)).thenReturn(Mono.empty());
+
+        client.get().uri("/api/events/9").header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Runtime Exception")
+                .jsonPath("$.message").isEqualTo("Event not found");
+        client.get().uri("/api/events/search").header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Required parameter 'q' is missing");
+        client.get().uri("/api/events/stream?eventIds=1,x").header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("eventIds must be a comma-separated list of event ids");
+    }
+
+    @Test
+    void fullStreamAsksTheClientToRetry() {
+        Mockito.when(seatCounts.isFull()).thenReturn(true);
+
+        client.get().uri("/api/events/stream").header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "5");
+    }
+
+    @Test
+    void answersPreflightForTheFrontendOrigins() {
+        client.options().uri("/api/events")
+                .header(HttpHeaders.ORIGIN, "http://localhost:5173")
+                .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "GET")
+                .header(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, HttpHeaders.AUTHORIZATION)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "http://localhost:5173")
+                .expectHeader().valueEquals(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
+        client.options().uri("/api/events")
+                .header(HttpHeaders.ORIGIN, "https://elsewhere.example.com")
+                .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "GET")
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    void responsesCarryTheCorsHeaders() {
+        Mockito.when(repository.search("talk")).thenReturn(Flux.just(event(3)));
+
+        client.get().uri("/api/events/search?q=talk")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN)
+                .header(HttpHeaders.ORIGIN, "http://localhost:3000")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "http://localhost:3000")
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(3);
+    }
+
+    private static EventDto event(long id) {
+        return EventDto.builder().id(id).title("Event " + id).build();
+    }
+}
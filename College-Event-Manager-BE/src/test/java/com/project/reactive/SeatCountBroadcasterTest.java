@@ -0,0 +1,228 @@
+package com.project.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.dto.SeatCount;
+import com.project.entity.Event;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeatCountBroadcasterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SeatCountBroadcaster broadcaster = new SeatCountBroadcaster(new ObjectMapper(), meterRegistry);
+
+    SeatCountBroadcasterTest() {
+        ReflectionTestUtils.setField(broadcaster, "heartbeatSeconds", 30L);
+        ReflectionTestUtils.setField(broadcaster, "bufferSize", 32);
+        ReflectionTestUtils.setField(broadcaster, "maxSubscribers", 2);
+        // Ticks are driven by the tests; no heartbeat unless a test asks for one
+        ReflectionTestUtils.setField(broadcaster, "nextHeartbeatNanos", Long.MAX_VALUE);
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void startsWithTheSnapshot() {
+        Recorder recorder = subscribe(Set.of(), Set.of(), Long.MAX_VALUE,
+                SeatCount.builder().eventId(1L).currentParticipants(4).build());
+
+        assertEquals(1, recorder.events.size());
+        assertEquals("snapshot", recorder.events.get(0).event());
+        assertEquals("[{\"eventId\":1,\"currentParticipants\":4,\"registrationClosed\":false}]",
+                recorder.events.get(0).data());
+    }
+
+    @Test
+    void changesWithinATickGoOutOnceWithTheLatestCount() {
+        Recorder recorder = subscribe(Set.of(), Set.of(), Long.MAX_VALUE);
+
+        broadcaster.publishAfterCommit(event(1, "CSE", 3));
+        broadcaster.publishAfterCommit(event(1, "CSE", 4));
+        broadcaster.publishAfterCommit(event(2, "ECE", 9));
+        broadcaster.tick();
+        // Nothing changed since
+        broadcaster.tick();
+
+        assertEquals(2, recorder.events.size());
+        ServerSentEvent<String> seats = recorder.events.get(1);
+        assertEquals("seats", seats.event());
+        assertTrue(seats.data().contains("{\"eventId\":1,\"currentParticipants\":4,\"registrationClosed\":false}"));
+        assertTrue(seats.data().contains("\"eventId\":2"));
+        assertFalse(seats.data().contains("\"currentParticipants\":3"));
+    }
+
+    @Test
+    void subscribersOnlyReceiveTheEventsTheyFollow() {
+        Recorder byId = subscribe(Set.of(1L), Set.of(), Long.MAX_VALUE);
+        Recorder byDepartment = subscribe(Set.of(), Set.of("ECE"), Long.MAX_VALUE);
+
+        broadcaster.publishAfterCommit(event(1, "CSE", 3));
+        broadcaster.tick();
+
+        assertEquals(2, byId.events.size());
+        assertEquals(1, byDepartment.events.size());
+        broadcaster.publishAfterCommit(event(2, "ECE", 5));
+        broadcaster.tick();
+        assertEquals(2, byId.events.size());
+        assertEquals("[{\"eventId\":2,\"currentParticipants\":5,\"registrationClosed\":false}]",
+                byDepartment.events.get(1).data());
+    }
+
+    @Test
+    void changesArePublishedOnlyOnceCommitted() {
+        Recorder recorder = subscribe(Set.of(), Set.of(), Long.MAX_VALUE);
+        TransactionSynchronizationManager.initSynchronization();
+        broadcaster.publishAfterCommit(event(1, "CSE", 3));
+
+        broadcaster.tick();
+        assertEquals(1, recorder.events.size());
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        broadcaster.tick();
+        assertEquals(1, recorder.events.size());
+
+        TransactionSynchronizationManager.initSynchronization();
+        broadcaster.publishAfterCommit(event(1, "CSE", 4));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        broadcaster.tick();
+        assertEquals(2, recorder.events.size());
+    }
+
+    @Test
+    void deletionIsSentAsClosedAndDeleted() {
+        Recorder recorder = subscribe(Set.of(1L), Set.of(), Long.MAX_VALUE);
+
+        broadcaster.publishDeletionAfterCommit(event(1, "CSE", 3));
+        broadcaster.tick();
+
+        assertEquals("[{\"eventId\":1,\"currentParticipants\":3,\"registrationClosed\":true,\"deleted\":true}]",
+                recorder.events.get(1).data());
+    }
+
+    @Test
+    void slowSubscriberIsCompletedOnceItsBufferIsFull() {
+        ReflectionTestUtils.setField(broadcaster, "bufferSize", 1);
+        // Takes the snapshot, then stops reading
+        Recorder slow = subscribe(Set.of(), Set.of(), 1);
+        Recorder fast = subscribe(Set.of(), Set.of(), Long.MAX_VALUE);
+
+        broadcaster.publishAfterCommit(event(1, "CSE", 3));
+        broadcaster.tick();
+        broadcaster.publishAfterCommit(event(1, "CSE", 4));
+        broadcaster.tick();
+
+        assertEquals(1.0, meterRegistry.counter("seat.stream.overflows").count());
+        assertEquals(1.0, meterRegistry.get("seat.stream.subscribers").gauge().value());
+        assertEquals(3, fast.events.size());
+        // What was buffered is still delivered before the completion
+        slow.request(10);
+        assertEquals(2, slow.events.size());
+        assertTrue(slow.completed);
+        assertFalse(fast.completed);
+    }
+
+    @Test
+    void quietSubscribersGetAHeartbeat() {
+        Recorder recorder = subscribe(Set.of(1L), Set.of(), Long.MAX_VALUE);
+        ReflectionTestUtils.setField(broadcaster, "nextHeartbeatNanos", 0L);
+
+        // A change the subscriber does not follow still leaves it with a heartbeat
+        broadcaster.publishAfterCommit(event(2, "CSE", 1));
+        broadcaster.tick();
+
+        assertEquals(2, recorder.events.size());
+        assertEquals("keepalive", recorder.events.get(1).comment());
+        assertNull(recorder.events.get(1).data());
+    }
+
+    @Test
+    void isFullAtMaxSubscribers() {
+        subscribe(Set.of(), Set.of(), Long.MAX_VALUE);
+        assertFalse(broadcaster.isFull());
+
+        Recorder second = subscribe(Set.of(), Set.of(), Long.MAX_VALUE);
+        assertTrue(broadcaster.isFull());
+
+        second.dispose();
+        assertFalse(broadcaster.isFull());
+    }
+
+    private Recorder subscribe(Set<Long> eventIds, Set<String> departments, long demand, SeatCount... snapshot) {
+        Recorder recorder = new Recorder(demand);
+        broadcaster.subscribe(eventIds, departments, Flux.just(snapshot)).subscribe(recorder);
+        return recorder;
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations =
+                new ArrayList<>(TransactionSynchronizationManager.getSynchronizations());
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+    }
+
+    private static Event event(long id, String department, int participants) {
+        return Event.builder()
+                .id(id)
+                .department(department)
+                .currentParticipants(participants)
+                .date(LocalDate.now().plusDays(7))
+                .time(LocalTime.NOON)
+                .build();
+    }
+
+    // Records what the stream delivers, requesting only the given number of messages up front
+    private static final class Recorder extends BaseSubscriber<ServerSentEvent<String>> {
+
+        private final long demand;
+        private final List<ServerSentEvent<String>> events = new ArrayList<>();
+        private boolean completed;
+
+        private Recorder(long demand) {
+            this.demand = demand;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            request(demand);
+        }
+
+        @Override
+        protected void hookOnNext(ServerSentEvent<String> value) {
+            events.add(value);
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.project.service;
+
+import com.project.dto.EventChanges;
+import com.project.dto.EventDto;
+import com.project.entity.Event;
+import com.project.entity.EventChange;
+import com.project.entity.User;
+import com.project.enums.UserRole;
+import com.project.repository.EventChangeRepository;
+import com.project.repository.EventRepository;
+import com.project.support.H2ApplicationTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The change log and its delta-sync reader against the H2 database; each test rolls back
+@H2ApplicationTest
+@Transactional
+class EventChangeLogTest {
+
+    @Autowired
+    private EventChangeLog eventChangeLog;
+
+    @Autowired
+    private EventChangeRepository eventChangeRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void backfillAddsEventsWrittenAroundTheLog() {
+        long id = event();
+        assertNull(eventChangeRepository.findLatestIdByEventId(id));
+
+        eventChangeLog.backfill();
+        Long added = eventChangeRepository.findLatestIdByEventId(id);
+        assertNotNull(added);
+
+        // Events that already have a row are left alone
+        eventChangeLog.backfill();
+        assertEquals(added, eventChangeRepository.findLatestIdByEventId(id));
+    }
+
+    @Test
+    void compactionKeepsOnlyTheNewestRowOfEachEvent() {
+        long updated = Long.MAX_VALUE - 1;
+        long deleted = Long.MAX_VALUE - 2;
+        eventChangeLog.recordChange(updated);
+        eventChangeLog.recordChange(updated);
+        eventChangeLog.recordChange(deleted);
+        eventChangeLog.recordChange(updated);
+        eventChangeLog.recordDeletion(deleted);
+
+        eventChangeLog.compact();
+
+        List<EventChange> updatedRows = rowsOf(updated);
+        assertEquals(1, updatedRows.size());
+        assertEquals(eventChangeRepository.findLatestIdByEventId(updated), updatedRows.get(0).getId());
+        List<EventChange> deletedRows = rowsOf(deleted);
+        assertEquals(1, deletedRows.size());
+        assertTrue(deletedRows.get(0).isDeleted());
+        assertTrue(eventChangeRepository.findSupersededIds(Limit.of(1)).isEmpty());
+    }
+
+    @Test
+    void pagesThroughChangesWithTheLatestStatePerEvent() {
+        List<Long> ids = existingEvents();
+        long since = latestToken();
+        eventChangeLog.recordChange(ids.get(0));
+        eventChangeLog.recordChange(ids.get(1));
+        eventChangeLog.recordChange(ids.get(0));
+        eventChangeLog.recordDeletion(ids.get(2));
+        settleAll();
+
+        EventChanges first = eventService.getChangesSince(since, 2);
+        assertEquals(List.of(ids.get(0), ids.get(1)), idsOf(first));
+        assertTrue(first.isHasMore());
+
+        EventChanges second = eventService.getChangesSince(first.getNextToken(), 2);
+        assertEquals(List.of(ids.get(0)), idsOf(second));
+        assertEquals(List.of(ids.get(2)), second.getDeleted());
+        assertTrue(second.isHasMore());
+
+        EventChanges last = eventService.getChangesSince(second.getNextToken(), 2);
+        assertTrue(last.getEvents().isEmpty());
+        assertFalse(last.isHasMore());
+        assertEquals(second.getNextToken(), last.getNextToken());
+        assertEquals(latestToken(), last.getNextToken());
+    }
+
+    @Test
+    void tokenStopsBeforeChangesYoungerThanTheSettleWindow() {
+        List<Long> ids = existingEvents();
+        long since = latestToken();
+        eventChangeLog.recordChange(ids.get(0));
+        settleAll();
+        long settled = latestToken();
+        eventChangeLog.recordChange(ids.get(1));
+        eventChangeLog.recordChange(ids.get(2));
+
+        EventChanges changes = eventService.getChangesSince(since, 2);
+
+        // Young rows are sent now and again on the next call, since an older id may still commit among them
+        assertEquals(List.of(ids.get(0), ids.get(1)), idsOf(changes));
+        assertEquals(settled, changes.getNextToken());
+        assertFalse(changes.isHasMore());
+        assertEquals(List.of(ids.get(1), ids.get(2)), idsOf(eventService.getChangesSince(settled, 10)));
+    }
+
+    @Test
+    void eventGoneBeforeItsTombstoneIsReportedDeleted() {
+        long since = latestToken();
+        eventChangeLog.recordChange(Long.MAX_VALUE - 3);
+        settleAll();
+
+        EventChanges changes = eventService.getChangesSince(since, 10);
+
+        assertTrue(changes.getEvents().isEmpty());
+        assertEquals(List.of(Long.MAX_VALUE - 3), changes.getDeleted());
+    }
+
+    @Test
+    void rejectsLimitsOutsideOneToAThousand() {
+        assertThrows(RuntimeException.class, () -> eventService.getChangesSince(0, 0));
+        assertThrows(RuntimeException.class, () -> eventService.getChangesSince(0, 1001));
+    }
+
+    private List<Long> existingEvents() {
+        return eventRepository.findAll().stream().map(Event::getId).sorted().limit(3).toList();
+    }
+
+    private long latestToken() {
+        Long latest = (Long) entityManager.createQuery("SELECT MAX(c.id) FROM EventChange c").getSingleResult();
+        return latest == null ? 0 : latest;
+    }
+
+    // Moves every row written so far out of the settle window
+    private void settleAll() {
+        entityManager.createNativeQuery("UPDATE event_changes SET changed_at = ?1")
+                .setParameter(1, LocalDateTime.now().minusHours(1))
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    private List<EventChange> rowsOf(long eventId) {
+        entityManager.clear();
+        return entityManager.createQuery("SELECT c FROM EventChange c WHERE c.eventId = :eventId", EventChange.class)
+                .setParameter("eventId", eventId)
+                .getResultList();
+    }
+
+    private static List<Long> idsOf(EventChanges changes) {
+        return changes.getEvents().stream().map(EventDto::getId).toList();
+    }
+
+    // Persists an event without going through EventService, so it has no change log row
+    private long event() {
+        User creator = User.builder()
+                .email("manager-" + System.nanoTime() + "@example.com")
+                .password("x")
+                .name("manager")
+                .role(UserRole.EVENT_MANAGER)
+                .build();
+        entityManager.persist(creator);
+        Event event = Event.builder()
+                .title("Written around the log")
+                .date(LocalDate.now().plusDays(7))
+                .time(LocalTime.NOON)
+                .department("CSE")
+                .location("Backfill Hall")
+                .maxParticipants(50)
+                .createdBy(creator)
+                .build();
+        entityManager.persist(event);
+        entityManager.flush();
+        return event.getId();
+    }
+}
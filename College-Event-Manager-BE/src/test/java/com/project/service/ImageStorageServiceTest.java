@@ -0,0 +1,93 @@
+package com.project.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImageStorageServiceTest {
+
+    private static final byte[] PNG_HEADER = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    @TempDir
+    Path root;
+
+    @Test
+    void typeComesFromMagicBytes() {
+        ImageStorageService images = new ImageStorageService(root.toString(), 1024);
+
+        String key = images.store(new ByteArrayInputStream(png(100)), "image/jpeg");
+
+        assertTrue(key.endsWith(".png"));
+        assertTrue(Files.isRegularFile(images.resolve(key)));
+    }
+
+    @Test
+    void rejectsContentThatIsNotAnImage() {
+        ImageStorageService images = new ImageStorageService(root.toString(), 1024);
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> images.store(new ByteArrayInputStream("<html>hello</html>".getBytes()), "image/png"));
+
+        assertTrue(e.getMessage().startsWith("Unsupported image type"));
+        assertEquals(0, storedFiles());
+    }
+
+    @Test
+    void stopsReadingOnceTheLimitIsPassed() {
+        ImageStorageService images = new ImageStorageService(root.toString(), 64 * 1024);
+        // An endless upload: the copy must abort instead of filling the disk
+        InputStream endless = new InputStream() {
+            private int position;
+
+            @Override
+            public int read() {
+                return position < PNG_HEADER.length ? PNG_HEADER[position++] & 0xFF : 0;
+            }
+        };
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> images.store(endless, "image/png"));
+
+        assertTrue(e.getMessage().startsWith("Image exceeds the maximum size"));
+        assertEquals(0, storedFiles());
+    }
+
+    @Test
+    void sniffsEachSupportedFormat() {
+        assertEquals("jpg", sniff(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0}));
+        assertEquals("png", sniff(PNG_HEADER));
+        assertEquals("gif", sniff("GIF89a".getBytes()));
+        assertEquals("webp", sniff("RIFF\0\0\0\0WEBP".getBytes()));
+        assertNull(sniff("RIFF\0\0\0\0WAVE".getBytes()));
+        assertNull(sniff(new byte[]{(byte) 0xFF, (byte) 0xD8}));
+    }
+
+    private static String sniff(byte[] header) {
+        return ImageStorageService.sniffExtension(Arrays.copyOf(header, 12), header.length);
+    }
+
+    private static byte[] png(int size) {
+        byte[] bytes = new byte[size];
+        System.arraycopy(PNG_HEADER, 0, bytes, 0, PNG_HEADER.length);
+        return bytes;
+    }
+
+    private long storedFiles() {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).count();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
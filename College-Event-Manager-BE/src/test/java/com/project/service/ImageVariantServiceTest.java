@@ -0,0 +1,101 @@
+package com.project.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImageVariantServiceTest {
+
+    @TempDir
+    Path root;
+
+    private ImageVariantService variants;
+
+    @AfterEach
+    void shutdown() {
+        variants.shutdown();
+    }
+
+    @Test
+    void generatesVariantsNarrowerThanTheOriginal() throws Exception {
+        ImageStorageService images = new ImageStorageService(root.toString(), 1 << 20);
+        variants = new ImageVariantService(images, new SimpleMeterRegistry(), new int[]{320, 640, 1280}, 640,
+                25_000_000, 1, 10);
+        String key = images.store(new ByteArrayInputStream(png(800, 400)), "image/png");
+
+        String url = awaitProcessed(key);
+
+        assertEquals(ImageStorageService.URL_PREFIX + images.variantKey(key, 640, "png"), url);
+        assertTrue(Files.isRegularFile(images.resolve(images.variantKey(key, 320, "png"))));
+        assertFalse(Files.exists(images.resolve(images.variantKey(key, 1280, "png"))));
+    }
+
+    @Test
+    void skipsImagesOverThePixelLimitWithoutDecoding() throws Exception {
+        ImageStorageService images = new ImageStorageService(root.toString(), 1 << 20);
+        variants = new ImageVariantService(images, new SimpleMeterRegistry(), new int[]{320, 640}, 640,
+                800 * 400 - 1, 1, 10);
+        String key = images.store(new ByteArrayInputStream(png(800, 400)), "image/png");
+
+        String url = awaitProcessed(key);
+
+        // Processed, with no variants: lists keep the original
+        assertEquals(ImageStorageService.URL_PREFIX + key, url);
+        assertFalse(Files.exists(images.resolve(images.variantKey(key, 320, "png"))));
+    }
+
+    @Test
+    void evictForgetsAnOriginal() throws Exception {
+        ImageStorageService images = new ImageStorageService(root.toString(), 1 << 20);
+        variants = new ImageVariantService(images, new SimpleMeterRegistry(), new int[]{320}, 320,
+                25_000_000, 1, 10);
+        String key = images.store(new ByteArrayInputStream(png(800, 400)), "image/png");
+        awaitProcessed(key);
+
+        Files.delete(images.resolve(key));
+        variants.evict(key);
+
+        // Not indexed any more, so the next listing queues it again
+        assertEquals(ImageStorageService.URL_PREFIX + key, variants.listImageUrl(ImageStorageService.URL_PREFIX + key));
+    }
+
+    // Submits the original and waits until it is indexed; returns the list URL then
+    private String awaitProcessed(String key) throws InterruptedException {
+        String original = ImageStorageService.URL_PREFIX + key;
+        variants.submit(key);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            if (processed(key)) {
+                return variants.listImageUrl(original);
+            }
+        }
+        throw new AssertionError("Variants for " + key + " were not generated");
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean processed(String key) {
+        return ((Map<String, int[]>) ReflectionTestUtils.getField(variants, "available")).containsKey(key);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
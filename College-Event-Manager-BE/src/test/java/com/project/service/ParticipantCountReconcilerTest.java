@@ -0,0 +1,151 @@
+package com.project.service;
+
+import com.project.entity.Event;
+import com.project.entity.User;
+import com.project.enums.UserRole;
+import com.project.reactive.SeatCountBroadcaster;
+import com.project.repository.EventRepository;
+import com.project.support.H2ApplicationTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+
+// Runs the reconciler's conditional update against the H2 database; each test rolls back
+@H2ApplicationTest
+@Transactional
+class ParticipantCountReconcilerTest {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final EventChangeLog eventChangeLog = Mockito.mock(EventChangeLog.class);
+    private final SeatCountBroadcaster seatCountBroadcaster = Mockito.mock(SeatCountBroadcaster.class);
+
+    @Test
+    void setsANullCounter() {
+        // The entity maps the column as not null; older schemas allowed it. H2 commits on DDL, so this runs
+        // before anything is written.
+        entityManager.createNativeQuery("ALTER TABLE events ALTER COLUMN current_participants SET NULL")
+                .executeUpdate();
+        long id = event(2);
+        setCounter(id, null);
+        assertNull(counter(id));
+
+        assertEquals(1, reconciler(eventRepository).reconcileRange(id - 1, id));
+
+        assertEquals(2, counter(id));
+        Mockito.verify(eventChangeLog).recordChange(id);
+        Mockito.verify(seatCountBroadcaster).publishAfterCommit(any(Event.class));
+    }
+
+    @Test
+    void correctsADriftedCounter() {
+        long id = event(3);
+        setCounter(id, 7);
+
+        assertEquals(1, reconciler(eventRepository).reconcileRange(id - 1, id));
+
+        assertEquals(3, counter(id));
+        Mockito.verify(eventChangeLog).recordChange(id);
+    }
+
+    @Test
+    void leavesAnAccurateCounterAlone() {
+        long id = event(2);
+
+        assertEquals(0, reconciler(eventRepository).reconcileRange(id - 1, id));
+
+        assertEquals(2, counter(id));
+        Mockito.verifyNoInteractions(eventChangeLog, seatCountBroadcaster);
+    }
+
+    @Test
+    void doesNotOverwriteAChangeMadeAfterTheCount() {
+        long id = event(2);
+        setCounter(id, 5);
+        // A registration moves the counter between the reconciler's read and its update
+        EventRepository racing = Mockito.mock(EventRepository.class, AdditionalAnswers.delegatesTo(eventRepository));
+        Mockito.doAnswer(invocation -> {
+            List<Object[]> rows = eventRepository.countParticipantsInRange(invocation.getArgument(0),
+                    invocation.getArgument(1));
+            setCounter(id, 6);
+            return rows;
+        }).when(racing).countParticipantsInRange(any(), any());
+
+        assertEquals(0, reconciler(racing).reconcileRange(id - 1, id));
+
+        assertEquals(6, counter(id));
+        Mockito.verifyNoInteractions(eventChangeLog, seatCountBroadcaster);
+    }
+
+    private ParticipantCountReconciler reconciler(EventRepository repository) {
+        return new ParticipantCountReconciler(repository, eventChangeLog, seatCountBroadcaster,
+                new SimpleMeterRegistry());
+    }
+
+    // Persists an event with the given number of registered students and returns its id
+    private long event(int participants) {
+        User creator = user("manager");
+        Set<User> registered = new HashSet<>();
+        for (int i = 0; i < participants; i++) {
+            registered.add(user("student" + i));
+        }
+        Event event = Event.builder()
+                .title("Reconciled")
+                .date(LocalDate.now().plusDays(7))
+                .time(LocalTime.NOON)
+                .department("CSE")
+                .location("Reconciler Hall")
+                .maxParticipants(50)
+                .currentParticipants(participants)
+                .createdBy(creator)
+                .participants(registered)
+                .build();
+        entityManager.persist(event);
+        entityManager.flush();
+        entityManager.clear();
+        return event.getId();
+    }
+
+    private User user(String name) {
+        User user = User.builder()
+                .email(name + "-" + System.nanoTime() + "@example.com")
+                .password("x")
+                .name(name)
+                .role(UserRole.STUDENT)
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    private void setCounter(long id, Integer value) {
+        entityManager.createNativeQuery("UPDATE events SET current_participants = ?1 WHERE id = ?2")
+                .setParameter(1, value)
+                .setParameter(2, id)
+                .executeUpdate();
+    }
+
+    private Integer counter(long id) {
+        Object value = entityManager.createNativeQuery("SELECT current_participants FROM events WHERE id = ?1")
+                .setParameter(1, id)
+                .getSingleResult();
+        return value == null ? null : ((Number) value).intValue();
+    }
+}
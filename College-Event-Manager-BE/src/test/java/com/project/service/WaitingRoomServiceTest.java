@@ -0,0 +1,204 @@
+package com.project.service;
+
+import com.project.dto.QueueTicket;
+import com.project.entity.User;
+import com.project.enums.QueueTicketStatus;
+import com.project.repository.EventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+class WaitingRoomServiceTest {
+
+    private static final long EVENT = 7;
+
+    private final EventRepository eventRepository = Mockito.mock(EventRepository.class);
+    private final EventService eventService = Mockito.mock(EventService.class);
+    private final UserService userService = Mockito.mock(UserService.class);
+    private final WaitingRoomService waitingRoom = new WaitingRoomService(eventRepository, eventService, userService,
+            new SimpleMeterRegistry());
+    private ExecutorService executor;
+
+    WaitingRoomServiceTest() {
+        ReflectionTestUtils.setField(waitingRoom, "enabled", true);
+        ReflectionTestUtils.setField(waitingRoom, "drainRatePerSecond", 1000.0);
+        ReflectionTestUtils.setField(waitingRoom, "leadSeconds", 300L);
+        ReflectionTestUtils.setField(waitingRoom, "windowSeconds", 600L);
+        ReflectionTestUtils.setField(waitingRoom, "maxQueue", 100);
+        ReflectionTestUtils.setField(waitingRoom, "ticketTtlSeconds", 900L);
+        ReflectionTestUtils.setField(waitingRoom, "admissionThreads", 4);
+        // Admissions run inline unless a test needs them on another thread
+        ReflectionTestUtils.setField(waitingRoom, "admissions", (Executor) Runnable::run);
+        Mockito.when(userService.findByEmail(anyString())).thenAnswer(invocation -> {
+            String email = invocation.getArgument(0);
+            return User.builder().id((long) email.hashCode()).email(email).build();
+        });
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void eventsWithoutARoomRegisterDirectly() {
+        waitingRoom.refresh();
+
+        assertNull(waitingRoom.enqueue(EVENT, "a@example.com"));
+    }
+
+    @Test
+    void queuesInArrivalOrderAndRepeatsAQueuedTicket() {
+        opensIn(60);
+
+        QueueTicket first = waitingRoom.enqueue(EVENT, "a@example.com");
+        QueueTicket second = waitingRoom.enqueue(EVENT, "b@example.com");
+        QueueTicket again = waitingRoom.enqueue(EVENT, "a@example.com");
+
+        assertEquals(QueueTicketStatus.QUEUED, first.getStatus());
+        assertEquals(1, first.getPosition());
+        assertEquals(2, second.getPosition());
+        assertEquals(first.getTicketId(), again.getTicketId());
+        assertTrue(first.getEstimatedWaitSeconds() >= 59);
+    }
+
+    @Test
+    void nothingIsAdmittedBeforeTheOpening() {
+        opensIn(60);
+        waitingRoom.enqueue(EVENT, "a@example.com");
+
+        waitingRoom.drain();
+
+        Mockito.verifyNoInteractions(eventService);
+    }
+
+    @Test
+    void drainsAtTheConfiguredRateWithOneSecondOfBurst() throws InterruptedException {
+        ReflectionTestUtils.setField(waitingRoom, "drainRatePerSecond", 2.0);
+        opensIn(-1);
+        for (int i = 0; i < 5; i++) {
+            waitingRoom.enqueue(EVENT, "student" + i + "@example.com");
+        }
+
+        // More than a second of tokens has built up, but the bucket holds one second's worth
+        Thread.sleep(1500);
+        waitingRoom.drain();
+        Mockito.verify(eventService, Mockito.times(2)).registerForEvent(eq(EVENT), anyLong());
+
+        waitingRoom.drain();
+        Mockito.verify(eventService, Mockito.times(2)).registerForEvent(eq(EVENT), anyLong());
+    }
+
+    @Test
+    void outcomesAreReadableOnlyByTheTicketHolder() throws InterruptedException {
+        opensIn(-1);
+        Mockito.when(eventService.registerForEvent(eq(EVENT), eq((long) "b@example.com".hashCode())))
+                .thenThrow(new RuntimeException("Event is full"));
+        String admitted = waitingRoom.enqueue(EVENT, "a@example.com").getTicketId();
+        String rejected = waitingRoom.enqueue(EVENT, "b@example.com").getTicketId();
+
+        drainSoon();
+
+        assertEquals(QueueTicketStatus.ADMITTED, waitingRoom.status(EVENT, admitted, "a@example.com").getStatus());
+        QueueTicket refused = waitingRoom.status(EVENT, rejected, "b@example.com");
+        assertEquals(QueueTicketStatus.REJECTED, refused.getStatus());
+        assertEquals("Event is full", refused.getMessage());
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> waitingRoom.status(EVENT, admitted, "b@example.com"));
+        assertEquals("Queue ticket not found", e.getMessage());
+        assertThrows(RuntimeException.class, () -> waitingRoom.status(EVENT + 1, admitted, "a@example.com"));
+    }
+
+    @Test
+    void finishedTicketsExpireAfterTheirTtl() throws InterruptedException {
+        ReflectionTestUtils.setField(waitingRoom, "ticketTtlSeconds", 0L);
+        opensIn(-1);
+        String ticketId = waitingRoom.enqueue(EVENT, "a@example.com").getTicketId();
+        drainSoon();
+        assertEquals(QueueTicketStatus.ADMITTED, waitingRoom.status(EVENT, ticketId, "a@example.com").getStatus());
+
+        Thread.sleep(5);
+        waitingRoom.refresh();
+
+        assertThrows(RuntimeException.class, () -> waitingRoom.status(EVENT, ticketId, "a@example.com"));
+        // Once expired, the student queues afresh
+        assertNotEquals(ticketId, waitingRoom.enqueue(EVENT, "a@example.com").getTicketId());
+    }
+
+    @Test
+    void refusesTicketsOnceTheRoomIsFull() {
+        ReflectionTestUtils.setField(waitingRoom, "maxQueue", 2);
+        opensIn(60);
+        waitingRoom.enqueue(EVENT, "a@example.com");
+        waitingRoom.enqueue(EVENT, "b@example.com");
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> waitingRoom.enqueue(EVENT, "c@example.com"));
+        assertTrue(e.getMessage().contains("full"));
+    }
+
+    @Test
+    void slowRegistrationsDoNotHoldTheDrainThread() throws InterruptedException {
+        ReflectionTestUtils.setField(waitingRoom, "admissionThreads", 1);
+        executor = Executors.newSingleThreadExecutor();
+        ReflectionTestUtils.setField(waitingRoom, "admissions", executor);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        Mockito.when(eventService.registerForEvent(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        opensIn(-1);
+        String first = waitingRoom.enqueue(EVENT, "a@example.com").getTicketId();
+        String second = waitingRoom.enqueue(EVENT, "b@example.com").getTicketId();
+
+        // Returns while the first registration is still running
+        drainSoon();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        waitingRoom.drain();
+
+        // With the only admission thread busy, the second ticket stays queued rather than piling up
+        assertEquals(QueueTicketStatus.QUEUED, waitingRoom.status(EVENT, first, "a@example.com").getStatus());
+        assertEquals(1, waitingRoom.status(EVENT, second, "b@example.com").getPosition());
+
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(QueueTicketStatus.ADMITTED, waitingRoom.status(EVENT, first, "a@example.com").getStatus());
+    }
+
+    // A room starts with an empty bucket; at the default test rate 20 ms fills it with about 20 tokens
+    private void drainSoon() throws InterruptedException {
+        Thread.sleep(20);
+        waitingRoom.drain();
+    }
+
+    // Opens a room for EVENT whose registration opens the given number of seconds from now
+    private void opensIn(long seconds) {
+        Mockito.when(eventRepository.findRegistrationOpeningsBetween(any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{EVENT, LocalDateTime.now().plusSeconds(seconds)}));
+        waitingRoom.refresh();
+    }
+}
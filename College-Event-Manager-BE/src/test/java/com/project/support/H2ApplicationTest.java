@@ -0,0 +1,36 @@
+package com.project.support;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// The whole application on an in-memory H2 database seeded by the synthetic profile. Test classes using it
+// share one cached context, so anything a test writes must be rolled back (@Transactional) or left harmless.
+// The application's explicit @ComponentScan defeats slice tests such as @DataJpaTest, hence a full context.
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sqlcount;MODE=MySQL;NON_KEYWORDS=YEAR",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "reactive-api.enabled=false",
+        "journal.enabled=false",
+        "notifications.enabled=false",
+        "images.directory=${java.io.tmpdir}/sqlcount-images",
+        "synthetic.students=40",
+        "synthetic.managers=5",
+        "synthetic.events=30",
+        "synthetic.registrations=300",
+        "synthetic.password-pool-size=1"
+})
+@ActiveProfiles({"test", "synthetic"})
+@AutoConfigureMockMvc
+public @interface H2ApplicationTest {
+}
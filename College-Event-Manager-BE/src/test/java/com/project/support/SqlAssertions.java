@@ -0,0 +1,47 @@
+package com.project.support;
+
+import com.project.metrics.SqlStatistics;
+import com.project.metrics.SqlStatisticsFilter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Statement-count assertions for catching N+1 regressions, e.g.
+//   mockMvc.perform(get("/api/events")).andExpect(SqlAssertions.statementsAtMost(3));
+//   SqlAssertions.assertStatementsAtMost(3, () -> eventService.getAllEvents());
+// MockMvc checks need the test profile (sql.stats.response-headers=true).
+public final class SqlAssertions {
+
+    private SqlAssertions() {
+    }
+
+    public static <T> T assertStatementsAtMost(int max, Supplier<T> action) {
+        SqlStatistics.Measured<T> measured = SqlStatistics.measure(action);
+        check(max, measured.statistics());
+        return measured.result();
+    }
+
+    public static void assertStatementsAtMost(int max, Runnable action) {
+        check(max, SqlStatistics.measure(action));
+    }
+
+    public static ResultMatcher statementsAtMost(int max) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatisticsFilter.STATEMENTS_HEADER);
+            assertNotNull(header, "No " + SqlStatisticsFilter.STATEMENTS_HEADER + " header; is the test profile active?");
+            int statements = Integer.parseInt(header);
+            assertTrue(statements <= max,
+                    result.getRequest().getMethod() + " " + result.getRequest().getRequestURI()
+                            + " issued " + statements + " SQL statements, expected at most " + max);
+        };
+    }
+
+    private static void check(int max, SqlStatistics statistics) {
+        assertTrue(statistics.getStatements() <= max,
+                "Issued " + statistics.getStatements() + " SQL statements, expected at most " + max
+                        + "; most repeated (" + statistics.getMostRepeatedCount() + "x): " + statistics.getMostRepeatedSql());
+    }
+}
@@ -0,0 +1,135 @@
+package com.project.venue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalTreeTest {
+
+    @Test
+    void findsOverlapsOfHalfOpenIntervals() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(100, 200, 1);
+        tree.insert(300, 400, 2);
+
+        assertEquals(1, tree.findOverlap(150, 160, 0));
+        assertEquals(1, tree.findOverlap(50, 101, 0));
+        assertEquals(2, tree.findOverlap(250, 350, 0));
+        // Touching ends do not overlap
+        assertEquals(-1, tree.findOverlap(200, 300, 0));
+        assertEquals(-1, tree.findOverlap(0, 100, 0));
+        assertEquals(-1, tree.findOverlap(400, 500, 0));
+    }
+
+    @Test
+    void excludedIdIsSkipped() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(100, 200, 1);
+
+        assertEquals(-1, tree.findOverlap(150, 250, 1));
+
+        tree.insert(180, 260, 2);
+        assertEquals(2, tree.findOverlap(150, 250, 1));
+        assertEquals(1, tree.findOverlap(150, 250, 2));
+    }
+
+    @Test
+    void removeMatchesStartEndAndId() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(100, 200, 1);
+        // The same event moving to a longer slot holds both until the move commits
+        tree.insert(100, 260, 1);
+        assertEquals(2, tree.size());
+
+        assertFalse(tree.remove(100, 200, 2));
+        assertFalse(tree.remove(101, 200, 1));
+        assertTrue(tree.remove(100, 200, 1));
+
+        assertEquals(1, tree.size());
+        assertEquals(1, tree.findOverlap(220, 240, 0));
+        assertTrue(tree.remove(100, 260, 1));
+        assertEquals(0, tree.size());
+        assertEquals(-1, tree.findOverlap(0, 1000, 0));
+    }
+
+    @Test
+    void collectsOverlapsInStartOrder() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(500, 600, 3);
+        tree.insert(100, 200, 1);
+        tree.insert(150, 550, 2);
+        tree.insert(700, 800, 4);
+
+        List<long[]> found = new ArrayList<>();
+        tree.collectOverlaps(180, 520, found);
+
+        assertEquals(3, found.size());
+        assertArrayEquals(new long[]{100, 200, 1}, found.get(0));
+        assertArrayEquals(new long[]{150, 550, 2}, found.get(1));
+        assertArrayEquals(new long[]{500, 600, 3}, found.get(2));
+    }
+
+    @Test
+    void longIntervalIsFoundBehindManyShortOnes() {
+        IntervalTree tree = new IntervalTree();
+        // Early start, late end: only a correct maxEnd on every rotated ancestor leads the search to it
+        tree.insert(0, 100_000, 1);
+        for (int i = 2; i < 2000; i++) {
+            tree.insert(i * 10L, i * 10L + 5, i);
+        }
+
+        assertEquals(1, tree.findOverlap(50_000, 50_001, 0));
+        for (int i = 2; i < 2000; i += 2) {
+            assertTrue(tree.remove(i * 10L, i * 10L + 5, i));
+        }
+        assertEquals(1, tree.findOverlap(99_998, 99_999, 0));
+    }
+
+    @Test
+    void agreesWithALinearScanUnderRandomChanges() {
+        IntervalTree tree = new IntervalTree();
+        List<long[]> reference = new ArrayList<>();
+        Random random = new Random(7);
+
+        for (int step = 0; step < 5000; step++) {
+            if (!reference.isEmpty() && random.nextInt(3) == 0) {
+                long[] removed = reference.remove(random.nextInt(reference.size()));
+                assertTrue(tree.remove(removed[0], removed[1], removed[2]));
+            } else {
+                long start = random.nextInt(10_000);
+                long[] added = {start, start + 1 + random.nextInt(random.nextInt(10) == 0 ? 3000 : 120), step};
+                reference.add(added);
+                tree.insert(added[0], added[1], added[2]);
+            }
+            assertEquals(reference.size(), tree.size());
+
+            long start = random.nextInt(10_500);
+            long end = start + 1 + random.nextInt(200);
+            long exclude = reference.isEmpty() ? -1 : reference.get(random.nextInt(reference.size()))[2];
+            List<long[]> expected = reference.stream()
+                    .filter(interval -> interval[0] < end && interval[1] > start)
+                    .sorted(Comparator.<long[]>comparingLong(interval -> interval[0])
+                            .thenComparingLong(interval -> interval[2]))
+                    .toList();
+            List<long[]> found = new ArrayList<>();
+            tree.collectOverlaps(start, end, found);
+
+            assertEquals(expected.size(), found.size());
+            for (int i = 0; i < found.size(); i++) {
+                assertArrayEquals(expected.get(i), found.get(i));
+            }
+            long overlap = tree.findOverlap(start, end, exclude);
+            boolean anyOther = expected.stream().anyMatch(interval -> interval[2] != exclude);
+            assertEquals(anyOther, overlap != -1);
+            assertTrue(overlap != exclude);
+        }
+    }
+}
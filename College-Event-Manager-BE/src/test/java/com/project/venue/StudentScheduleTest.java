@@ -0,0 +1,205 @@
+package com.project.venue;
+
+import com.project.entity.Event;
+import com.project.repository.EventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+
+class StudentScheduleTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(7);
+    private static final long STUDENT = 42;
+
+    // 10:00-11:00 and 10:30-11:30 overlap; 12:00-13:00 overlaps neither
+    private final Event talk = event(1, "Opening Talk", DAY, LocalTime.of(10, 0));
+    private final Event workshop = event(2, "Workshop", DAY, LocalTime.of(10, 30));
+    private final Event lunch = event(3, "Lunch Session", DAY, LocalTime.of(12, 0));
+    // Ended yesterday
+    private final Event past = event(4, "Yesterday's Meetup", LocalDate.now().minusDays(1), LocalTime.of(10, 0));
+
+    private final EventRepository eventRepository = Mockito.mock(EventRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void offNeitherChecksNorHoldsRegistrations() {
+        StudentSchedule schedule = schedule(ScheduleClashPolicy.OFF);
+
+        assertNull(schedule.register(STUDENT, talk));
+        assertNull(schedule.register(STUDENT, workshop));
+
+        assertTrue(held(schedule).isEmpty());
+        Mockito.verify(eventRepository, Mockito.never()).findRegistrationsFrom(any());
+        assertEquals(0, meterRegistry.find("registration.schedule.clashes").counters().size());
+    }
+
+    @Test
+    void warnRegistersDespiteAnOverlapAndCountsIt() {
+        StudentSchedule schedule = schedule(ScheduleClashPolicy.WARN);
+
+        assertNull(schedule.register(STUDENT, talk));
+        assertNull(schedule.register(STUDENT, workshop));
+
+        assertArrayEquals(new long[]{1, 2}, held(schedule).get(STUDENT));
+        assertEquals(1.0, meterRegistry.counter("registration.schedule.clashes", "policy", "warn").count());
+    }
+
+    @Test
+    void rejectNamesTheOverlappingRegistration() {
+        StudentSchedule schedule = schedule(ScheduleClashPolicy.REJECT);
+        assertNull(schedule.register(STUDENT, talk));
+
+        String message = schedule.register(STUDENT, workshop);
+
+        assertEquals("You are already registered for \"Opening Talk\" from 10:00 to 11:00 on " + DAY, message);
+        assertArrayEquals(new long[]{1}, held(schedule).get(STUDENT));
+        assertEquals(1.0, meterRegistry.counter("registration.schedule.clashes", "policy", "reject").count());
+        // Neither a later slot nor the same event again is a clash
+        assertNull(schedule.register(STUDENT, lunch));
+        assertNull(schedule.register(STUDENT, talk));
+        // Other students are unaffected
+        assertNull(schedule.register(STUDENT + 1, workshop));
+    }
+
+    @Test
+    void rolledBackRegistrationIsReleased() {
+        StudentSchedule schedule = schedule(ScheduleClashPolicy.REJECT);
+        TransactionSynchronizationManager.initSynchronization();
+        assertNull(schedule.register(STUDENT, talk));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertNull(held(schedule).get(STUDENT));
+        assertNull(schedule.register(STUDENT, workshop));
+    }
+
+    @Test
+    void committedRegistrationIsKept() {
+        StudentSchedule schedule = schedule(ScheduleClashPolicy.REJECT);
+        TransactionSynchronizationManager.initSynchronization();
+        assertNull(schedule.register(STUDENT, talk));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertNotNull(schedule.register(STUDENT, workshop));
+    }
+
+    @Test
+    void unregisteringReleasesOnlyOnceCommitted() {
+        StudentSchedule schedule = schedule(ScheduleClashPolicy.REJECT);
+        assertNull(schedule.register(STUDENT, talk));
+        TransactionSynchronizationManager.initSynchronization();
+
+        schedule.releaseAfterCommit(STUDENT, talk.getId());
+
+        // The unregistration may still roll back
+        assertArrayEquals(new long[]{1}, held(schedule).get(STUDENT));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertNull(schedule.register(STUDENT, workshop));
+    }
+
+    @Test
+    void deletedEventIsReleasedForEveryParticipant() {
+        StudentSchedule schedule = schedule(ScheduleClashPolicy.REJECT);
+        assertNull(schedule.register(STUDENT, talk));
+        assertNull(schedule.register(STUDENT + 1, talk));
+        assertNull(schedule.register(STUDENT + 1, lunch));
+        Mockito.when(eventRepository.findParticipantIds(talk.getId())).thenReturn(List.of(STUDENT, STUDENT + 1));
+        TransactionSynchronizationManager.initSynchronization();
+
+        schedule.releaseEventAfterCommit(talk.getId());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertNull(held(schedule).get(STUDENT));
+        assertArrayEquals(new long[]{3}, held(schedule).get(STUDENT + 1));
+        assertNull(schedule.register(STUDENT, workshop));
+    }
+
+    @Test
+    void rebuildLoadsUpcomingRegistrations() {
+        Mockito.when(eventRepository.findRegistrationsFrom(LocalDate.now().minusDays(1)))
+                .thenReturn(List.of(new Object[]{STUDENT, 3L}, new Object[]{STUDENT, 1L}));
+        StudentSchedule schedule = schedule(ScheduleClashPolicy.REJECT);
+
+        assertArrayEquals(new long[]{1, 3}, held(schedule).get(STUDENT));
+        assertNotNull(schedule.register(STUDENT, workshop));
+    }
+
+    @Test
+    void endedEventsArePrunedWhenTheUserIsNextWritten() {
+        Mockito.when(eventRepository.findRegistrationsFrom(any()))
+                .thenReturn(List.of(new Object[]{STUDENT, 4L}, new Object[]{STUDENT, 1L}));
+        StudentSchedule schedule = schedule(ScheduleClashPolicy.WARN);
+        assertArrayEquals(new long[]{1, 4}, held(schedule).get(STUDENT));
+
+        assertNull(schedule.register(STUDENT, lunch));
+
+        assertArrayEquals(new long[]{1, 3}, held(schedule).get(STUDENT));
+    }
+
+    // A schedule over the venue bookings of the events above
+    private StudentSchedule schedule(ScheduleClashPolicy policy) {
+        List<Object[]> bookings = new ArrayList<>();
+        for (Event event : List.of(talk, workshop, lunch, past)) {
+            bookings.add(new Object[]{event.getId(), event.getTitle(), "Hall " + event.getId(), event.getDate(),
+                    event.getTime(), event.getDurationMinutes()});
+        }
+        Mockito.when(eventRepository.findBookings()).thenReturn(bookings);
+        VenueSchedule venueSchedule = new VenueSchedule(eventRepository, new SimpleMeterRegistry());
+        venueSchedule.rebuild();
+
+        StudentSchedule schedule = new StudentSchedule(eventRepository, venueSchedule, meterRegistry);
+        ReflectionTestUtils.setField(schedule, "policy", policy);
+        schedule.rebuild();
+        return schedule;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Long, long[]> held(StudentSchedule schedule) {
+        return (Map<Long, long[]>) ReflectionTestUtils.getField(schedule, "registrations");
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations =
+                new ArrayList<>(TransactionSynchronizationManager.getSynchronizations());
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+    }
+
+    private static Event event(long id, String title, LocalDate date, LocalTime time) {
+        return Event.builder()
+                .id(id)
+                .title(title)
+                .date(date)
+                .time(time)
+                .durationMinutes(60)
+                .build();
+    }
+}
@@ -0,0 +1,165 @@
+package com.project.venue;
+
+import com.project.dto.FreeSlot;
+import com.project.entity.Event;
+import com.project.repository.EventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VenueScheduleTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 14);
+    private static final String HALL = "Block A, Hall 1";
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void freeSlotsAreTheGapsWithinOpeningHours() {
+        VenueSchedule schedule = schedule(
+                row(1, "block a - hall 1", LocalTime.of(9, 0), 60),
+                // Overlaps the first, as bookings made before clash checks may
+                row(2, HALL, LocalTime.of(9, 30), 90),
+                row(3, HALL, LocalTime.of(13, 0), 60),
+                row(4, "Hall 2", LocalTime.of(11, 0), 60));
+
+        assertEquals(List.of(slot(8, 0, 9, 0), slot(11, 0, 13, 0), slot(14, 0, 22, 0)),
+                schedule.freeSlots(HALL, DAY, 30));
+        // The hour before the first booking is too short now
+        assertEquals(List.of(slot(11, 0, 13, 0), slot(14, 0, 22, 0)),
+                schedule.freeSlots(HALL, DAY, 61));
+        assertEquals(List.of(slot(8, 0, 22, 0)), schedule.freeSlots("Somewhere else", DAY, 30));
+    }
+
+    @Test
+    void freeSlotsClipBookingsThatRunPastOpeningHours() {
+        VenueSchedule schedule = schedule(
+                row(1, HALL, LocalTime.of(7, 0), 120),
+                row(2, HALL, LocalTime.of(21, 0), 180));
+
+        assertEquals(List.of(slot(9, 0, 21, 0)), schedule.freeSlots(HALL, DAY, 1));
+        assertThrows(RuntimeException.class, () -> schedule.freeSlots(" ", DAY, 30));
+    }
+
+    @Test
+    void unchangedSlotIsNotCheckedAgain() {
+        VenueSchedule schedule = schedule(
+                row(1, HALL, LocalTime.of(9, 0), 60),
+                row(2, HALL, LocalTime.of(9, 30), 60));
+
+        schedule.reserve(event(1, "Renamed", "block a hall 1", LocalTime.of(9, 0), 60));
+
+        assertEquals("Renamed", schedule.bookingOf(1).title);
+    }
+
+    @Test
+    void rejectedMoveKeepsTheCurrentSlot() {
+        VenueSchedule schedule = schedule(
+                row(1, HALL, LocalTime.of(9, 0), 60),
+                row(2, HALL, LocalTime.of(11, 0), 60));
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> schedule.reserve(event(1, "Talk", HALL, LocalTime.of(11, 30), 60)));
+
+        assertTrue(e.getMessage().contains("already booked from 11:00 to 12:00"));
+        assertEquals(LocalTime.of(9, 0), schedule.bookingOf(1).startTime());
+        assertThrows(RuntimeException.class, () -> schedule.reserve(event(3, "Other", HALL, LocalTime.of(9, 0), 30)));
+    }
+
+    @Test
+    void moveCanOverlapTheSlotItReplaces() {
+        VenueSchedule schedule = schedule(row(1, HALL, LocalTime.of(9, 0), 60));
+
+        schedule.reserve(event(1, "Talk", HALL, LocalTime.of(9, 30), 60));
+
+        assertEquals(LocalTime.of(9, 30), schedule.bookingOf(1).startTime());
+        assertEquals(List.of(slot(8, 0, 9, 30), slot(10, 30, 22, 0)), schedule.freeSlots(HALL, DAY, 1));
+    }
+
+    @Test
+    void previousSlotIsHeldUntilTheMoveCommits() {
+        VenueSchedule schedule = schedule(row(1, HALL, LocalTime.of(9, 0), 60));
+        TransactionSynchronizationManager.initSynchronization();
+
+        schedule.reserve(event(1, "Talk", HALL, LocalTime.of(14, 0), 60));
+
+        // Another organizer cannot take the old slot while the move may still roll back
+        assertThrows(RuntimeException.class, () -> schedule.reserve(event(2, "Other", HALL, LocalTime.of(9, 0), 60)));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        schedule.reserve(event(2, "Other", HALL, LocalTime.of(9, 0), 60));
+        assertEquals(LocalTime.of(14, 0), schedule.bookingOf(1).startTime());
+    }
+
+    @Test
+    void rolledBackMoveRestoresThePreviousSlot() {
+        VenueSchedule schedule = schedule(row(1, HALL, LocalTime.of(9, 0), 60));
+        TransactionSynchronizationManager.initSynchronization();
+
+        schedule.reserve(event(1, "Talk", HALL, LocalTime.of(14, 0), 60));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(LocalTime.of(9, 0), schedule.bookingOf(1).startTime());
+        assertEquals(List.of(slot(8, 0, 9, 0), slot(10, 0, 22, 0)), schedule.freeSlots(HALL, DAY, 1));
+    }
+
+    private static VenueSchedule schedule(Object[]... rows) {
+        EventRepository eventRepository = Mockito.mock(EventRepository.class);
+        Mockito.when(eventRepository.findBookings()).thenReturn(List.of(rows));
+        VenueSchedule schedule = new VenueSchedule(eventRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(schedule, "dayStart", LocalTime.of(8, 0));
+        ReflectionTestUtils.setField(schedule, "dayEnd", LocalTime.of(22, 0));
+        schedule.rebuild();
+        return schedule;
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations =
+                new ArrayList<>(TransactionSynchronizationManager.getSynchronizations());
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static Object[] row(long id, String location, LocalTime time, int durationMinutes) {
+        return new Object[]{id, "Event " + id, location, DAY, time, durationMinutes};
+    }
+
+    private static Event event(long id, String title, String location, LocalTime time, int durationMinutes) {
+        return Event.builder()
+                .id(id)
+                .title(title)
+                .location(location)
+                .date(DAY)
+                .time(time)
+                .durationMinutes(durationMinutes)
+                .build();
+    }
+
+    private static FreeSlot slot(int fromHour, int fromMinute, int toHour, int toMinute) {
+        LocalTime start = LocalTime.of(fromHour, fromMinute);
+        LocalTime end = LocalTime.of(toHour, toMinute);
+        return FreeSlot.builder()
+                .start(start)
+                .end(end)
+                .minutes((end.toSecondOfDay() - start.toSecondOfDay()) / 60)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+#!/usr/bin/env bash
+# Compares cold-start time of the backend before and after the fast-startup build.
+#
+#   mvn -Pfast-startup package -DskipTests
+#   ./startup-benchmark.sh [runs]
+#
+# baseline: extracted application jar, default profile, no AOT, no CDS
+# fast:     same jar with the AppCDS archive, Spring AOT and the "fast" profile
+#
+# Startup time is measured from process launch until /actuator/health answers, and the JVM's own
+# "Started ... in N seconds" figure is reported next to it. Environment overrides:
+#   APP_ARGS       extra application arguments for both runs (e.g. datasource settings)
+#   EXTRA_CP       extra classpath entries (e.g. a JDBC driver for a different database)
+#   PORT, MANAGEMENT_PORT
+
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+MANAGEMENT_PORT=${MANAGEMENT_PORT:-18081}
+APP_DIR="$(cd "$(dirname "$0")" && pwd)/target/application"
+JAR="$APP_DIR/application.jar"
+CDS_ARCHIVE="$APP_DIR/application.jsa"
+WORK_DIR=$(mktemp -d)
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+if [[ ! -f "$JAR" || ! -f "$CDS_ARCHIVE" ]]; then
+    echo "Missing $JAR or $CDS_ARCHIVE; build with: mvn -Pfast-startup package -DskipTests" >&2
+    exit 1
+fi
+
+CLASSPATH="$JAR${EXTRA_CP:+:$EXTRA_CP}"
+COMMON_ARGS=(--server.port="$PORT" --management.server.port="$MANAGEMENT_PORT"
+             --journal.directory="$WORK_DIR/journal" --images.directory="$WORK_DIR/images")
+
+now_ms() {
+    date +%s%3N
+}
+
+# Prints "<wall ms> <jvm reported s>"
+start_once() {
+    local log="$WORK_DIR/run.log"
+    local start
+    start=$(now_ms)
+    java "$@" >"$log" 2>&1 &
+    local pid=$!
+
+    until curl -sf "http://localhost:$MANAGEMENT_PORT/actuator/health" >/dev/null 2>&1; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Application exited during startup, log follows:" >&2
+            cat "$log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    local ready
+    ready=$(now_ms)
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    local reported
+    reported=$(grep -o 'Started CollegeEventManagerApplication in [0-9.]*' "$log" | awk '{print $4}')
+    echo "$((ready - start)) ${reported:-?}"
+}
+
+median() {
+    sort -n | awk '{a[NR]=$1} END {print (NR % 2) ? a[(NR + 1) / 2] : int((a[NR / 2] + a[NR / 2 + 1]) / 2)}'
+}
+
+benchmark() {
+    local name=$1
+    shift
+    local times=()
+    for ((i = 1; i <= RUNS; i++)); do
+        read -r wall reported < <(start_once "$@")
+        printf "%-9s run %d: ready after %5d ms (JVM reported %ss)\n" "$name" "$i" "$wall" "$reported"
+        times+=("$wall")
+    done
+    printf "%-9s median: %d ms\n\n" "$name" "$(printf "%s\n" "${times[@]}" | median)"
+}
+
+# shellcheck disable=SC2086
+benchmark baseline -cp "$CLASSPATH" com.project.CollegeEventManagerApplication \
+    "${COMMON_ARGS[@]}" ${APP_ARGS:-}
+
+# shellcheck disable=SC2086
+benchmark fast -XX:SharedArchiveFile="$CDS_ARCHIVE" -Xlog:cds=off -Dspring.aot.enabled=true \
+    -cp "$CLASSPATH" com.project.CollegeEventManagerApplication \
+    --spring.profiles.active=fast "${COMMON_ARGS[@]}" ${APP_ARGS:-}
@@ -1,4 +1,5 @@
 import { Calendar, Clock, MapPin, Users, Edit, Trash2, Lock, Unlock } from 'lucide-react';
+import { resolveImageUrl } from '../config/apiConfig';
 
 const EventCard = ({
   event,
@@ -68,7 +69,7 @@ const EventCard = ({
       {/* Event Image */}
       <div className="relative h-48 overflow-hidden">
         <img
-          src={event.image}
+          src={resolveImageUrl(event.thumbnail || event.image)}
           alt={event.title}
           className="w-full h-full object-cover transition-transform duration-500 group-hover:scale-110"
         />
@@ -2,6 +2,9 @@
 export const API_CONFIG = {
   // Base URL for the Spring Boot backend
   BASE_URL: import.meta.env.VITE_API_BASE_URL || 'http://localhost:8080/api',
+
+  // Non-blocking read API (Reactor Netty) that serves the live seat count stream
+  READ_API_BASE_URL: import.meta.env.VITE_READ_API_BASE_URL || 'http://localhost:8082/api',
   
   // Request timeout in milliseconds
   TIMEOUT: 10000,
@@ -30,6 +33,8 @@ export const API_CONFIG = {
       MY_EVENTS: '/events/my-events',
       REGISTERED: '/events/registered',
       REGISTER_FOR_EVENT: (eventId) => `/events/${eventId}/register`,
+      QUEUE_TICKET: (eventId, ticketId) => `/events/${eventId}/queue/${ticketId}`,
+      STREAM: '/events/stream',
     },
     USERS: {
       BASE: '/users',
@@ -59,4 +64,12 @@ export const getCurrentEnv = () => {
 export const getApiBaseUrl = () => {
   const env = getCurrentEnv();
   return ENV_CONFIG[env]?.API_BASE_URL || API_CONFIG.BASE_URL;
-}; 
\ No newline at end of file
+}; 
+
+// Stored posters come back as backend-relative paths (/api/images/...)
+export const resolveImageUrl = (image) => {
+  if (image && image.startsWith('/api/')) {
+    return getApiBaseUrl().replace(/\/api$/, '') + image;
+  }
+  return image;
+};
@@ -36,7 +36,7 @@ const Events = () => {
   const [eventToDelete, setEventToDelete] = useState(null);
 
   const { user } = useAuth();
-  const { addToast, success, error } = useToast();
+  const { addToast, success, error, info } = useToast();
 
   // Check if user can create events (Event Manager or Admin)
   const canCreateEvents = user?.role === 'EVENT_MANAGER' || user?.role === 'ADMIN';
@@ -49,8 +49,10 @@ const Events = () => {
     time: '',
     department: '',
     location: '',
+    durationMinutes: 60,
     maxParticipants: 100,
     image: 'https://images.pexels.com/photos/1181676/pexels-photo-1181676.jpeg?auto=compress&cs=tinysrgb&w=500',
+    registrationOpensAt: '',
   });
   const [formErrors, setFormErrors] = useState({});
 
@@ -65,6 +67,20 @@ const Events = () => {
     filterEvents();
   }, [events, searchTerm, selectedDepartment]);
 
+  // Seat counts stay current from the stream instead of refetching the list
+  useEffect(() => {
+    if (!user) return undefined;
+    return eventService.subscribeToSeatCounts((seats) => {
+      const byId = new Map(seats.map((seat) => [seat.eventId, seat]));
+      setEvents((prev) => prev.map((event) => {
+        const seat = byId.get(event.id);
+        return seat
+          ? { ...event, currentParticipants: seat.currentParticipants, registrationClosed: seat.registrationClosed }
+          : event;
+      }));
+    });
+  }, [user]);
+
   const fetchEvents = async () => {
     try {
       setLoading(true);
@@ -119,7 +135,13 @@ const Events = () => {
   const handleRegister = async (eventId) => {
     setActionLoading(prev => ({ ...prev, [eventId]: true }));
     try {
-      await eventService.registerForEvent(eventId);
+      let notifiedQueue = false;
+      await eventService.registerForEvent(eventId, (ticket) => {
+        if (!notifiedQueue) {
+          notifiedQueue = true;
+          info(`You're in the waiting room (position ${ticket.position}). Keep this page open.`);
+        }
+      });
       setRegisteredEvents(prev => new Set([...prev, eventId]));
       
       // Update event participant count
@@ -131,7 +153,7 @@ const Events = () => {
 
       success('Successfully registered for the event!');
     } catch (err) {
-      error('Failed to register for event. Please try again.');
+      error(err.message || 'Failed to register for event. Please try again.');
     } finally {
       setActionLoading(prev => ({ ...prev, [eventId]: false }));
     }
@@ -171,8 +193,10 @@ const Events = () => {
       time: '',
       department: '',
       location: '',
+      durationMinutes: 60,
       maxParticipants: 100,
       image: 'https://images.pexels.com/photos/1181676/pexels-photo-1181676.jpeg?auto=compress&cs=tinysrgb&w=500',
+      registrationOpensAt: '',
     });
     setFormErrors({});
     setShowCreateModal(true);
@@ -187,8 +211,10 @@ const Events = () => {
       time: event.time,
       department: event.department,
       location: event.location,
+      durationMinutes: event.durationMinutes,
       maxParticipants: event.maxParticipants,
       image: event.image,
+      registrationOpensAt: event.registrationOpensAt ? event.registrationOpensAt.slice(0, 16) : '',
     });
     setFormErrors({});
     setShowCreateModal(true);
@@ -253,10 +279,11 @@ const Events = () => {
     }
 
     setFormErrors({});
+    const payload = { ...eventFormData, registrationOpensAt: eventFormData.registrationOpensAt || null };
 
     try {
       if (editingEvent) {
-        const updatedEvent = await eventService.updateEvent(editingEvent.id, eventFormData);
+        const updatedEvent = await eventService.updateEvent(editingEvent.id, payload);
         setEvents(prev => prev.map(event => 
           event.id === editingEvent.id ? updatedEvent : event
         ));
@@ -265,13 +292,14 @@ const Events = () => {
           type: 'success'
         });
       } else {
-        const newEvent = await eventService.createEvent(eventFormData);
+        const newEvent = await eventService.createEvent(payload);
         setEvents(prev => [...prev, newEvent]);
         success('Event created successfully!');
       }
       setShowCreateModal(false);
     } catch (err) {
-      error(`Failed to ${editingEvent ? 'update' : 'create'} event. Please try again.`);
+      // Venue clashes come back with the booking that holds the slot
+      error(err.message || `Failed to ${editingEvent ? 'update' : 'create'} event. Please try again.`);
     }
   };
 
@@ -279,7 +307,7 @@ const Events = () => {
     const { name, value } = e.target;
     setEventFormData(prev => ({ 
       ...prev, 
-      [name]: name === 'maxParticipants' ? parseInt(value) || 0 : value 
+      [name]: name === 'maxParticipants' || name === 'durationMinutes' ? parseInt(value) || 0 : value 
     }));
     
     // Clear error when user starts typing
@@ -520,8 +548,8 @@ const Events = () => {
               )}
             </div>
 
-            {/* Date, Time, and Max Participants */}
-            <div className="grid grid-cols-1 md:grid-cols-3 gap-4">
+            {/* Date, Time, Duration, and Max Participants */}
+            <div className="grid grid-cols-1 md:grid-cols-4 gap-4">
               <div>
                 <label htmlFor="date" className="block text-sm font-medium text-gray-700 dark:text-gray-300">
                   Date
@@ -560,6 +588,28 @@ const Events = () => {
                 )}
               </div>
 
+              <div>
+                <label htmlFor="durationMinutes" className="block text-sm font-medium text-gray-700 dark:text-gray-300">
+                  Duration (minutes)
+                </label>
+                <input
+                  type="number"
+                  id="durationMinutes"
+                  name="durationMinutes"
+                  min="1"
+                  max="1440"
+                  value={eventFormData.durationMinutes}
+                  onChange={handleFormChange}
+                  className={`mt-2 block w-full px-4 py-3 border rounded-xl shadow-sm focus:outline-none focus:ring-2 focus:ring-primary-500 focus:border-primary-500 transition-colors duration-200 dark:bg-gray-700 dark:border-gray-600 dark:text-white ${
+                    formErrors.durationMinutes ? 'border-red-300 dark:border-red-600' : 'border-gray-300 dark:border-gray-600'
+                  }`}
+                  placeholder="60"
+                />
+                {formErrors.durationMinutes && (
+                  <p className="mt-1 text-sm text-red-600 dark:text-red-400">{formErrors.durationMinutes}</p>
+                )}
+              </div>
+
               <div>
                 <label htmlFor="maxParticipants" className="block text-sm font-medium text-gray-700 dark:text-gray-300">
                   Max Participants
@@ -582,6 +632,24 @@ const Events = () => {
               </div>
             </div>
 
+            {/* Scheduled registration opening */}
+            <div>
+              <label htmlFor="registrationOpensAt" className="block text-sm font-medium text-gray-700 dark:text-gray-300">
+                Registration Opens At (optional)
+              </label>
+              <input
+                type="datetime-local"
+                id="registrationOpensAt"
+                name="registrationOpensAt"
+                value={eventFormData.registrationOpensAt}
+                onChange={handleFormChange}
+                className="mt-2 block w-full px-4 py-3 border border-gray-300 rounded-xl shadow-sm focus:outline-none focus:ring-2 focus:ring-primary-500 focus:border-primary-500 transition-colors duration-200 dark:bg-gray-700 dark:border-gray-600 dark:text-white"
+              />
+              <p className="mt-1 text-xs text-gray-500 dark:text-gray-400">
+                Students who arrive early join a waiting room and are admitted in order once registration opens.
+              </p>
+            </div>
+
             {/* Location */}
             <div>
               <label htmlFor="location" className="block text-sm font-medium text-gray-700 dark:text-gray-300">
@@ -2,6 +2,7 @@ import { useState, useEffect } from 'react';
 import { useAuth } from '../context/AuthContext';
 import { useToast } from '../context/ToastContext';
 import { eventService, adminService } from '../services/api';
+import { resolveImageUrl } from '../config/apiConfig';
 import { Calendar, Users, MapPin, Clock, Plus, TrendingUp, BookOpen, Award } from 'lucide-react';
 import { Link } from 'react-router-dom';
 
@@ -232,7 +233,7 @@ const Home = () => {
                 <div key={event.id} className="bg-white/80 backdrop-blur-sm rounded-2xl shadow-xl border border-gray-200 overflow-hidden dark:bg-gray-800/80 dark:border-gray-700">
                   <div className="h-32 overflow-hidden">
                     <img
-                      src={event.image}
+                      src={resolveImageUrl(event.thumbnail || event.image)}
                       alt={event.title}
                       className="w-full h-full object-cover"
                     />
@@ -270,7 +271,7 @@ const Home = () => {
                 <div key={event.id} className="bg-white/80 backdrop-blur-sm rounded-2xl shadow-xl border border-gray-200 overflow-hidden dark:bg-gray-800/80 dark:border-gray-700">
                   <div className="h-32 overflow-hidden">
                     <img
-                      src={event.image}
+                      src={resolveImageUrl(event.thumbnail || event.image)}
                       alt={event.title}
                       className="w-full h-full object-cover"
                     />
@@ -317,7 +318,7 @@ const Home = () => {
                 <div key={event.id} className="bg-white/80 backdrop-blur-sm rounded-2xl shadow-xl border border-gray-200 overflow-hidden dark:bg-gray-800/80 dark:border-gray-700">
                   <div className="h-32 overflow-hidden">
                     <img
-                      src={event.image}
+                      src={resolveImageUrl(event.thumbnail || event.image)}
                       alt={event.title}
                       className="w-full h-full object-cover"
                     />
@@ -363,7 +364,7 @@ const Home = () => {
                 <div key={event.id} className="bg-white/80 backdrop-blur-sm rounded-2xl shadow-xl border border-gray-200 overflow-hidden dark:bg-gray-800/80 dark:border-gray-700">
                   <div className="h-32 overflow-hidden">
                     <img
-                      src={event.image}
+                      src={resolveImageUrl(event.thumbnail || event.image)}
                       alt={event.title}
                       className="w-full h-full object-cover"
                     />
@@ -3,6 +3,7 @@ import { Calendar, Clock, MapPin, Users, X, AlertTriangle } from 'lucide-react';
 import { useAuth } from '../context/AuthContext';
 import { useToast } from '../context/ToastContext';
 import { eventService } from '../services/api';
+import { resolveImageUrl } from '../config/apiConfig';
 import { EventCardSkeleton } from '../components/LoadingSkeleton';
 import Modal from '../components/Modal';
 
@@ -258,7 +259,7 @@ const StudentDashboard = () => {
                       {/* Event Image */}
                       <div className="relative h-48 overflow-hidden">
                         <img
-                          src={event.image}
+                          src={resolveImageUrl(event.thumbnail || event.image)}
                           alt={event.title}
                           className="w-full h-full object-cover"
                         />
@@ -369,7 +370,7 @@ const StudentDashboard = () => {
                       {/* Event Image */}
                       <div className="relative h-48 overflow-hidden">
                         <img
-                          src={event.image}
+                          src={resolveImageUrl(event.thumbnail || event.image)}
                           alt={event.title}
                           className="w-full h-full object-cover grayscale"
                         />
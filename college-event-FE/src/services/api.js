@@ -58,13 +58,31 @@ export const eventService = {
     }
   },
 
-  registerForEvent: async (eventId) => {
+  // During a scheduled registration opening the backend answers 202 with a waiting-room ticket;
+  // poll it until the registration is admitted or rejected
+  registerForEvent: async (eventId, onQueued) => {
     try {
       const response = await api.post(API_CONFIG.ROUTES.EVENTS.REGISTER_FOR_EVENT(eventId));
-      return response.data;
+      if (response.status !== 202) {
+        return response.data;
+      }
+      let ticket = response.data;
+      while (ticket.status === 'QUEUED') {
+        if (onQueued) onQueued(ticket);
+        await new Promise((resolve) => setTimeout(resolve, ticket.pollAfterMs || 1000));
+        const poll = await api.get(API_CONFIG.ROUTES.EVENTS.QUEUE_TICKET(eventId, ticket.ticketId));
+        ticket = poll.data;
+      }
+      if (ticket.status === 'REJECTED') {
+        throw new Error(ticket.message || 'Registration was not accepted');
+      }
+      return ticket;
     } catch (error) {
+      if (!error.response) {
+        throw error;
+      }
       if (error.response?.data) {
-        throw new Error(error.response.data);
+        throw new Error(error.response.data.message || error.response.data);
       }
       throw new Error('Failed to register for event');
     }
@@ -112,7 +130,7 @@ export const eventService = {
       return response.data;
     } catch (error) {
       if (error.response?.data) {
-        throw new Error(error.response.data);
+        throw new Error(error.response.data.message || error.response.data);
       }
       throw new Error('Failed to create event');
     }
@@ -124,7 +142,7 @@ export const eventService = {
       return response.data;
     } catch (error) {
       if (error.response?.data) {
-        throw new Error(error.response.data);
+        throw new Error(error.response.data.message || error.response.data);
       }
       throw new Error('Failed to update event');
     }
@@ -190,6 +208,25 @@ export const eventService = {
     }
   },
 
+  // Live seat counts over server-sent events: onSeats gets [{eventId, currentParticipants, registrationClosed}],
+  // first for every event, then for the ones that change. EventSource reconnects on its own.
+  // Returns a function that closes the stream.
+  subscribeToSeatCounts: (onSeats) => {
+    const user = localStorage.getItem(API_CONFIG.TOKEN_KEY);
+    const token = user ? JSON.parse(user).token : null;
+    if (!token || typeof EventSource === 'undefined') {
+      return () => {};
+    }
+    // EventSource cannot send an Authorization header
+    const source = new EventSource(
+      `${API_CONFIG.READ_API_BASE_URL}${API_CONFIG.ROUTES.EVENTS.STREAM}?access_token=${encodeURIComponent(token)}`
+    );
+    const handle = (message) => onSeats(JSON.parse(message.data));
+    source.addEventListener('snapshot', handle);
+    source.addEventListener('seats', handle);
+    return () => source.close();
+  },
+
   getRegisteredEvents: async () => {
     try {
       const response = await api.get(API_CONFIG.ROUTES.EVENTS.REGISTERED);
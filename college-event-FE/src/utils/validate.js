@@ -98,6 +98,10 @@ export const validateEventForm = (eventData) => {
     errors.push({ field: 'location', message: 'Event location is required' });
   }
 
+  if (!eventData.durationMinutes || eventData.durationMinutes < 1 || eventData.durationMinutes > 1440) {
+    errors.push({ field: 'durationMinutes', message: 'Duration must be between 1 and 1440 minutes' });
+  }
+
   if (!eventData.maxParticipants || eventData.maxParticipants < 1) {
     errors.push({ field: 'maxParticipants', message: 'Maximum participants must be at least 1' });
   }